@@ -0,0 +1,210 @@
+package benchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import groebner_basis.Ideal;
+import groebner_basis.Monomial;
+import groebner_basis.Polynomial;
+import groebner_basis.VariableComparator;
+import groebner_basis.monomial_order.GrevlexOrder;
+import groebner_basis.monomial_order.GrlexOrder;
+import groebner_basis.monomial_order.LexOrder;
+import groebner_basis.monomial_order.MonomialOrder;
+
+/**
+ * ベンチマークで使う Ideal・単項式順序・乱数の多項式 毎回同じものを作る
+ */
+final class BenchmarkIdeals {
+
+    /**
+     * 乱数のシード 結果をコミット間で比べられるように固定する
+     */
+    static final long SEED = 20240101L;
+
+    /**
+     * 変数名 (1文字ずつ)
+     */
+    private static final String VARIABLES = "abcdefghij";
+
+    private BenchmarkIdeals() {
+    }
+
+    /**
+     * 名前から単項式順序を返す
+     * 
+     * @param name lex, grlex, grevlex
+     * @return 単項式順序
+     */
+    static MonomialOrder monomialOrder(String name) {
+        switch (name) {
+        case "lex":
+            return new LexOrder();
+        case "grlex":
+            return new GrlexOrder();
+        case "grevlex":
+            return new GrevlexOrder();
+        default:
+            throw new Error("unknownMonomialOrderError");
+        }
+    }
+
+    /**
+     * n 個の変数 a, b, c, ... の変数の順序を返す
+     * 
+     * @param n
+     * @return 変数の順序
+     */
+    static VariableComparator variables(int n) {
+        List<String> variables = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            variables.add(VARIABLES.substring(i, i + 1));
+        }
+        return new VariableComparator(variables);
+    }
+
+    /**
+     * 名前から Ideal を返す
+     * 
+     * @param family cyclic-n, katsura-n, twisted-cubic
+     * @param monomialOrder 単項式順序
+     * @return Ideal
+     */
+    static Ideal ideal(String family, MonomialOrder monomialOrder) {
+        if (family.equals("twisted-cubic")) return twistedCubic(monomialOrder);
+        int n = Integer.parseInt(family.substring(family.indexOf('-') + 1));
+        if (family.startsWith("cyclic-")) return cyclic(n, monomialOrder);
+        if (family.startsWith("katsura-")) return katsura(n, monomialOrder);
+        throw new Error("unknownIdealFamilyError");
+    }
+
+    /**
+     * cyclic-n (連続する k 個の変数の積の巡回和 (k = 1, ..., n-1) と、すべての変数の積 - 1)
+     * 
+     * @param n 変数の数
+     * @param monomialOrder
+     * @return cyclic-n の Ideal
+     */
+    static Ideal cyclic(int n, MonomialOrder monomialOrder) {
+        VariableComparator variableComparator = variables(n);
+        List<Polynomial> polynomials = new ArrayList<>(n);
+        for (int k = 1; k < n; k++) {
+            StringBuilder polynomial = new StringBuilder();
+            for (int i = 0; i < n; i++) {
+                if (i > 0) polynomial.append("+");
+                for (int j = 0; j < k; j++) {
+                    polynomial.append(VARIABLES.charAt((i + j) % n));
+                }
+            }
+            polynomials.add(new Polynomial(polynomial.toString(), variableComparator, monomialOrder));
+        }
+        polynomials.add(new Polynomial(VARIABLES.substring(0, n) + "-1", variableComparator, monomialOrder));
+        return new Ideal(polynomials);
+    }
+
+    /**
+     * katsura-n (変数 u_0, ..., u_n について、m = 0, ..., n-1 で sum_l u_|l| u_|m-l| - u_m と、u_0 + 2 sum_l u_l - 1)
+     * 
+     * @param n 変数の数 - 1
+     * @param monomialOrder
+     * @return katsura-n の Ideal
+     */
+    static Ideal katsura(int n, MonomialOrder monomialOrder) {
+        VariableComparator variableComparator = variables(n + 1);
+        List<Polynomial> polynomials = new ArrayList<>(n + 1);
+        for (int m = 0; m < n; m++) {
+            // 同じ単項式は Polynomial のコンストラクタでたし合わされる
+            StringBuilder polynomial = new StringBuilder();
+            for (int l = -n; l <= n; l++) {
+                int i = Math.abs(l);
+                int j = Math.abs(m - l);
+                if (j > n) continue;
+                if (polynomial.length() > 0) polynomial.append("+");
+                // 同じ変数の積は "aa" ではなく "a^2" と書く
+                if (i == j) {
+                    polynomial.append(VARIABLES.charAt(i)).append("^2");
+                } else {
+                    polynomial.append(VARIABLES.charAt(i)).append(VARIABLES.charAt(j));
+                }
+            }
+            polynomial.append("-").append(VARIABLES.charAt(m));
+            polynomials.add(new Polynomial(polynomial.toString(), variableComparator, monomialOrder));
+        }
+        StringBuilder linear = new StringBuilder("a");
+        for (int l = 1; l <= n; l++) {
+            linear.append("+2").append(VARIABLES.charAt(l));
+        }
+        linear.append("-1");
+        polynomials.add(new Polynomial(linear.toString(), variableComparator, monomialOrder));
+        return new Ideal(polynomials);
+    }
+
+    /**
+     * 乱数の単項式を返す
+     * 
+     * @param random
+     * @param variableComparator
+     * @param maxExponent 各変数の指数の最大値
+     * @return 0でない単項式
+     */
+    static Monomial randomMonomial(Random random, VariableComparator variableComparator, int maxExponent) {
+        return new Monomial(randomTerm(random, variableComparator, maxExponent), variableComparator);
+    }
+
+    /**
+     * 乱数の多項式を返す
+     * 
+     * @param random
+     * @param variableComparator
+     * @param monomialOrder
+     * @param terms 項の数 (同じ単項式はたし合わされるので少なくなることがある)
+     * @param maxExponent 各変数の指数の最大値
+     * @return 多項式
+     */
+    static Polynomial randomPolynomial(Random random, VariableComparator variableComparator, MonomialOrder monomialOrder, int terms, int maxExponent) {
+        StringBuilder polynomial = new StringBuilder();
+        for (int i = 0; i < terms; i++) {
+            String term = randomTerm(random, variableComparator, maxExponent);
+            if (i > 0 && !term.startsWith("-")) polynomial.append("+");
+            polynomial.append(term);
+        }
+        return new Polynomial(polynomial.toString(), variableComparator, monomialOrder);
+    }
+
+    /**
+     * 乱数の項の文字列 (係数は -99 から 99 の0でない整数) を返す
+     * 
+     * @param random
+     * @param variableComparator
+     * @param maxExponent 各変数の指数の最大値
+     * @return "-3a^2c" など
+     */
+    private static String randomTerm(Random random, VariableComparator variableComparator, int maxExponent) {
+        int coefficient = random.nextInt(99) + 1;
+        StringBuilder term = new StringBuilder();
+        if (random.nextBoolean()) term.append("-");
+        term.append(coefficient);
+        for (String variable : variableComparator.getVariableOrder()) {
+            int exponent = random.nextInt(maxExponent + 1);
+            if (exponent == 0) continue;
+            term.append(variable);
+            if (exponent > 1) term.append("^").append(exponent);
+        }
+        return term.toString();
+    }
+
+    /**
+     * ねじれ3次曲線 {t^4-x, t^3-y, t^2-z} (test.Test と同じ)
+     * 
+     * @param monomialOrder
+     * @return ねじれ3次曲線の Ideal
+     */
+    static Ideal twistedCubic(MonomialOrder monomialOrder) {
+        VariableComparator variableComparator = new VariableComparator(new ArrayList<>(Arrays.asList("t", "x", "y", "z")));
+        return new Ideal(new ArrayList<>(Arrays.asList(new Polynomial("t^4-x", variableComparator, monomialOrder),
+                new Polynomial("t^3-y", variableComparator, monomialOrder), new Polynomial("t^2-z", variableComparator, monomialOrder))));
+    }
+
+}
@@ -0,0 +1,111 @@
+package benchmark;
+
+import java.math.BigInteger;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import groebner_basis.Fraction;
+
+/**
+ * Fraction の四則演算のベンチマーク
+ * small は long に収まる値 (速い経路)、large は BigInteger が必要な値
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = { "-Xms1g", "-Xmx1g" })
+public class FractionBenchmark {
+
+    /**
+     * 1回の呼び出しで計算する組の数
+     */
+    private static final int SIZE = 1024;
+
+    /**
+     * 値の大きさ (small, large)
+     */
+    @Param({ "small", "large" })
+    public String size;
+
+    /**
+     * 左の値
+     */
+    private Fraction[] lefts;
+
+    /**
+     * 右の値 (0は含まない)
+     */
+    private Fraction[] rights;
+
+    /**
+     * 値を作る 毎回同じ値になるようにシードを固定する
+     */
+    @Setup
+    public void setup() {
+        Random random = new Random(BenchmarkIdeals.SEED);
+        int bits = this.size.equals("small") ? 20 : 100;
+        this.lefts = new Fraction[SIZE];
+        this.rights = new Fraction[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            this.lefts[i] = fraction(random, bits);
+            this.rights[i] = fraction(random, bits);
+        }
+    }
+
+    /**
+     * 0でない分数を返す
+     * 
+     * @param random
+     * @param bits 分子・分母のビット数
+     * @return 分数
+     */
+    private static Fraction fraction(Random random, int bits) {
+        BigInteger numerator = new BigInteger(bits, random).add(BigInteger.ONE);
+        if (random.nextBoolean()) numerator = numerator.negate();
+        return new Fraction(numerator, new BigInteger(bits, random).add(BigInteger.ONE));
+    }
+
+    @Benchmark
+    public void add(Blackhole blackhole) {
+        for (int i = 0; i < SIZE; i++) {
+            blackhole.consume(this.lefts[i].add(this.rights[i]));
+        }
+    }
+
+    @Benchmark
+    public void subtract(Blackhole blackhole) {
+        for (int i = 0; i < SIZE; i++) {
+            blackhole.consume(this.lefts[i].subtract(this.rights[i]));
+        }
+    }
+
+    @Benchmark
+    public void multiply(Blackhole blackhole) {
+        for (int i = 0; i < SIZE; i++) {
+            blackhole.consume(this.lefts[i].multiply(this.rights[i]));
+        }
+    }
+
+    @Benchmark
+    public void divide(Blackhole blackhole) {
+        for (int i = 0; i < SIZE; i++) {
+            blackhole.consume(this.lefts[i].divide(this.rights[i]));
+        }
+    }
+
+}
@@ -0,0 +1,113 @@
+package benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import groebner_basis.Ideal;
+import groebner_basis.Polynomial;
+
+/**
+ * Ideal.groebnerBasis() と Ideal.basicGroebnerBasis() のベンチマーク
+ * basicGroebnerBasis() は遅いので小さい Ideal だけで測る
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = { "-Xms1g", "-Xmx1g" })
+public class IdealBenchmark {
+
+    /**
+     * 両方のアルゴリズムで測る小さい Ideal
+     */
+    @State(Scope.Benchmark)
+    public static class SmallIdeal {
+
+        /**
+         * Ideal の名前 (BenchmarkIdeals.ideal() を参照)
+         */
+        @Param({ "twisted-cubic", "cyclic-3", "cyclic-4", "katsura-2", "katsura-3" })
+        public String family;
+
+        /**
+         * 単項式順序 (lex, grlex, grevlex)
+         */
+        @Param({ "grevlex" })
+        public String order;
+
+        /**
+         * Ideal
+         */
+        private Ideal ideal;
+
+        /**
+         * Ideal を作る
+         */
+        @Setup
+        public void setup() {
+            this.ideal = BenchmarkIdeals.ideal(this.family, BenchmarkIdeals.monomialOrder(this.order));
+        }
+
+    }
+
+    /**
+     * groebnerBasis() だけで測る大きい Ideal
+     */
+    @State(Scope.Benchmark)
+    public static class LargeIdeal {
+
+        /**
+         * Ideal の名前 (BenchmarkIdeals.ideal() を参照)
+         */
+        @Param({ "cyclic-5", "katsura-4" })
+        public String family;
+
+        /**
+         * 単項式順序 (lex, grlex, grevlex)
+         */
+        @Param({ "grevlex" })
+        public String order;
+
+        /**
+         * Ideal
+         */
+        private Ideal ideal;
+
+        /**
+         * Ideal を作る
+         */
+        @Setup
+        public void setup() {
+            this.ideal = BenchmarkIdeals.ideal(this.family, BenchmarkIdeals.monomialOrder(this.order));
+        }
+
+    }
+
+    @Benchmark
+    public List<Polynomial> groebnerBasis(SmallIdeal small) {
+        return small.ideal.groebnerBasis();
+    }
+
+    @Benchmark
+    public List<Polynomial> basicGroebnerBasis(SmallIdeal small) {
+        return small.ideal.basicGroebnerBasis();
+    }
+
+    @Benchmark
+    public List<Polynomial> groebnerBasisLarge(LargeIdeal large) {
+        return large.ideal.groebnerBasis();
+    }
+
+}
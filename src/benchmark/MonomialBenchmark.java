@@ -0,0 +1,103 @@
+package benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import groebner_basis.Monomial;
+import groebner_basis.VariableComparator;
+
+/**
+ * Monomial の掛け算・割り算のベンチマーク
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = { "-Xms1g", "-Xmx1g" })
+public class MonomialBenchmark {
+
+    /**
+     * 1回の呼び出しで計算する組の数
+     */
+    private static final int SIZE = 1024;
+
+    /**
+     * 変数の数
+     */
+    @Param({ "3", "8" })
+    public int variables;
+
+    /**
+     * 左の単項式
+     */
+    private Monomial[] lefts;
+
+    /**
+     * 右の単項式
+     */
+    private Monomial[] rights;
+
+    /**
+     * lefts[i] * rights[i] (rights[i] で割り切れる)
+     */
+    private Monomial[] products;
+
+    /**
+     * 単項式を作る
+     */
+    @Setup
+    public void setup() {
+        Random random = new Random(BenchmarkIdeals.SEED);
+        VariableComparator variableComparator = BenchmarkIdeals.variables(this.variables);
+        this.lefts = new Monomial[SIZE];
+        this.rights = new Monomial[SIZE];
+        this.products = new Monomial[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            this.lefts[i] = BenchmarkIdeals.randomMonomial(random, variableComparator, 5);
+            this.rights[i] = BenchmarkIdeals.randomMonomial(random, variableComparator, 5);
+            this.products[i] = this.lefts[i].multiply(this.rights[i]);
+        }
+    }
+
+    @Benchmark
+    public void multiply(Blackhole blackhole) {
+        for (int i = 0; i < SIZE; i++) {
+            blackhole.consume(this.lefts[i].multiply(this.rights[i]));
+        }
+    }
+
+    /**
+     * 割り切れる組
+     */
+    @Benchmark
+    public void divideAndRemainder(Blackhole blackhole) {
+        for (int i = 0; i < SIZE; i++) {
+            blackhole.consume(this.products[i].divideAndRemainder(this.rights[i]));
+        }
+    }
+
+    /**
+     * 割り切れるとは限らない組
+     */
+    @Benchmark
+    public void divideAndRemainderRandom(Blackhole blackhole) {
+        for (int i = 0; i < SIZE; i++) {
+            blackhole.consume(this.lefts[i].divideAndRemainder(this.rights[i]));
+        }
+    }
+
+}
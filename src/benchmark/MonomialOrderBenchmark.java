@@ -0,0 +1,89 @@
+package benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import groebner_basis.Monomial;
+import groebner_basis.VariableComparator;
+import groebner_basis.monomial_order.MonomialOrder;
+
+/**
+ * 単項式順序の比較のベンチマーク
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = { "-Xms1g", "-Xmx1g" })
+public class MonomialOrderBenchmark {
+
+    /**
+     * 1回の呼び出しで比べる組の数
+     */
+    private static final int SIZE = 1024;
+
+    /**
+     * 単項式順序 (lex, grlex, grevlex)
+     */
+    @Param({ "lex", "grlex", "grevlex" })
+    public String order;
+
+    /**
+     * 変数の数
+     */
+    @Param({ "3", "8" })
+    public int variables;
+
+    /**
+     * 単項式順序
+     */
+    private MonomialOrder monomialOrder;
+
+    /**
+     * 左の単項式
+     */
+    private Monomial[] lefts;
+
+    /**
+     * 右の単項式
+     */
+    private Monomial[] rights;
+
+    /**
+     * 単項式を作る
+     */
+    @Setup
+    public void setup() {
+        Random random = new Random(BenchmarkIdeals.SEED);
+        VariableComparator variableComparator = BenchmarkIdeals.variables(this.variables);
+        this.monomialOrder = BenchmarkIdeals.monomialOrder(this.order);
+        this.lefts = new Monomial[SIZE];
+        this.rights = new Monomial[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            this.lefts[i] = BenchmarkIdeals.randomMonomial(random, variableComparator, 3);
+            this.rights[i] = BenchmarkIdeals.randomMonomial(random, variableComparator, 3);
+        }
+    }
+
+    @Benchmark
+    public void compare(Blackhole blackhole) {
+        for (int i = 0; i < SIZE; i++) {
+            blackhole.consume(this.monomialOrder.compare(this.lefts[i], this.rights[i]));
+        }
+    }
+
+}
@@ -0,0 +1,99 @@
+package benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import groebner_basis.Polynomial;
+import groebner_basis.VariableComparator;
+import groebner_basis.monomial_order.MonomialOrder;
+
+/**
+ * Polynomial の掛け算・割り算のベンチマーク
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = { "-Xms1g", "-Xmx1g" })
+public class PolynomialBenchmark {
+
+    /**
+     * 変数の数
+     */
+    private static final int VARIABLES = 4;
+
+    /**
+     * 単項式順序 (lex, grlex, grevlex)
+     */
+    @Param({ "grevlex" })
+    public String order;
+
+    /**
+     * 多項式の項の数
+     */
+    @Param({ "10", "100" })
+    public int terms;
+
+    /**
+     * 掛ける多項式
+     */
+    private Polynomial left;
+
+    /**
+     * 掛ける多項式
+     */
+    private Polynomial right;
+
+    /**
+     * 割られる多項式 (left * right)
+     */
+    private Polynomial dividend;
+
+    /**
+     * 割る多項式
+     */
+    private List<Polynomial> divisors;
+
+    /**
+     * 多項式を作る
+     */
+    @Setup
+    public void setup() {
+        Random random = new Random(BenchmarkIdeals.SEED);
+        VariableComparator variableComparator = BenchmarkIdeals.variables(VARIABLES);
+        MonomialOrder monomialOrder = BenchmarkIdeals.monomialOrder(this.order);
+        this.left = BenchmarkIdeals.randomPolynomial(random, variableComparator, monomialOrder, this.terms, 4);
+        this.right = BenchmarkIdeals.randomPolynomial(random, variableComparator, monomialOrder, this.terms, 4);
+        this.dividend = this.left.multiply(this.right);
+        this.divisors = new ArrayList<>();
+        for (int i = 0; i < VARIABLES; i++) {
+            this.divisors.add(BenchmarkIdeals.randomPolynomial(random, variableComparator, monomialOrder, 4, 2));
+        }
+    }
+
+    @Benchmark
+    public Polynomial multiply() {
+        return this.left.multiply(this.right);
+    }
+
+    @Benchmark
+    public Polynomial remainder() {
+        return this.dividend.remainder(this.divisors);
+    }
+
+}
@@ -0,0 +1,194 @@
+package groebner_basis;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * バイナリ形式の読み込み (BinaryOutput で書いたものを読む)
+ * ファイルはメモリマップした範囲から直接読み、それ以外のチャネルはバッファに読み込んでから読む
+ */
+class BinaryInput implements Closeable {
+
+    /**
+     * チャネルから読む時のバッファの大きさ
+     */
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * 一度にメモリマップするファイルの範囲の大きさ
+     */
+    private static final long WINDOW_SIZE = 1L << 30;
+
+    /**
+     * 読むバイト
+     */
+    private ByteBuffer buffer;
+
+    /**
+     * 読み込むチャネル ファイルをメモリマップする時はnull
+     */
+    private ReadableByteChannel channel;
+
+    /**
+     * メモリマップするファイル チャネルから読む時はnull
+     */
+    private FileChannel file;
+
+    /**
+     * メモリマップしている範囲の先頭のファイルの位置
+     */
+    private long windowStart = 0;
+
+    /**
+     * コンストラクタ
+     * 
+     * @param channel 読み込むチャネル
+     */
+    BinaryInput(ReadableByteChannel channel) {
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        this.buffer.limit(0);
+    }
+
+    /**
+     * コンストラクタ ファイルをメモリマップして読む
+     * 
+     * @param file 読み込むファイル
+     * @throws IOException
+     */
+    BinaryInput(FileChannel file) throws IOException {
+        this.file = file;
+        this.buffer = file.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(WINDOW_SIZE, file.size()));
+    }
+
+    /**
+     * length バイト読めるようにする 足りなければunexpectedEndOfDataError
+     * 
+     * @param length
+     * @throws IOException
+     */
+    private void ensure(int length) throws IOException {
+        if (this.buffer.remaining() >= length) return;
+        if (this.file != null) {
+            // 読んでいない所からメモリマップし直す
+            long position = this.windowStart + this.buffer.position();
+            long size = Math.min(Math.max(WINDOW_SIZE, length), this.file.size() - position);
+            this.buffer = this.file.map(FileChannel.MapMode.READ_ONLY, position, size);
+            this.windowStart = position;
+        } else {
+            this.buffer.compact();
+            if (this.buffer.capacity() < length) {
+                ByteBuffer buffer = ByteBuffer.allocate(length);
+                this.buffer.flip();
+                buffer.put(this.buffer);
+                this.buffer = buffer;
+            }
+            while (this.buffer.position() < length) {
+                if (this.channel.read(this.buffer) == -1) break;
+            }
+            this.buffer.flip();
+        }
+        if (this.buffer.remaining() < length) throw new Error("unexpectedEndOfDataError");
+    }
+
+    /**
+     * 1バイト読む
+     * 
+     * @return 0以上255以下
+     * @throws IOException
+     */
+    int readByte() throws IOException {
+        this.ensure(1);
+        return this.buffer.get() & 0xFF;
+    }
+
+    /**
+     * バイト列を読む
+     * 
+     * @param length バイト数
+     * @return バイト列
+     * @throws IOException
+     */
+    byte[] readBytes(int length) throws IOException {
+        this.ensure(length);
+        byte[] bytes = new byte[length];
+        this.buffer.get(bytes);
+        return bytes;
+    }
+
+    /**
+     * 可変長の0以上の整数を読む
+     * 
+     * @return 整数
+     * @throws IOException
+     */
+    long readVarLong() throws IOException {
+        long val = 0;
+        for (int shift = 0; shift < Long.SIZE; shift += 7) {
+            int b = (this.buffer.hasRemaining()) ? this.buffer.get() & 0xFF : this.readByte();
+            val |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return val;
+        }
+        throw new Error("illegalBinaryFormatError");
+    }
+
+    /**
+     * 可変長のintに収まる0以上の整数を読む
+     * 
+     * @return 整数
+     * @throws IOException
+     */
+    int readVarInt() throws IOException {
+        long val = this.readVarLong();
+        if (val > Integer.MAX_VALUE) throw new Error("illegalBinaryFormatError");
+        return (int) val;
+    }
+
+    /**
+     * 可変長の符号付きの整数を読む
+     * 
+     * @return 整数
+     * @throws IOException
+     */
+    long readSignedVarLong() throws IOException {
+        long val = this.readVarLong();
+        return (val >>> 1) ^ -(val & 1);
+    }
+
+    /**
+     * 任意の大きさの整数を読む
+     * 
+     * @return 整数
+     * @throws IOException
+     */
+    BigInteger readBigInteger() throws IOException {
+        int length = this.readVarInt();
+        if (length == 0) throw new Error("illegalBinaryFormatError");
+        return new BigInteger(this.readBytes(length));
+    }
+
+    /**
+     * 文字列を読む
+     * 
+     * @return 文字列
+     * @throws IOException
+     */
+    String readString() throws IOException {
+        return new String(this.readBytes(this.readVarInt()), StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (this.file != null) {
+            this.file.close();
+        } else {
+            this.channel.close();
+        }
+    }
+
+}
@@ -0,0 +1,145 @@
+package groebner_basis;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * バイナリ形式の書き出し 可変長整数 (7ビットずつ、続きがあれば最上位ビットを立てる) を
+ * バッファにためてチャネルに書く
+ */
+class BinaryOutput implements Closeable {
+
+    /**
+     * バッファの大きさ
+     */
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * 書き込むチャネル
+     */
+    private WritableByteChannel channel;
+
+    /**
+     * 書き込む前のバイト
+     */
+    private ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+
+    /**
+     * コンストラクタ
+     * 
+     * @param channel 書き込むチャネル
+     */
+    BinaryOutput(WritableByteChannel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * length バイト書けるようにする
+     * 
+     * @param length
+     * @throws IOException
+     */
+    private void ensure(int length) throws IOException {
+        if (this.buffer.remaining() >= length) return;
+        this.flush();
+        if (this.buffer.capacity() < length) this.buffer = ByteBuffer.allocate(length);
+    }
+
+    /**
+     * 1バイト書く
+     * 
+     * @param val
+     * @throws IOException
+     */
+    void writeByte(int val) throws IOException {
+        this.ensure(1);
+        this.buffer.put((byte) val);
+    }
+
+    /**
+     * バイト列を書く
+     * 
+     * @param val
+     * @throws IOException
+     */
+    void writeBytes(byte[] val) throws IOException {
+        this.ensure(val.length);
+        this.buffer.put(val);
+    }
+
+    /**
+     * 0以上の整数を可変長で書く
+     * 
+     * @param val 0以上
+     * @throws IOException
+     */
+    void writeVarLong(long val) throws IOException {
+        this.ensure(10);
+        while ((val & ~0x7FL) != 0) {
+            this.buffer.put((byte) ((val & 0x7F) | 0x80));
+            val >>>= 7;
+        }
+        this.buffer.put((byte) val);
+    }
+
+    /**
+     * 符号付きの整数を可変長で書く (0, -1, 1, -2, ... を 0, 1, 2, 3, ... にする)
+     * 
+     * @param val
+     * @throws IOException
+     */
+    void writeSignedVarLong(long val) throws IOException {
+        this.writeVarLong((val << 1) ^ (val >> 63));
+    }
+
+    /**
+     * 任意の大きさの整数を、バイト数と2の補数のバイト列で書く
+     * 
+     * @param val
+     * @throws IOException
+     */
+    void writeBigInteger(BigInteger val) throws IOException {
+        byte[] bytes = val.toByteArray();
+        this.writeVarLong(bytes.length);
+        this.writeBytes(bytes);
+    }
+
+    /**
+     * 文字列をバイト数と UTF-8 のバイト列で書く
+     * 
+     * @param val
+     * @throws IOException
+     */
+    void writeString(String val) throws IOException {
+        byte[] bytes = val.getBytes(StandardCharsets.UTF_8);
+        this.writeVarLong(bytes.length);
+        this.writeBytes(bytes);
+    }
+
+    /**
+     * バッファにたまったバイトをチャネルに書く
+     * 
+     * @throws IOException
+     */
+    void flush() throws IOException {
+        this.buffer.flip();
+        while (this.buffer.hasRemaining()) {
+            this.channel.write(this.buffer);
+        }
+        this.buffer.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            this.flush();
+        } finally {
+            this.channel.close();
+        }
+    }
+
+}
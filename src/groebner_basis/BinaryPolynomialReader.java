@@ -0,0 +1,303 @@
+package groebner_basis;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import groebner_basis.monomial_order.BlockOrder;
+import groebner_basis.monomial_order.GrevlexOrder;
+import groebner_basis.monomial_order.GrlexOrder;
+import groebner_basis.monomial_order.LexOrder;
+import groebner_basis.monomial_order.MatrixOrder;
+import groebner_basis.monomial_order.MonomialOrder;
+import groebner_basis.monomial_order.WeightOrder;
+
+/**
+ * BinaryPolynomialWriter で書き出した多項式を1つずつ読む
+ * 項は書き出した時に単項式順序の降順に並んでいるので並び替えない (並んでいるか、係数が0でなく既約かは確かめる)
+ * ファイルから読む時はメモリマップした範囲から直接読む
+ */
+public class BinaryPolynomialReader implements Closeable {
+
+    /**
+     * 読み込み元
+     */
+    private BinaryInput input;
+
+    /**
+     * ヘッダに書かれた多項式環
+     */
+    private Ring ring;
+
+    /**
+     * 終わりの印を読んだらtrue
+     */
+    private boolean finished = false;
+
+    /**
+     * コンストラクタ ヘッダを読む
+     * 
+     * @param in 読み込み元
+     * @throws IOException
+     */
+    public BinaryPolynomialReader(InputStream in) throws IOException {
+        this(new BinaryInput(Channels.newChannel(in)));
+    }
+
+    /**
+     * コンストラクタ ファイルをメモリマップしてヘッダを読む
+     * 
+     * @param path 読み込むファイル
+     * @throws IOException
+     */
+    public BinaryPolynomialReader(Path path) throws IOException {
+        this(new BinaryInput(FileChannel.open(path, StandardOpenOption.READ)));
+    }
+
+    private BinaryPolynomialReader(BinaryInput input) throws IOException {
+        this.input = input;
+        try {
+            if (!Arrays.equals(input.readBytes(BinaryPolynomialWriter.MAGIC.length), BinaryPolynomialWriter.MAGIC))
+                throw new Error("illegalBinaryFormatError");
+            if (input.readVarLong() != BinaryPolynomialWriter.VERSION) throw new Error("unsupportedBinaryVersionError");
+            CoefficientField field;
+            long fieldType = input.readVarLong();
+            if (fieldType == BinaryPolynomialWriter.RATIONAL_FIELD) {
+                field = RationalField.INSTANCE;
+            } else if (fieldType == BinaryPolynomialWriter.PRIME_FIELD) {
+                field = new PrimeField(input.readVarInt());
+            } else {
+                throw new Error("illegalBinaryFormatError");
+            }
+            MonomialOrder monomialOrder = this.readMonomialOrder();
+            int size = input.readVarInt();
+            List<String> variableOrder = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                variableOrder.add(input.readString());
+            }
+            this.ring = new Ring(variableOrder, monomialOrder, field);
+        } catch (IOException | Error e) {
+            input.close();
+            throw e;
+        }
+    }
+
+    /**
+     * 多項式をまとめて読む
+     * 
+     * @param in 読み込み元
+     * @return 多項式のリスト
+     * @throws IOException
+     */
+    public static List<Polynomial> read(InputStream in) throws IOException {
+        try (BinaryPolynomialReader reader = new BinaryPolynomialReader(in)) {
+            return reader.readAll();
+        }
+    }
+
+    /**
+     * 多項式をまとめてファイルから読む
+     * 
+     * @param path 読み込むファイル
+     * @return 多項式のリスト
+     * @throws IOException
+     */
+    public static List<Polynomial> read(Path path) throws IOException {
+        try (BinaryPolynomialReader reader = new BinaryPolynomialReader(path)) {
+            return reader.readAll();
+        }
+    }
+
+    /**
+     * 単項式順序を読む
+     * 
+     * @return 単項式順序
+     * @throws IOException
+     */
+    private MonomialOrder readMonomialOrder() throws IOException {
+        long type = this.input.readVarLong();
+        if (type == BinaryPolynomialWriter.LEX_ORDER) return new LexOrder();
+        if (type == BinaryPolynomialWriter.GRLEX_ORDER) return new GrlexOrder();
+        if (type == BinaryPolynomialWriter.GREVLEX_ORDER) return new GrevlexOrder();
+        if (type == BinaryPolynomialWriter.WEIGHT_ORDER) {
+            List<BigInteger> weights = this.readBigIntegers();
+            return new WeightOrder(weights, this.readMonomialOrder());
+        }
+        if (type == BinaryPolynomialWriter.MATRIX_ORDER) {
+            int rows = this.input.readVarInt();
+            List<List<BigInteger>> matrix = new ArrayList<>(rows);
+            for (int i = 0; i < rows; i++) {
+                matrix.add(this.readBigIntegers());
+            }
+            return new MatrixOrder(matrix);
+        }
+        if (type == BinaryPolynomialWriter.BLOCK_ORDER) {
+            int blocks = this.input.readVarInt();
+            List<Integer> blockSizes = new ArrayList<>(blocks);
+            List<MonomialOrder> orders = new ArrayList<>(blocks);
+            for (int i = 0; i < blocks; i++) {
+                blockSizes.add(this.input.readVarInt());
+                orders.add(this.readMonomialOrder());
+            }
+            return new BlockOrder(blockSizes, orders);
+        }
+        throw new Error("illegalBinaryFormatError");
+    }
+
+    /**
+     * 整数のリストを読む
+     * 
+     * @return 整数のリスト
+     * @throws IOException
+     */
+    private List<BigInteger> readBigIntegers() throws IOException {
+        int size = this.input.readVarInt();
+        List<BigInteger> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            values.add(this.input.readBigInteger());
+        }
+        return values;
+    }
+
+    /**
+     * 次の多項式を読む
+     * 
+     * @return 多項式 終わりならnull
+     * @throws IOException
+     */
+    public Polynomial read() throws IOException {
+        if (this.finished) return null;
+        long size = this.input.readVarLong();
+        if (size == 0) {
+            this.finished = true;
+            return null;
+        }
+        if (size - 1 > Integer.MAX_VALUE) throw new Error("illegalBinaryFormatError");
+
+        VariableComparator variableComparator = this.ring.getVariableComparator();
+        CoefficientField field = this.ring.getField();
+        int variables = variableComparator.size();
+        long exponentType = this.input.readVarLong();
+        if (exponentType != BinaryPolynomialWriter.INT_EXPONENTS && exponentType != BinaryPolynomialWriter.BIG_EXPONENTS)
+            throw new Error("illegalBinaryFormatError");
+
+        MonomialOrder monomialOrder = this.ring.getMonomialOrder();
+        Monomial[] monomials = new Monomial[(int) (size - 1)];
+        for (int i = 0; i < monomials.length; i++) {
+            Coefficient coefficient = this.readCoefficient(field);
+            if (exponentType == BinaryPolynomialWriter.INT_EXPONENTS) {
+                int[] exponents = new int[variables];
+                for (int j = 0; j < variables; j++) {
+                    exponents[j] = this.input.readVarInt();
+                }
+                monomials[i] = new Monomial(coefficient, exponents, variableComparator);
+            } else {
+                BigInteger[] exponents = new BigInteger[variables];
+                for (int j = 0; j < variables; j++) {
+                    exponents[j] = this.input.readBigInteger();
+                    if (exponents[j].signum() < 0) throw new Error("illegalBinaryFormatError");
+                }
+                monomials[i] = new Monomial(coefficient, exponents, variableComparator);
+            }
+            // 項は真に降順に並んでいなければならない (同じ単項式が2回現れるのも不正)
+            if (i > 0 && monomialOrder.compare(monomials[i - 1], monomials[i]) >= 0) throw new Error("illegalBinaryFormatError");
+        }
+        return Polynomial.fromSortedTerms(monomials, monomials.length, field, monomialOrder, variableComparator);
+    }
+
+    /**
+     * 係数を読む 0の係数、p 以上の値、既約でない分数は書き出されないので不正とする
+     * 
+     * @param field 係数体
+     * @return 係数
+     * @throws IOException
+     */
+    private Coefficient readCoefficient(CoefficientField field) throws IOException {
+        if (field instanceof PrimeField) {
+            PrimeField primeField = (PrimeField) field;
+            long value = this.input.readVarLong();
+            if (value <= 0 || value >= primeField.getPrime()) throw new Error("illegalBinaryFormatError");
+            return primeField.valueOf(value);
+        }
+        long type = this.input.readVarLong();
+        if (type == BinaryPolynomialWriter.LONG_FRACTION) {
+            long numerator = this.input.readSignedVarLong();
+            long denominator = this.input.readVarLong();
+            if (numerator == 0 || numerator == Long.MIN_VALUE || denominator <= 0 || gcd(Math.abs(numerator), denominator) != 1)
+                throw new Error("illegalBinaryFormatError");
+            return Fraction.valueOf(numerator, denominator);
+        }
+        if (type == BinaryPolynomialWriter.BIG_FRACTION) {
+            BigInteger numerator = this.input.readBigInteger();
+            BigInteger denominator = this.input.readBigInteger();
+            if (numerator.signum() == 0 || denominator.signum() <= 0 || !numerator.gcd(denominator).equals(BigInteger.ONE))
+                throw new Error("illegalBinaryFormatError");
+            return new Fraction(numerator, denominator);
+        }
+        throw new Error("illegalBinaryFormatError");
+    }
+
+    /**
+     * 最大公約数を返す
+     * 
+     * @param a 0以上
+     * @param b 0以上
+     * @return gcd(a, b)
+     */
+    private static long gcd(long a, long b) {
+        while (b != 0) {
+            long r = a % b;
+            a = b;
+            b = r;
+        }
+        return a;
+    }
+
+    /**
+     * 残りの多項式をすべて読む
+     * 
+     * @return 多項式のリスト
+     * @throws IOException
+     */
+    public List<Polynomial> readAll() throws IOException {
+        List<Polynomial> polynomials = new ArrayList<>();
+        Polynomial polynomial;
+        while ((polynomial = this.read()) != null) {
+            polynomials.add(polynomial);
+        }
+        return polynomials;
+    }
+
+    /**
+     * 残りの多項式をすべて読んでイデアルを作る
+     * 
+     * @return イデアル
+     * @throws IOException
+     */
+    public Ideal readIdeal() throws IOException {
+        return new Ideal(this.readAll());
+    }
+
+    /**
+     * ヘッダに書かれた多項式環を返す
+     * 
+     * @return 多項式環
+     */
+    public Ring getRing() {
+        return this.ring;
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.input.close();
+    }
+
+}
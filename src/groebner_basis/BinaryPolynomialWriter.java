@@ -0,0 +1,341 @@
+package groebner_basis;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import groebner_basis.monomial_order.BlockOrder;
+import groebner_basis.monomial_order.GrevlexOrder;
+import groebner_basis.monomial_order.GrlexOrder;
+import groebner_basis.monomial_order.LexOrder;
+import groebner_basis.monomial_order.MatrixOrder;
+import groebner_basis.monomial_order.MonomialOrder;
+import groebner_basis.monomial_order.WeightOrder;
+
+/**
+ * 多項式をバイナリ形式で書き出す (BinaryPolynomialReader で読む)
+ * 
+ * 形式 (整数はすべて可変長)
+ * ヘッダ: "GBPF" 版 係数体 単項式順序 変数の数 変数名...
+ * 多項式ごと: 項の数+1 指数の種類 (0: int, 1: BigInteger) 項...
+ * 項: 係数 変数の順序の位置ごとの指数 (単項式順序の降順に並ぶ)
+ * 終わり: 0
+ */
+public class BinaryPolynomialWriter implements Closeable {
+
+    /**
+     * 形式の先頭のバイト
+     */
+    static final byte[] MAGIC = { 'G', 'B', 'P', 'F' };
+
+    /**
+     * 形式の版
+     */
+    static final int VERSION = 1;
+
+    /**
+     * 有理数体
+     */
+    static final int RATIONAL_FIELD = 0;
+
+    /**
+     * 有限体 Z/pZ (続けて p)
+     */
+    static final int PRIME_FIELD = 1;
+
+    /**
+     * 分子と分母がlongに収まる有理数の係数 (続けて符号付きの分子、分母)
+     */
+    static final int LONG_FRACTION = 0;
+
+    /**
+     * 分子と分母を BigInteger で書く有理数の係数
+     */
+    static final int BIG_FRACTION = 1;
+
+    /**
+     * 多項式のすべての指数をintの可変長で書く
+     */
+    static final int INT_EXPONENTS = 0;
+
+    /**
+     * 多項式のすべての指数を BigInteger で書く
+     */
+    static final int BIG_EXPONENTS = 1;
+
+    /**
+     * LexOrder
+     */
+    static final int LEX_ORDER = 0;
+
+    /**
+     * GrlexOrder
+     */
+    static final int GRLEX_ORDER = 1;
+
+    /**
+     * GrevlexOrder
+     */
+    static final int GREVLEX_ORDER = 2;
+
+    /**
+     * WeightOrder (続けて重み、同点の時の順序)
+     */
+    static final int WEIGHT_ORDER = 3;
+
+    /**
+     * MatrixOrder (続けて行の数、行ごとの重み)
+     */
+    static final int MATRIX_ORDER = 4;
+
+    /**
+     * BlockOrder (続けてブロックの数、ブロックごとの変数の数と順序)
+     */
+    static final int BLOCK_ORDER = 5;
+
+    /**
+     * 書き出し先
+     */
+    private BinaryOutput output;
+
+    /**
+     * 多項式環
+     */
+    private Ring ring;
+
+    /**
+     * コンストラクタ ヘッダを書く
+     * 
+     * @param out 書き出し先
+     * @param ring 多項式環 (単項式順序は LexOrder, GrlexOrder, GrevlexOrder, WeightOrder, MatrixOrder, BlockOrder)
+     * @throws IOException
+     */
+    public BinaryPolynomialWriter(OutputStream out, Ring ring) throws IOException {
+        this(new BinaryOutput(Channels.newChannel(out)), ring);
+    }
+
+    /**
+     * コンストラクタ ファイルを作り直してヘッダを書く
+     * 
+     * @param path 書き出すファイル
+     * @param ring 多項式環
+     * @throws IOException
+     */
+    public BinaryPolynomialWriter(Path path, Ring ring) throws IOException {
+        this(new BinaryOutput(FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)), ring);
+    }
+
+    private BinaryPolynomialWriter(BinaryOutput output, Ring ring) throws IOException {
+        this.output = output;
+        this.ring = ring;
+
+        output.writeBytes(MAGIC);
+        output.writeVarLong(VERSION);
+        CoefficientField field = ring.getField();
+        if (field instanceof PrimeField) {
+            output.writeVarLong(PRIME_FIELD);
+            output.writeVarLong(((PrimeField) field).getPrime());
+        } else if (field instanceof RationalField) {
+            output.writeVarLong(RATIONAL_FIELD);
+        } else {
+            throw new Error("unsupportedCoefficientFieldError");
+        }
+        this.writeMonomialOrder(ring.getMonomialOrder());
+        List<String> variableOrder = ring.getVariableComparator().getVariableOrder();
+        output.writeVarLong(variableOrder.size());
+        for (String variable : variableOrder) {
+            output.writeString(variable);
+        }
+    }
+
+    /**
+     * 多項式環を多項式から作る
+     * 
+     * @param polynomials 多項式 (空でないこと)
+     * @return 最初の多項式の環
+     */
+    private static Ring ring(List<Polynomial> polynomials) {
+        if (polynomials.isEmpty()) throw new Error("BasicPolynomialsError");
+        Polynomial polynomial = polynomials.get(0);
+        return new Ring(polynomial.getVariableComparator(), polynomial.getMonomialOrder(),
+                polynomial.leadingCoefficient().field());
+    }
+
+    /**
+     * 多項式をまとめて書き出す
+     * 
+     * @param polynomials 多項式 (空でなく、同じ環の多項式であること)
+     * @param out 書き出し先
+     * @throws IOException
+     */
+    public static void write(List<Polynomial> polynomials, OutputStream out) throws IOException {
+        try (BinaryPolynomialWriter writer = new BinaryPolynomialWriter(out, ring(polynomials))) {
+            writer.writeAll(polynomials);
+        }
+    }
+
+    /**
+     * 多項式をまとめてファイルに書き出す
+     * 
+     * @param polynomials 多項式 (空でなく、同じ環の多項式であること)
+     * @param path 書き出すファイル
+     * @throws IOException
+     */
+    public static void write(List<Polynomial> polynomials, Path path) throws IOException {
+        try (BinaryPolynomialWriter writer = new BinaryPolynomialWriter(path, ring(polynomials))) {
+            writer.writeAll(polynomials);
+        }
+    }
+
+    /**
+     * イデアルの生成元を書き出す
+     * 
+     * @param ideal
+     * @param out 書き出し先
+     * @throws IOException
+     */
+    public static void write(Ideal ideal, OutputStream out) throws IOException {
+        write(ideal.getBasicPolynomials(), out);
+    }
+
+    /**
+     * 単項式順序を書く
+     * 
+     * @param monomialOrder
+     * @throws IOException
+     */
+    private void writeMonomialOrder(MonomialOrder monomialOrder) throws IOException {
+        if (monomialOrder instanceof LexOrder) {
+            this.output.writeVarLong(LEX_ORDER);
+        } else if (monomialOrder instanceof GrlexOrder) {
+            this.output.writeVarLong(GRLEX_ORDER);
+        } else if (monomialOrder instanceof GrevlexOrder) {
+            this.output.writeVarLong(GREVLEX_ORDER);
+        } else if (monomialOrder instanceof WeightOrder) {
+            WeightOrder weightOrder = (WeightOrder) monomialOrder;
+            this.output.writeVarLong(WEIGHT_ORDER);
+            this.writeBigIntegers(weightOrder.getWeights());
+            this.writeMonomialOrder(weightOrder.getTieBreakOrder());
+        } else if (monomialOrder instanceof MatrixOrder) {
+            List<List<BigInteger>> matrix = ((MatrixOrder) monomialOrder).getMatrix();
+            this.output.writeVarLong(MATRIX_ORDER);
+            this.output.writeVarLong(matrix.size());
+            for (List<BigInteger> row : matrix) {
+                this.writeBigIntegers(row);
+            }
+        } else if (monomialOrder instanceof BlockOrder) {
+            BlockOrder blockOrder = (BlockOrder) monomialOrder;
+            List<Integer> blockSizes = blockOrder.getBlockSizes();
+            List<MonomialOrder> orders = blockOrder.getOrders();
+            this.output.writeVarLong(BLOCK_ORDER);
+            this.output.writeVarLong(blockSizes.size());
+            for (int i = 0; i < blockSizes.size(); i++) {
+                this.output.writeVarLong(blockSizes.get(i));
+                this.writeMonomialOrder(orders.get(i));
+            }
+        } else {
+            throw new Error("unsupportedMonomialOrderError");
+        }
+    }
+
+    /**
+     * 整数のリストを書く
+     * 
+     * @param values
+     * @throws IOException
+     */
+    private void writeBigIntegers(List<BigInteger> values) throws IOException {
+        this.output.writeVarLong(values.size());
+        for (BigInteger value : values) {
+            this.output.writeBigInteger(value);
+        }
+    }
+
+    /**
+     * 多項式を書く
+     * 
+     * @param polynomial 環と同じ変数の順序、単項式順序、係数体の多項式
+     * @throws IOException
+     */
+    public void write(Polynomial polynomial) throws IOException {
+        if (!polynomial.getVariableComparator().equals(this.ring.getVariableComparator())
+                || !polynomial.getMonomialOrder().equals(this.ring.getMonomialOrder())
+                || !polynomial.leadingCoefficient().field().equals(this.ring.getField()))
+            throw new Error("ringNotMatchError");
+
+        Monomial[] monomials = polynomial.isZero() ? new Monomial[0] : polynomial.getMonomialArray();
+        boolean intExponents = true;
+        for (Monomial monomial : monomials) {
+            intExponents &= monomial.hasIntExponents();
+        }
+        this.output.writeVarLong(monomials.length + 1L);
+        this.output.writeVarLong(intExponents ? INT_EXPONENTS : BIG_EXPONENTS);
+        for (Monomial monomial : monomials) {
+            this.writeCoefficient(monomial.coefficient());
+            if (intExponents) {
+                for (int exponent : monomial.getExponentArray()) {
+                    this.output.writeVarLong(exponent);
+                }
+            } else {
+                for (BigInteger exponent : monomial.multiDegree()) {
+                    this.output.writeBigInteger(exponent);
+                }
+            }
+        }
+    }
+
+    /**
+     * 多項式をまとめて書く
+     * 
+     * @param polynomials
+     * @throws IOException
+     */
+    public void writeAll(List<Polynomial> polynomials) throws IOException {
+        for (Polynomial polynomial : polynomials) {
+            this.write(polynomial);
+        }
+    }
+
+    /**
+     * 係数を書く
+     * 
+     * @param coefficient
+     * @throws IOException
+     */
+    private void writeCoefficient(Coefficient coefficient) throws IOException {
+        if (coefficient instanceof ModularInteger) {
+            this.output.writeVarLong(((ModularInteger) coefficient).intValue());
+            return;
+        }
+        Fraction fraction = (Fraction) coefficient;
+        if (fraction.fitsLong()) {
+            this.output.writeVarLong(LONG_FRACTION);
+            this.output.writeSignedVarLong(fraction.longNumerator());
+            this.output.writeVarLong(fraction.longDenominator());
+        } else {
+            this.output.writeVarLong(BIG_FRACTION);
+            this.output.writeBigInteger(fraction.getNumerator());
+            this.output.writeBigInteger(fraction.getDenominator());
+        }
+    }
+
+    /**
+     * 終わりの印を書いて閉じる
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            this.output.writeVarLong(0);
+        } finally {
+            this.output.close();
+        }
+    }
+
+}
@@ -0,0 +1,80 @@
+package groebner_basis;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * グレブナ基底の計算を途中で止めるための目印 別のスレッドから cancel() してよい
+ * 計算は組を1つ処理するごとに調べ、止められていれば cancelledError か deadlineExceededError を投げる
+ */
+public class CancellationToken {
+
+    /**
+     * cancel() されたらtrue
+     */
+    private volatile boolean cancelled = false;
+
+    /**
+     * 期限 (System.nanoTime() の値) 期限がなければ使わない
+     */
+    private final long deadline;
+
+    /**
+     * 期限があればtrue
+     */
+    private final boolean hasDeadline;
+
+    /**
+     * コンストラクタ 期限なし
+     */
+    public CancellationToken() {
+        this.deadline = 0;
+        this.hasDeadline = false;
+    }
+
+    /**
+     * コンストラクタ
+     * 
+     * @param timeout 今からの制限時間
+     * @param unit timeout の単位
+     */
+    public CancellationToken(long timeout, TimeUnit unit) {
+        this.deadline = System.nanoTime() + unit.toNanos(timeout);
+        this.hasDeadline = true;
+    }
+
+    /**
+     * 計算を止める
+     */
+    public void cancel() {
+        this.cancelled = true;
+    }
+
+    /**
+     * 止められたか、期限を過ぎたか
+     * 
+     * @return 止められていればtrue
+     */
+    public boolean isCancelled() {
+        return this.cancelled || this.isExpired();
+    }
+
+    /**
+     * 期限を過ぎたか
+     * 
+     * @return 過ぎていればtrue
+     */
+    private boolean isExpired() {
+        return this.hasDeadline && System.nanoTime() - this.deadline >= 0;
+    }
+
+    /**
+     * 止められていればエラーを投げる
+     * 
+     * @throws Error cancel() されていればcancelledError 期限を過ぎていればdeadlineExceededError
+     */
+    public void throwIfCancelled() {
+        if (this.cancelled) throw new Error("cancelledError");
+        if (this.isExpired()) throw new Error("deadlineExceededError");
+    }
+
+}
@@ -0,0 +1,96 @@
+package groebner_basis;
+
+/**
+ * 単項式の係数となる体の元
+ */
+public interface Coefficient {
+
+    /**
+     * 値が (this + val) である Coefficient を返す
+     * 
+     * @param val
+     * @return this + val
+     */
+    public Coefficient add(Coefficient val);
+
+    /**
+     * 値が (this - val) である Coefficient を返す
+     * 
+     * @param val
+     * @return this - val
+     */
+    public Coefficient subtract(Coefficient val);
+
+    /**
+     * 値が (this * val) である Coefficient を返す
+     * 
+     * @param val
+     * @return this * val
+     */
+    public Coefficient multiply(Coefficient val);
+
+    /**
+     * 値が (this / val) である Coefficient を返す
+     * 
+     * @param val
+     * @return this / val
+     */
+    public Coefficient divide(Coefficient val);
+
+    /**
+     * 値が (-this) の Coefficient を返す
+     * 
+     * @return -this
+     */
+    public Coefficient negate();
+
+    /**
+     * 値がこの this の絶対値である Coefficient を返す
+     * 
+     * @return abs(this)
+     */
+    public Coefficient abs();
+
+    /**
+     * 値がこの this の逆数である Coefficient を返す 0の場合はzeroDivideError
+     * 
+     * @return 1 / this
+     */
+    public Coefficient reciprocal();
+
+    /**
+     * 0かどうか
+     * 
+     * @return 0ならtrue
+     */
+    public boolean isZero();
+
+    /**
+     * 1かどうか
+     * 
+     * @return 1ならtrue
+     */
+    public boolean isOne();
+
+    /**
+     * この Coefficient の符号要素を返す
+     * 
+     * @return 負の場合は -1、ゼロの場合は 0、正の場合は 1
+     */
+    public int signum();
+
+    /**
+     * 係数の大きさをビット数で返す
+     * 
+     * @return 値を表すのに必要なビット数 (有理数は分子と分母の大きい方)
+     */
+    public int bitLength();
+
+    /**
+     * この Coefficient が属する体を返す
+     * 
+     * @return 係数体
+     */
+    public CoefficientField field();
+
+}
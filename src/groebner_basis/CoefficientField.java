@@ -0,0 +1,30 @@
+package groebner_basis;
+
+/**
+ * 係数体
+ */
+public interface CoefficientField {
+
+    /**
+     * この体の0を返す
+     * 
+     * @return 0
+     */
+    public Coefficient zero();
+
+    /**
+     * この体の1を返す
+     * 
+     * @return 1
+     */
+    public Coefficient one();
+
+    /**
+     * 有理数をこの体の元に変換する
+     * 
+     * @param val
+     * @return val に対応するこの体の元
+     */
+    public Coefficient valueOf(Fraction val);
+
+}
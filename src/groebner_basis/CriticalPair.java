@@ -0,0 +1,57 @@
+package groebner_basis;
+
+/**
+ * S多項式を計算する基底の元の組
+ */
+class CriticalPair {
+
+    /**
+     * 基底の元の位置 (i < j)
+     */
+    final int i;
+
+    /**
+     * 基底の元の位置 (i < j)
+     */
+    final int j;
+
+    /**
+     * 先頭項の最小公倍元
+     */
+    final Monomial leastCommonMultiple;
+
+    /**
+     * lcmの次数
+     */
+    final long degree;
+
+    /**
+     * sugar (S多項式を斉次化した時の次数)
+     */
+    final long sugar;
+
+    /**
+     * 作られた順番
+     */
+    final long sequence;
+
+    /**
+     * 基準で取り除かれたらtrue
+     */
+    boolean removed;
+
+    CriticalPair(int i, int j, Monomial leastCommonMultiple, long sugar, long sequence) {
+        this.i = i;
+        this.j = j;
+        this.leastCommonMultiple = leastCommonMultiple;
+        this.degree = leastCommonMultiple.degree().longValue();
+        this.sugar = sugar;
+        this.sequence = sequence;
+    }
+
+    @Override
+    public String toString() {
+        return "(" + this.i + ", " + this.j + ")";
+    }
+
+}
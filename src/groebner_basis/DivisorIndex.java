@@ -0,0 +1,241 @@
+package groebner_basis;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 単項式を割り切る先頭項を探すための索引
+ * 先頭項を変数の順序の位置ごとの指数で枝分かれする木 (trie) に入れ、単項式の指数以下の枝だけをたどる
+ * 登録した順の番号が最も小さいものを返すので、先頭から順に探した時と同じ元が見つかる
+ * find() は索引を変更しないので、add()・remove() をしない間は複数のスレッドから呼んでよい
+ */
+class DivisorIndex {
+
+    /**
+     * この数以下しか登録されていない時は木をたどらずに順に調べる
+     */
+    private static final int LINEAR_THRESHOLD = 8;
+
+    /**
+     * 登録した単項式 取り除いたものはnull
+     */
+    private List<Monomial> monomials = new ArrayList<>();
+
+    /**
+     * 取り除かれていない単項式の数
+     */
+    private int count = 0;
+
+    /**
+     * 指数の木の根
+     */
+    private Node root = new Node();
+
+    /**
+     * 木に入れた単項式の数 (番号がこれより小さいものは木か bigIndexes にある)
+     */
+    private int indexed = 0;
+
+    /**
+     * 指数がintに収まらない単項式の番号 (木には入れずに順に調べる)
+     */
+    private List<Integer> bigIndexes = new ArrayList<>();
+
+    /**
+     * 木の節 depth 番目の変数の指数で子に分かれ、すべての変数をたどった葉に番号を持つ
+     */
+    private static class Node {
+
+        /**
+         * 子の指数 昇順
+         */
+        private int[] keys = new int[0];
+
+        /**
+         * keys と同じ位置の子
+         */
+        private Node[] children = new Node[0];
+
+        /**
+         * 葉に登録された番号 昇順
+         */
+        private List<Integer> indexes;
+
+        /**
+         * この節より下に登録された番号の最小値 (取り除いても更新しないので下限として使う)
+         */
+        private int minIndex = Integer.MAX_VALUE;
+
+        /**
+         * 指数 key の子を返す なければ作る
+         * 
+         * @param key
+         * @return 子
+         */
+        private Node child(int key) {
+            int position = Arrays.binarySearch(this.keys, key);
+            if (position >= 0) return this.children[position];
+
+            position = -position - 1;
+            int[] keys = new int[this.keys.length + 1];
+            Node[] children = new Node[this.children.length + 1];
+            System.arraycopy(this.keys, 0, keys, 0, position);
+            System.arraycopy(this.children, 0, children, 0, position);
+            keys[position] = key;
+            children[position] = new Node();
+            System.arraycopy(this.keys, position, keys, position + 1, this.keys.length - position);
+            System.arraycopy(this.children, position, children, position + 1, this.children.length - position);
+            this.keys = keys;
+            this.children = children;
+            return children[position];
+        }
+
+        /**
+         * 指数 key の子を返す
+         * 
+         * @param key
+         * @return 子 なければnull
+         */
+        private Node find(int key) {
+            int position = Arrays.binarySearch(this.keys, key);
+            return (position >= 0) ? this.children[position] : null;
+        }
+
+    }
+
+    /**
+     * 単項式を登録する
+     * 
+     * @param monomial 0でない単項式 (係数は見ない)
+     * @return 登録した番号 (0から登録した順)
+     */
+    int add(Monomial monomial) {
+        int index = this.monomials.size();
+        this.monomials.add(monomial);
+        this.count++;
+        if (this.count > LINEAR_THRESHOLD) this.index();
+        return index;
+    }
+
+    /**
+     * まだ木に入れていない単項式を木に入れる 少ないうちは順に調べるので木は多くなってから作る
+     */
+    private void index() {
+        for (; this.indexed < this.monomials.size(); this.indexed++) {
+            Monomial monomial = this.monomials.get(this.indexed);
+            if (monomial == null) continue;
+
+            int[] exponents = monomial.getExponentArray();
+            if (exponents == null) {
+                this.bigIndexes.add(this.indexed);
+                continue;
+            }
+            Node node = this.root;
+            node.minIndex = Math.min(node.minIndex, this.indexed);
+            for (int exponent : exponents) {
+                node = node.child(exponent);
+                node.minIndex = Math.min(node.minIndex, this.indexed);
+            }
+            if (node.indexes == null) node.indexes = new ArrayList<>(1);
+            node.indexes.add(this.indexed);
+        }
+    }
+
+    /**
+     * 登録した単項式を取り除く
+     * 
+     * @param index add() で返した番号
+     */
+    void remove(int index) {
+        Monomial monomial = this.monomials.get(index);
+        if (monomial == null) return;
+        this.monomials.set(index, null);
+        this.count--;
+        if (index >= this.indexed) return;
+
+        int[] exponents = monomial.getExponentArray();
+        if (exponents == null) {
+            this.bigIndexes.remove(Integer.valueOf(index));
+            return;
+        }
+        Node node = this.root;
+        for (int exponent : exponents) {
+            node = node.find(exponent);
+        }
+        node.indexes.remove(Integer.valueOf(index));
+    }
+
+    /**
+     * 単項式を割り切る登録された単項式のうち番号が最も小さいものを探す
+     * 
+     * @param monomial
+     * @return 番号 なければ-1
+     */
+    int find(Monomial monomial) {
+        int[] exponents = monomial.getExponentArray();
+        // 一度多くなってから取り除かれて少なくなった時も順に調べる (木に入っていないものはない)
+        if (this.count <= LINEAR_THRESHOLD || exponents == null) return this.findLinear(monomial);
+
+        int found = this.search(this.root, exponents, 0, Integer.MAX_VALUE);
+        for (int index : this.bigIndexes) {
+            if (index < found && this.monomials.get(index).divides(monomial)) found = index;
+        }
+        return (found == Integer.MAX_VALUE) ? -1 : found;
+    }
+
+    /**
+     * 登録した順に調べる
+     * 
+     * @param monomial
+     * @return 番号 なければ-1
+     */
+    private int findLinear(Monomial monomial) {
+        for (int i = 0; i < this.monomials.size(); i++) {
+            Monomial divisor = this.monomials.get(i);
+            if (divisor != null && divisor.divides(monomial)) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * depth 番目の変数から下で、指数が exponents 以下の葉の最小の番号を探す
+     * 
+     * @param node
+     * @param exponents 割られる単項式の指数
+     * @param depth
+     * @param found これまでに見つかった最小の番号 (これ以上の番号しかない枝はたどらない)
+     * @return 見つかった最小の番号 なければ found
+     */
+    private int search(Node node, int[] exponents, int depth, int found) {
+        if (node.minIndex >= found) return found;
+        if (depth == exponents.length) {
+            if (node.indexes != null && !node.indexes.isEmpty() && node.indexes.get(0) < found) return node.indexes.get(0);
+            return found;
+        }
+        for (int i = 0; i < node.keys.length && node.keys[i] <= exponents[depth]; i++) {
+            found = this.search(node.children[i], exponents, depth + 1, found);
+        }
+        return found;
+    }
+
+    /**
+     * 登録された単項式を返す
+     * 
+     * @param index
+     * @return 単項式 取り除いた時はnull
+     */
+    Monomial get(int index) {
+        return this.monomials.get(index);
+    }
+
+    /**
+     * 取り除かれていない単項式の数を返す
+     * 
+     * @return 数
+     */
+    int size() {
+        return this.count;
+    }
+
+}
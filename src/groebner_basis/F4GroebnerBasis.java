@@ -0,0 +1,255 @@
+package groebner_basis;
+
+import java.util.AbstractMap;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map.Entry;
+
+import groebner_basis.monomial_order.MonomialOrder;
+
+/**
+ * F4 アルゴリズムでグレブナ基底を求める
+ * sugar の一番小さい組をまとめて取り出し、記号的前処理で簡約に使う行を集めて、
+ * 疎な Macaulay 行列の Gauss の消去法でまとめて簡約する
+ */
+class F4GroebnerBasis {
+
+    /**
+     * 生成元
+     */
+    private List<Polynomial> basicPolynomials;
+
+    /**
+     * 組と基底
+     */
+    private PairManager pairManager = new PairManager(PairSelectionStrategy.SUGAR);
+
+    /**
+     * 単項式の順序
+     */
+    private MonomialOrder monomialOrder;
+
+    /**
+     * 係数体
+     */
+    private CoefficientField field;
+
+    /**
+     * コンストラクタ
+     * 
+     * @param basicPolynomials 生成元
+     */
+    F4GroebnerBasis(List<Polynomial> basicPolynomials) {
+        this.basicPolynomials = basicPolynomials;
+    }
+
+    /**
+     * グレブナ基底を返す (簡約はしない)
+     * 
+     * @return グレブナ基底
+     */
+    List<Polynomial> groebnerBasis() {
+        for (Polynomial polynomial : this.basicPolynomials) {
+            if (polynomial.isZero()) continue;
+            if (this.monomialOrder == null) {
+                this.monomialOrder = polynomial.getMonomialOrder();
+                this.field = polynomial.leadingCoefficient().field();
+            }
+            this.pairManager.add(polynomial, PairManager.sugar(polynomial));
+        }
+
+        while (!this.pairManager.isEmpty()) {
+            // sugar が一番小さい組をまとめて取り出す
+            long sugar = this.pairManager.peek().sugar;
+            List<CriticalPair> pairs = new ArrayList<>();
+            while (!this.pairManager.isEmpty() && this.pairManager.peek().sugar == sugar) {
+                pairs.add(this.pairManager.poll());
+            }
+
+            for (Polynomial polynomial : this.reduce(pairs)) {
+                this.pairManager.add(polynomial, sugar);
+            }
+        }
+        return new ArrayList<>(this.pairManager.getActiveBasis());
+    }
+
+    /**
+     * 組の S多項式をまとめて簡約し、先頭項が新しい多項式を返す
+     * 
+     * @param pairs
+     * @return 新しく基底に加える多項式
+     */
+    private List<Polynomial> reduce(List<CriticalPair> pairs) {
+        List<Polynomial> basis = this.pairManager.getBasis();
+        Matrix matrix = new Matrix();
+
+        // S多項式の両側の行
+        for (CriticalPair pair : pairs) {
+            for (int index : new int[] { pair.i, pair.j }) {
+                Monomial leadingTerm = basis.get(index).leadingTerm();
+                matrix.addRow(pair.leastCommonMultiple.divide(leadingTerm.withCoefficient(this.field.one())), index, true);
+            }
+        }
+
+        // 記号的前処理 行に現れる単項式を割り切る先頭項を持つ元があれば、その倍を簡約用の行に加える
+        while (!matrix.todo.isEmpty()) {
+            Monomial monomial = matrix.todo.poll();
+            if (matrix.leadingMonomials.contains(monomial)) continue;
+            int index = this.pairManager.findDivisor(monomial);
+            if (index == -1) continue;
+            Monomial leadingTerm = basis.get(index).leadingTerm();
+            matrix.addRow(monomial.divide(leadingTerm.withCoefficient(this.field.one())), index, false);
+        }
+
+        return matrix.eliminate();
+    }
+
+    /**
+     * 疎な Macaulay 行列
+     */
+    private class Matrix {
+
+        /**
+         * 行になる多項式 (単項式 × 基底の元)
+         */
+        private List<Monomial[]> rows = new ArrayList<>();
+
+        /**
+         * S多項式の行なら true、簡約用の行なら false
+         */
+        private List<Boolean> pairRows = new ArrayList<>();
+
+        /**
+         * すでに加えた行 (掛ける単項式と基底の位置)
+         */
+        private HashSet<Entry<Monomial, Integer>> added = new HashSet<>();
+
+        /**
+         * 行の先頭の単項式 (係数は1)
+         */
+        private HashSet<Monomial> leadingMonomials = new HashSet<>();
+
+        /**
+         * 行に現れた単項式 (係数は1)
+         */
+        private HashSet<Monomial> monomials = new HashSet<>();
+
+        /**
+         * 記号的前処理で調べる単項式
+         */
+        private ArrayDeque<Monomial> todo = new ArrayDeque<>();
+
+        /**
+         * (multiplier * basis[index]) を行に加える
+         * 
+         * @param multiplier 係数が1の単項式
+         * @param index 基底の位置
+         * @param pairRow S多項式の行か
+         */
+        private void addRow(Monomial multiplier, int index, boolean pairRow) {
+            if (!this.added.add(new AbstractMap.SimpleEntry<>(multiplier, index))) return;
+
+            Monomial[] monomials = F4GroebnerBasis.this.pairManager.getBasis().get(index).getMonomialArray();
+            Monomial[] row = new Monomial[monomials.length];
+            for (int i = 0; i < row.length; i++) {
+                row[i] = multiplier.multiply(monomials[i]);
+                Monomial monomial = row[i].withCoefficient(F4GroebnerBasis.this.field.one());
+                if (i == 0) this.leadingMonomials.add(monomial);
+                if (this.monomials.add(monomial)) this.todo.add(monomial);
+            }
+            this.rows.add(row);
+            this.pairRows.add(pairRow);
+        }
+
+        /**
+         * 行を Gauss の消去法で簡約し、先頭の単項式がどの行の先頭にもなかった行を返す
+         * 
+         * @return 新しい多項式
+         */
+        private List<Polynomial> eliminate() {
+            CoefficientField field = F4GroebnerBasis.this.field;
+            Coefficient zero = field.zero();
+
+            // 列は単項式順序の降順
+            Monomial[] columns = this.monomials.toArray(new Monomial[0]);
+            Arrays.sort(columns, F4GroebnerBasis.this.monomialOrder);
+            HashMap<Monomial, Integer> columnIndex = new HashMap<>();
+            for (int i = 0; i < columns.length; i++) {
+                columnIndex.put(columns[i], i);
+            }
+
+            // 列ごとの枢軸の行 (先頭の係数は1)
+            int[][] pivotColumns = new int[columns.length][];
+            Coefficient[][] pivotValues = new Coefficient[columns.length][];
+            boolean[] leading = new boolean[columns.length];
+            for (Monomial monomial : this.leadingMonomials) {
+                leading[columnIndex.get(monomial)] = true;
+            }
+
+            // 簡約用の行は先頭がすべて違うのでそのまま枢軸にする
+            for (int r = 0; r < this.rows.size(); r++) {
+                if (this.pairRows.get(r)) continue;
+                Monomial[] row = this.rows.get(r);
+                Coefficient inverse = row[0].coefficient().reciprocal();
+                int[] rowColumns = new int[row.length];
+                Coefficient[] rowValues = new Coefficient[row.length];
+                for (int i = 0; i < row.length; i++) {
+                    rowColumns[i] = columnIndex.get(row[i].withCoefficient(field.one()));
+                    rowValues[i] = row[i].coefficient().multiply(inverse);
+                }
+                pivotColumns[rowColumns[0]] = rowColumns;
+                pivotValues[rowColumns[0]] = rowValues;
+            }
+
+            List<Polynomial> polynomials = new ArrayList<>();
+            Coefficient[] dense = new Coefficient[columns.length];
+            for (int r = 0; r < this.rows.size(); r++) {
+                if (!this.pairRows.get(r)) continue;
+                Monomial[] row = this.rows.get(r);
+                Arrays.fill(dense, zero);
+                for (Monomial monomial : row) {
+                    dense[columnIndex.get(monomial.withCoefficient(field.one()))] = monomial.coefficient();
+                }
+
+                // 枢軸のある列を左から消していく
+                int first = -1;
+                for (int c = columnIndex.get(row[0].withCoefficient(field.one())); c < columns.length; c++) {
+                    if (dense[c].isZero()) continue;
+                    if (pivotColumns[c] == null) {
+                        if (first == -1) first = c;
+                        continue;
+                    }
+                    Coefficient factor = dense[c];
+                    int[] rowColumns = pivotColumns[c];
+                    Coefficient[] rowValues = pivotValues[c];
+                    for (int i = 0; i < rowColumns.length; i++) {
+                        dense[rowColumns[i]] = dense[rowColumns[i]].subtract(factor.multiply(rowValues[i]));
+                    }
+                }
+                // 0に簡約された
+                if (first == -1) continue;
+
+                Coefficient inverse = dense[first].reciprocal();
+                List<Monomial> monomials = new ArrayList<>();
+                List<Integer> rowColumns = new ArrayList<>();
+                for (int c = first; c < columns.length; c++) {
+                    if (dense[c].isZero()) continue;
+                    Coefficient value = dense[c].multiply(inverse);
+                    monomials.add(columns[c].withCoefficient(value));
+                    rowColumns.add(c);
+                }
+                pivotColumns[first] = rowColumns.stream().mapToInt(Integer::intValue).toArray();
+                pivotValues[first] = monomials.stream().map(Monomial::coefficient).toArray(Coefficient[]::new);
+
+                if (!leading[first]) polynomials.add(new Polynomial(monomials, F4GroebnerBasis.this.monomialOrder));
+            }
+            return polynomials;
+        }
+
+    }
+
+}
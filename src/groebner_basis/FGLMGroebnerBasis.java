@@ -0,0 +1,228 @@
+package groebner_basis;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+
+import groebner_basis.monomial_order.MonomialOrder;
+
+/**
+ * 0次元 Ideal の簡約グレブナ基底を FGLM アルゴリズムで別の単項式順序の簡約グレブナ基底に変換する
+ * 新しい順序で小さい単項式から順に元の基底での正規形を求め、それまでの正規形の一次結合で書ければ新しい基底の元にする
+ */
+class FGLMGroebnerBasis {
+
+    /**
+     * 正規形の一次独立な組 (簡約行階段形)
+     */
+    private static class Row {
+
+        /**
+         * 枢軸の単項式 (係数は1)
+         */
+        final Monomial pivot;
+
+        /**
+         * 正規形の単項式ごとの係数 枢軸の係数は1
+         */
+        final HashMap<Monomial, Coefficient> vector;
+
+        /**
+         * vector を正規形に持つ新しい順序の多項式
+         */
+        final Polynomial combination;
+
+        Row(Monomial pivot, HashMap<Monomial, Coefficient> vector, Polynomial combination) {
+            this.pivot = pivot;
+            this.vector = vector;
+            this.combination = combination;
+        }
+
+    }
+
+    /**
+     * 元の順序の簡約グレブナ基底
+     */
+    private List<Polynomial> groebnerBasis;
+
+    /**
+     * 変換先の単項式順序
+     */
+    private MonomialOrder monomialOrder;
+
+    /**
+     * 係数体
+     */
+    private CoefficientField field;
+
+    /**
+     * 変数の順序
+     */
+    private VariableComparator variableComparator;
+
+    /**
+     * コンストラクタ
+     * 
+     * @param groebnerBasis 0次元 Ideal の簡約グレブナ基底
+     * @param monomialOrder 変換先の単項式順序
+     */
+    FGLMGroebnerBasis(List<Polynomial> groebnerBasis, MonomialOrder monomialOrder) {
+        if (groebnerBasis.isEmpty()) throw new Error("emptyGroebnerBasisError");
+        this.groebnerBasis = groebnerBasis;
+        this.monomialOrder = monomialOrder;
+        this.field = groebnerBasis.get(0).leadingCoefficient().field();
+        this.variableComparator = groebnerBasis.get(0).getVariableComparator();
+        this.checkZeroDimensional();
+    }
+
+    /**
+     * すべての変数についてその累乗を先頭項に持つ元があるか調べる なければnotZeroDimensionalError
+     */
+    private void checkZeroDimensional() {
+        for (String variable : this.variableComparator.getVariableOrder()) {
+            boolean found = false;
+            for (Polynomial polynomial : this.groebnerBasis) {
+                LinkedHashMap<String, BigInteger> variables = polynomial.leadingTerm().variables();
+                if (variables.isEmpty() || (variables.size() == 1 && variables.containsKey(variable))) {
+                    found = true;
+                    break;
+                }
+            }
+            if (!found) throw new Error("notZeroDimensionalError");
+        }
+    }
+
+    /**
+     * 変換先の順序の簡約グレブナ基底を返す
+     * 
+     * @return 先頭項の降順に並んだ簡約グレブナ基底
+     */
+    List<Polynomial> groebnerBasis() {
+        MonomialOrder sourceOrder = this.groebnerBasis.get(0).getMonomialOrder();
+        Monomial one = Monomial.constant(this.field.one(), this.variableComparator);
+
+        List<Polynomial> newBasis = new ArrayList<>();
+        List<Row> rows = new ArrayList<>();
+        // 調べる単項式と、その単項式を元の順序で正規形にする前の多項式 (変換先の順序で小さい順)
+        TreeMap<Monomial, Polynomial> candidates = new TreeMap<>((o1, o2) -> this.monomialOrder.compare(o2, o1));
+        candidates.put(one, new Polynomial(one, sourceOrder));
+
+        while (!candidates.isEmpty()) {
+            Entry<Monomial, Polynomial> candidate = candidates.pollFirstEntry();
+            Monomial monomial = candidate.getKey();
+            if (this.isDivisible(monomial, newBasis)) continue;
+
+            Polynomial normalForm = candidate.getValue().remainder(this.groebnerBasis);
+            HashMap<Monomial, Coefficient> vector = this.toVector(normalForm);
+            Polynomial combination = new Polynomial(monomial, this.monomialOrder);
+
+            // それまでの正規形で消去する
+            for (Row row : rows) {
+                Coefficient coefficient = vector.get(row.pivot);
+                if (coefficient == null) continue;
+                this.subtractMultiple(vector, coefficient, row.vector);
+                combination = combination.subtract(this.scale(row.combination, coefficient));
+            }
+
+            if (vector.isEmpty()) {
+                // 正規形が0になる多項式は Ideal に含まれ、先頭項は monomial
+                newBasis.add(combination.monic());
+                continue;
+            }
+
+            // 一次独立なので枢軸を決めて他の組から消去する
+            Monomial pivot = null;
+            for (Monomial key : vector.keySet()) {
+                if (pivot == null || sourceOrder.compare(key, pivot) < 0) pivot = key;
+            }
+            Coefficient inverse = vector.get(pivot).reciprocal();
+            for (Entry<Monomial, Coefficient> entry : vector.entrySet()) {
+                entry.setValue(entry.getValue().multiply(inverse));
+            }
+            combination = this.scale(combination, inverse);
+            for (int i = 0; i < rows.size(); i++) {
+                Row row = rows.get(i);
+                Coefficient coefficient = row.vector.get(pivot);
+                if (coefficient == null) continue;
+                this.subtractMultiple(row.vector, coefficient, vector);
+                rows.set(i, new Row(row.pivot, row.vector, row.combination.subtract(this.scale(combination, coefficient))));
+            }
+            rows.add(new Row(pivot, vector, combination));
+
+            // 変数を掛けた単項式を調べる
+            for (int i = 0; i < this.variableComparator.size(); i++) {
+                Monomial variable = Monomial.variable(this.field, i, this.variableComparator);
+                Monomial next = monomial.multiply(variable);
+                if (!candidates.containsKey(next)) candidates.put(next, normalForm.multiply(new Polynomial(variable, sourceOrder)));
+            }
+        }
+
+        // 小さい順に見つかるので降順にする
+        Collections.reverse(newBasis);
+        return newBasis;
+    }
+
+    /**
+     * 単項式が新しい基底の先頭項で割り切れるか
+     * 
+     * @param monomial
+     * @param newBasis
+     * @return 割り切れればtrue
+     */
+    private boolean isDivisible(Monomial monomial, List<Polynomial> newBasis) {
+        for (Polynomial polynomial : newBasis) {
+            if (polynomial.leadingTerm().divides(monomial)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * 多項式を単項式 (係数は1) ごとの係数にする
+     * 
+     * @param polynomial
+     * @return 単項式ごとの係数 0の項は含まない
+     */
+    private HashMap<Monomial, Coefficient> toVector(Polynomial polynomial) {
+        HashMap<Monomial, Coefficient> vector = new HashMap<>();
+        if (polynomial.isZero()) return vector;
+        for (Monomial monomial : polynomial.getMonomialArray()) {
+            vector.put(monomial.withCoefficient(this.field.one()), monomial.coefficient());
+        }
+        return vector;
+    }
+
+    /**
+     * vector から (coefficient * val) を引く
+     * 
+     * @param vector
+     * @param coefficient
+     * @param val
+     */
+    private void subtractMultiple(HashMap<Monomial, Coefficient> vector, Coefficient coefficient, HashMap<Monomial, Coefficient> val) {
+        for (Entry<Monomial, Coefficient> entry : val.entrySet()) {
+            Coefficient value = vector.getOrDefault(entry.getKey(), this.field.zero()).subtract(coefficient.multiply(entry.getValue()));
+            if (value.isZero()) {
+                vector.remove(entry.getKey());
+            } else {
+                vector.put(entry.getKey(), value);
+            }
+        }
+    }
+
+    /**
+     * 多項式を定数倍する
+     * 
+     * @param polynomial
+     * @param coefficient
+     * @return coefficient * polynomial
+     */
+    private Polynomial scale(Polynomial polynomial, Coefficient coefficient) {
+        return polynomial.multiply(new Polynomial(Monomial.constant(coefficient, this.variableComparator), polynomial.getMonomialOrder()));
+    }
+
+}
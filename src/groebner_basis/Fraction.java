@@ -4,17 +4,42 @@ import java.math.BigInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-public class Fraction {
+public class Fraction implements Coefficient {
 
     /**
-     * 分子
+     * 0
      */
-    private BigInteger numerator;
+    public static final Fraction ZERO = new Fraction(0, 1);
 
     /**
-     * 分母
+     * 1
      */
-    private BigInteger denominator;
+    public static final Fraction ONE = new Fraction(1, 1);
+
+    /**
+     * -1
+     */
+    public static final Fraction MINUS_ONE = new Fraction(-1, 1);
+
+    /**
+     * 分子 longに収まらない時は使わない
+     */
+    private long numerator;
+
+    /**
+     * 分母 longに収まらない時は使わない
+     */
+    private long denominator;
+
+    /**
+     * longに収まらない時だけ使う分子 収まる時はnull
+     */
+    private BigInteger bigNumerator;
+
+    /**
+     * longに収まらない時だけ使う分母 収まる時はnull
+     */
+    private BigInteger bigDenominator;
 
     /**
      * コンストラクタ
@@ -23,9 +48,7 @@ public class Fraction {
      * @param denominator 分母
      */
     public Fraction(BigInteger numerator, BigInteger denominator) {
-        this.numerator = numerator;
-        this.setDenominator(denominator);
-        this.reduction();
+        this.setBigFraction(numerator, denominator);
     }
 
     /**
@@ -47,9 +70,45 @@ public class Fraction {
             // 分数の形でない時
             numerator = new BigInteger(value.toString());
         }
+        this.setBigFraction(numerator, denominator);
+    }
+
+    /**
+     * コンストラクタ 約分済みで分母が正、分子がLong.MIN_VALUEでないこと
+     * 
+     * @param numerator 分子
+     * @param denominator 分母
+     */
+    private Fraction(long numerator, long denominator) {
         this.numerator = numerator;
-        this.setDenominator(denominator);
-        this.reduction();
+        this.denominator = denominator;
+    }
+
+    /**
+     * 値が val である Fraction を返す
+     * 
+     * @param val
+     * @return val
+     */
+    public static Fraction valueOf(long val) {
+        return valueOf(val, 1);
+    }
+
+    /**
+     * 約分済みの分子・分母から Fraction を返す 0, 1, -1は定数を返す
+     * 
+     * @param numerator 分子
+     * @param denominator 正の分母
+     * @return numerator / denominator
+     */
+    static Fraction valueOf(long numerator, long denominator) {
+        if (numerator == Long.MIN_VALUE) return new Fraction(BigInteger.valueOf(numerator), BigInteger.valueOf(denominator));
+        if (denominator == 1) {
+            if (numerator == 0) return ZERO;
+            if (numerator == 1) return ONE;
+            if (numerator == -1) return MINUS_ONE;
+        }
+        return new Fraction(numerator, denominator);
     }
 
     /**
@@ -59,8 +118,12 @@ public class Fraction {
      */
     @Override
     public String toString() {
-        if (this.denominator.compareTo(BigInteger.ONE) == 0) return this.numerator.toString();
-        return this.numerator.toString() + "/" + this.denominator.toString();
+        if (this.bigNumerator == null) {
+            if (this.denominator == 1) return Long.toString(this.numerator);
+            return this.numerator + "/" + this.denominator;
+        }
+        if (this.bigDenominator.compareTo(BigInteger.ONE) == 0) return this.bigNumerator.toString();
+        return this.bigNumerator.toString() + "/" + this.bigDenominator.toString();
     }
 
     /**
@@ -68,8 +131,9 @@ public class Fraction {
      * 
      * @return 1ならtrue
      */
+    @Override
     public boolean isOne() {
-        return (this.numerator.compareTo(BigInteger.ONE) == 0 && this.denominator.compareTo(BigInteger.ONE) == 0);
+        return (this.bigNumerator == null && this.numerator == 1 && this.denominator == 1);
     }
 
     /**
@@ -77,8 +141,9 @@ public class Fraction {
      * 
      * @return 0ならtrue
      */
+    @Override
     public boolean isZero() {
-        return (this.numerator.compareTo(BigInteger.ZERO) == 0);
+        return (this.bigNumerator == null && this.numerator == 0);
     }
 
     /**
@@ -87,7 +152,7 @@ public class Fraction {
      * @return 分子
      */
     public BigInteger getNumerator() {
-        return new BigInteger(this.numerator.toString());
+        return (this.bigNumerator == null) ? BigInteger.valueOf(this.numerator) : this.bigNumerator;
     }
 
     /**
@@ -96,7 +161,34 @@ public class Fraction {
      * @return 分母
      */
     public BigInteger getDenominator() {
-        return new BigInteger(this.denominator.toString());
+        return (this.bigNumerator == null) ? BigInteger.valueOf(this.denominator) : this.bigDenominator;
+    }
+
+    /**
+     * 分子と分母がlongに収まるか
+     * 
+     * @return 収まればtrue (longNumerator(), longDenominator() が使える)
+     */
+    boolean fitsLong() {
+        return this.bigNumerator == null;
+    }
+
+    /**
+     * longに収まる分子を返す
+     * 
+     * @return 分子
+     */
+    long longNumerator() {
+        return this.numerator;
+    }
+
+    /**
+     * longに収まる分母を返す
+     * 
+     * @return 正の分母
+     */
+    long longDenominator() {
+        return this.denominator;
     }
 
     /**
@@ -104,8 +196,10 @@ public class Fraction {
      * 
      * @return -this
      */
+    @Override
     public Fraction negate() {
-        return new Fraction(this.numerator.negate(), this.denominator);
+        if (this.bigNumerator == null) return valueOf(-this.numerator, this.denominator);
+        return new Fraction(this.bigNumerator.negate(), this.bigDenominator);
     }
 
     /**
@@ -113,8 +207,9 @@ public class Fraction {
      * 
      * @return abs(this)
      */
+    @Override
     public Fraction abs() {
-        return new Fraction(this.numerator.abs(), this.denominator);
+        return (this.signum() < 0) ? this.negate() : this;
     }
 
     /**
@@ -122,8 +217,14 @@ public class Fraction {
      * 
      * @return 1 / this
      */
+    @Override
     public Fraction reciprocal() {
-        return new Fraction(this.denominator, this.numerator);
+        if (this.bigNumerator == null) {
+            if (this.numerator == 0) throw new Error("zeroDivideError");
+            return (this.numerator < 0) ? valueOf(-this.denominator, -this.numerator)
+                    : valueOf(this.denominator, this.numerator);
+        }
+        return new Fraction(this.bigDenominator, this.bigNumerator);
     }
 
     /**
@@ -133,7 +234,24 @@ public class Fraction {
      * @return this + val
      */
     public Fraction add(Fraction val) {
-        return new Fraction(this.numerator.multiply(val.denominator).add(val.numerator.multiply(this.denominator)), this.denominator.multiply(val.denominator));
+        if (this.bigNumerator == null && val.bigNumerator == null) {
+            if (this.numerator == 0) return val;
+            if (val.numerator == 0) return this;
+            try {
+                long numerator = Math.addExact(Math.multiplyExact(this.numerator, val.denominator), Math.multiplyExact(val.numerator, this.denominator));
+                long denominator = Math.multiplyExact(this.denominator, val.denominator);
+                long gcd = gcd(numerator, denominator);
+                return valueOf(numerator / gcd, denominator / gcd);
+            } catch (ArithmeticException e) {
+                // longに収まらなかったのでBigIntegerで計算する
+            }
+        }
+        return new Fraction(this.getNumerator().multiply(val.getDenominator()).add(val.getNumerator().multiply(this.getDenominator())), this.getDenominator().multiply(val.getDenominator()));
+    }
+
+    @Override
+    public Fraction add(Coefficient val) {
+        return this.add(cast(val));
     }
 
     /**
@@ -146,6 +264,11 @@ public class Fraction {
         return this.add(val.negate());
     }
 
+    @Override
+    public Fraction subtract(Coefficient val) {
+        return this.subtract(cast(val));
+    }
+
     /**
      * 値が (this * val) である Fraction を返す
      * 
@@ -153,7 +276,23 @@ public class Fraction {
      * @return this * val
      */
     public Fraction multiply(Fraction val) {
-        return new Fraction(this.numerator.multiply(val.numerator), this.denominator.multiply(val.denominator));
+        if (this.bigNumerator == null && val.bigNumerator == null) {
+            if (this.numerator == 0 || val.numerator == 0) return ZERO;
+            try {
+                // 先に約分しておけば結果は約分済み
+                long gcd1 = gcd(this.numerator, val.denominator);
+                long gcd2 = gcd(val.numerator, this.denominator);
+                return valueOf(Math.multiplyExact(this.numerator / gcd1, val.numerator / gcd2), Math.multiplyExact(this.denominator / gcd2, val.denominator / gcd1));
+            } catch (ArithmeticException e) {
+                // longに収まらなかったのでBigIntegerで計算する
+            }
+        }
+        return new Fraction(this.getNumerator().multiply(val.getNumerator()), this.getDenominator().multiply(val.getDenominator()));
+    }
+
+    @Override
+    public Fraction multiply(Coefficient val) {
+        return this.multiply(cast(val));
     }
 
     /**
@@ -163,7 +302,12 @@ public class Fraction {
      * @return this / val
      */
     public Fraction divide(Fraction val) {
-        return new Fraction(this.numerator.multiply(val.denominator), this.denominator.multiply(val.numerator));
+        return this.multiply(val.reciprocal());
+    }
+
+    @Override
+    public Fraction divide(Coefficient val) {
+        return this.divide(cast(val));
     }
 
     /**
@@ -171,16 +315,41 @@ public class Fraction {
      * 
      * @return この Fraction が負の場合は -1、ゼロの場合は 0、正の場合は 1
      */
+    @Override
     public int signum() {
-        return this.numerator.signum();
+        return (this.bigNumerator == null) ? Long.signum(this.numerator) : this.bigNumerator.signum();
+    }
+
+    @Override
+    public int bitLength() {
+        if (this.bigNumerator == null) {
+            return Math.max(64 - Long.numberOfLeadingZeros(Math.abs(this.numerator)), 64 - Long.numberOfLeadingZeros(this.denominator));
+        }
+        return Math.max(this.bigNumerator.bitLength(), this.bigDenominator.bitLength());
+    }
+
+    @Override
+    public RationalField field() {
+        return RationalField.INSTANCE;
+    }
+
+    /**
+     * 引数を Fraction として返す
+     * 
+     * @param val
+     * @return val Fraction でなければcoefficientFieldNotMatchError
+     */
+    private static Fraction cast(Coefficient val) {
+        if (!(val instanceof Fraction)) throw new Error("coefficientFieldNotMatchError");
+        return (Fraction) val;
     }
 
     @Override
     public int hashCode() {
         final int prime = 31;
         int result = 1;
-        result = prime * result + ((denominator == null) ? 0 : denominator.hashCode());
-        result = prime * result + ((numerator == null) ? 0 : numerator.hashCode());
+        result = prime * result + ((bigDenominator == null) ? Long.hashCode(denominator) : bigDenominator.hashCode());
+        result = prime * result + ((bigNumerator == null) ? Long.hashCode(numerator) : bigNumerator.hashCode());
         return result;
     }
 
@@ -190,40 +359,60 @@ public class Fraction {
         if (obj == null) return false;
         if (!(obj instanceof Fraction)) return false;
         Fraction other = (Fraction) obj;
-        if (denominator == null) {
-            if (other.denominator != null) return false;
-        } else if (!denominator.equals(other.denominator)) return false;
-        if (numerator == null) {
-            if (other.numerator != null) return false;
-        } else if (!numerator.equals(other.numerator)) return false;
-        return true;
+        // longに収まるかどうかは値で決まるので表現が違えば値も違う
+        if (bigNumerator == null) {
+            return other.bigNumerator == null && numerator == other.numerator && denominator == other.denominator;
+        }
+        return bigNumerator.equals(other.bigNumerator) && bigDenominator.equals(other.bigDenominator);
     }
 
     /**
-     * インスタンス変数の分母をセットする
+     * 分子・分母をセットして約分する longに収まるならlongで持つ
      * 
-     * @param denominator セットする分母
+     * @param numerator 分子
+     * @param denominator 分母
      */
-    private void setDenominator(BigInteger denominator) {
-        switch (denominator.compareTo(BigInteger.ZERO)) {
+    private void setBigFraction(BigInteger numerator, BigInteger denominator) {
+        switch (denominator.signum()) {
         case 0:
             throw new Error("zeroDivideError");
         case -1:
-            denominator = denominator.abs();
-            this.numerator = this.numerator.negate();
+            denominator = denominator.negate();
+            numerator = numerator.negate();
         default:
             break;
         }
-        this.denominator = denominator;
+        // 約分する
+        Metrics.increment(Metrics.Counter.FRACTION_GCD);
+        BigInteger gcd = numerator.gcd(denominator);
+        numerator = numerator.divide(gcd);
+        denominator = denominator.divide(gcd);
+
+        if (numerator.bitLength() < Long.SIZE && denominator.bitLength() < Long.SIZE && numerator.longValue() != Long.MIN_VALUE) {
+            this.numerator = numerator.longValue();
+            this.denominator = denominator.longValue();
+            return;
+        }
+        this.bigNumerator = numerator;
+        this.bigDenominator = denominator;
     }
 
     /**
-     * 自分自身の約分を行う
+     * 最大公約数を返す
+     * 
+     * @param a
+     * @param b 正の数
+     * @return gcd(a, b) aがLong.MIN_VALUEの時はArithmeticException
      */
-    private void reduction() {
-        BigInteger gcd = this.numerator.gcd(this.denominator);
-        this.numerator = this.numerator.divide(gcd);
-        this.denominator = this.denominator.divide(gcd);
+    private static long gcd(long a, long b) {
+        Metrics.increment(Metrics.Counter.FRACTION_GCD);
+        a = Math.absExact(a);
+        while (a != 0) {
+            long r = b % a;
+            b = a;
+            a = r;
+        }
+        return b;
     }
 
 }
@@ -0,0 +1,241 @@
+package groebner_basis;
+
+import java.util.Arrays;
+
+import groebner_basis.monomial_order.MonomialOrder;
+
+/**
+ * 割り算・S多項式の簡約で (this - m * g) を繰り返すための多項式の入れ物 (geobucket)
+ * i番目のバケツは 4^(i+1) 個までの単項式を持ち、あふれたら上のバケツに併合する
+ * 先頭項はすべてのバケツの先頭を比べて必要になった時に求める
+ */
+class GeoBucket {
+
+    /**
+     * 1つ目のバケツの大きさ
+     */
+    private static final int FIRST_CAPACITY = 4;
+
+    /**
+     * バケツの大きさの倍率
+     */
+    private static final int RATIO = 4;
+
+    /**
+     * バケツごとの単項式 start から end までを単項式順序の降順で持つ
+     */
+    private Monomial[][] buckets = new Monomial[0][];
+
+    /**
+     * バケツごとの先頭の位置
+     */
+    private int[] starts = new int[0];
+
+    /**
+     * バケツごとの末尾の位置 (含まない)
+     */
+    private int[] ends = new int[0];
+
+    /**
+     * leadingTerm() で求めた先頭項があるバケツ 未計算なら-1
+     */
+    private int leadingBucket = -1;
+
+    /**
+     * 単項式の順序
+     */
+    private MonomialOrder monomialOrder;
+
+    /**
+     * コンストラクタ
+     * 
+     * @param polynomial 初期値
+     */
+    GeoBucket(Polynomial polynomial) {
+        this.monomialOrder = polynomial.getMonomialOrder();
+        if (!polynomial.isZero()) {
+            Monomial[] monomials = polynomial.getMonomialArray();
+            this.add(Arrays.copyOf(monomials, monomials.length));
+        }
+    }
+
+    /**
+     * this から (term * val) を引く val の先頭項は term 倍すると this の先頭項と打ち消しあうので
+     * pollLeadingTerm() で先頭項を取り除いてから呼ぶ
+     * 
+     * @param term
+     * @param val
+     * @param skipLeadingTerm trueなら val の先頭項は引かない
+     */
+    void subtractMultiple(Monomial term, Polynomial val, boolean skipLeadingTerm) {
+        Monomial[] valMonomials = val.getMonomialArray();
+        int offset = skipLeadingTerm ? 1 : 0;
+        if (valMonomials.length <= offset || val.isZero()) return;
+
+        // 単項式を掛けても順序は変わらないので並び替えは要らない
+        Monomial negated = term.negate();
+        Monomial[] monomials = new Monomial[valMonomials.length - offset];
+        for (int i = 0; i < monomials.length; i++) {
+            monomials[i] = negated.multiply(valMonomials[i + offset]);
+        }
+        this.add(monomials);
+    }
+
+    /**
+     * 並び替え済みの単項式をバケツに入れる
+     * 
+     * @param monomials 単項式順序の降順に並んだ0でない単項式 呼び出し側で共有しないこと
+     */
+    private void add(Monomial[] monomials) {
+        this.leadingBucket = -1;
+
+        int length = monomials.length;
+        int index = 0;
+        for (long capacity = FIRST_CAPACITY; capacity < length; capacity *= RATIO) {
+            index++;
+        }
+
+        int start = 0;
+        int end = length;
+        while (true) {
+            this.ensureBucket(index);
+            if (this.starts[index] != this.ends[index]) {
+                monomials = this.merge(this.buckets[index], this.starts[index], this.ends[index], monomials, start, end);
+                start = 0;
+                end = monomials.length;
+                this.buckets[index] = null;
+                this.starts[index] = 0;
+                this.ends[index] = 0;
+            }
+            // あふれたら上のバケツに併合する
+            if (end - start <= capacity(index)) break;
+            index++;
+        }
+        this.buckets[index] = monomials;
+        this.starts[index] = start;
+        this.ends[index] = end;
+    }
+
+    /**
+     * index 番目のバケツの大きさを返す
+     * 
+     * @param index
+     * @return 4^(index+1)
+     */
+    private static long capacity(int index) {
+        long capacity = FIRST_CAPACITY;
+        for (int i = 0; i < index && capacity < Integer.MAX_VALUE; i++) {
+            capacity *= RATIO;
+        }
+        return capacity;
+    }
+
+    /**
+     * index 番目のバケツまで使えるようにする
+     * 
+     * @param index
+     */
+    private void ensureBucket(int index) {
+        if (index < this.buckets.length) return;
+        this.buckets = Arrays.copyOf(this.buckets, index + 1);
+        this.starts = Arrays.copyOf(this.starts, index + 1);
+        this.ends = Arrays.copyOf(this.ends, index + 1);
+    }
+
+    /**
+     * 並び替え済みの2つの単項式の列を併合する
+     * 
+     * @return 併合した単項式の列 (0は含まない)
+     */
+    private Monomial[] merge(Monomial[] a, int aStart, int aEnd, Monomial[] b, int bStart, int bEnd) {
+        Monomial[] monomials = new Monomial[(aEnd - aStart) + (bEnd - bStart)];
+        int size = 0;
+        int i = aStart;
+        int j = bStart;
+        while (i < aEnd && j < bEnd) {
+            int compared = this.monomialOrder.compare(a[i], b[j]);
+            if (compared < 0) {
+                monomials[size++] = a[i++];
+            } else if (compared > 0) {
+                monomials[size++] = b[j++];
+            } else {
+                Monomial monomial = a[i++].add(b[j++]);
+                // 0なら入れない
+                if (!monomial.isZero()) monomials[size++] = monomial;
+            }
+        }
+        while (i < aEnd) {
+            monomials[size++] = a[i++];
+        }
+        while (j < bEnd) {
+            monomials[size++] = b[j++];
+        }
+        return (size == monomials.length) ? monomials : Arrays.copyOf(monomials, size);
+    }
+
+    /**
+     * 先頭項を返す 同じ変数・指数の各バケツの先頭はたし合わせて1つのバケツに集める
+     * 
+     * @return 先頭項 0ならnull
+     */
+    Monomial leadingTerm() {
+        if (this.leadingBucket != -1) return this.buckets[this.leadingBucket][this.starts[this.leadingBucket]];
+
+        while (true) {
+            int leading = -1;
+            boolean cancelled = false;
+            for (int i = 0; i < this.buckets.length && !cancelled; i++) {
+                if (this.starts[i] == this.ends[i]) continue;
+                if (leading == -1) {
+                    leading = i;
+                    continue;
+                }
+
+                Monomial monomial = this.buckets[i][this.starts[i]];
+                int compared = this.monomialOrder.compare(monomial, this.buckets[leading][this.starts[leading]]);
+                if (compared < 0) {
+                    leading = i;
+                } else if (compared == 0) {
+                    Monomial sum = this.buckets[leading][this.starts[leading]].add(monomial);
+                    this.starts[i]++;
+                    // 0の単項式は変数を持たず順序が崩れるので、バケツに残さずにもう一度探す
+                    if (sum.isZero()) {
+                        this.starts[leading]++;
+                        cancelled = true;
+                    } else {
+                        this.buckets[leading][this.starts[leading]] = sum;
+                    }
+                }
+            }
+            if (cancelled) continue;
+            if (leading == -1) return null;
+
+            this.leadingBucket = leading;
+            return this.buckets[leading][this.starts[leading]];
+        }
+    }
+
+    /**
+     * 先頭項を取り除いて返す
+     * 
+     * @return 先頭項 0ならnull
+     */
+    Monomial pollLeadingTerm() {
+        Monomial leadingTerm = this.leadingTerm();
+        if (leadingTerm != null) {
+            this.starts[this.leadingBucket]++;
+            this.leadingBucket = -1;
+        }
+        return leadingTerm;
+    }
+
+    /**
+     * 0かどうか
+     * 
+     * @return 0ならtrue
+     */
+    boolean isZero() {
+        return this.leadingTerm() == null;
+    }
+
+}
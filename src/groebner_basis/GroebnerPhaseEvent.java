@@ -0,0 +1,41 @@
+package groebner_basis;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * グレブナ基底の計算の段階ごとの JFR イベント 記録していない時はほとんど費用がかからない
+ */
+@Name("groebner_basis.Phase")
+@Label("Groebner Basis Phase")
+@Category("Groebner Basis")
+@Description("A phase of a Groebner basis computation")
+class GroebnerPhaseEvent extends Event {
+
+    /**
+     * 組の処理
+     */
+    static final String PAIRS = "pairs";
+
+    /**
+     * グレブナ基底の簡約
+     */
+    static final String INTERREDUCTION = "interreduction";
+
+    @Label("Phase")
+    String phase;
+
+    @Label("Processed Pairs")
+    long processedPairs;
+
+    @Label("Basis Size")
+    int basisSize;
+
+    GroebnerPhaseEvent(String phase) {
+        this.phase = phase;
+    }
+
+}
@@ -0,0 +1,101 @@
+package groebner_basis;
+
+/**
+ * グレブナ基底の計算の途中経過
+ */
+public class GroebnerProgress {
+
+    /**
+     * 処理した組の数
+     */
+    private final long processedPairs;
+
+    /**
+     * 残っている組の数
+     */
+    private final int remainingPairs;
+
+    /**
+     * 最後に処理した組の次数 (sugar)
+     */
+    private final long degree;
+
+    /**
+     * 基底の元の数
+     */
+    private final int basisSize;
+
+    /**
+     * 基底の係数の最大のビット数
+     */
+    private final int maxCoefficientBitLength;
+
+    /**
+     * コンストラクタ
+     * 
+     * @param processedPairs 処理した組の数
+     * @param remainingPairs 残っている組の数
+     * @param degree 最後に処理した組の次数 (sugar)
+     * @param basisSize 基底の元の数
+     * @param maxCoefficientBitLength 基底の係数の最大のビット数
+     */
+    GroebnerProgress(long processedPairs, int remainingPairs, long degree, int basisSize, int maxCoefficientBitLength) {
+        this.processedPairs = processedPairs;
+        this.remainingPairs = remainingPairs;
+        this.degree = degree;
+        this.basisSize = basisSize;
+        this.maxCoefficientBitLength = maxCoefficientBitLength;
+    }
+
+    /**
+     * 処理した組の数を返す
+     * 
+     * @return 処理した組の数
+     */
+    public long getProcessedPairs() {
+        return this.processedPairs;
+    }
+
+    /**
+     * 残っている組の数を返す
+     * 
+     * @return 残っている組の数
+     */
+    public int getRemainingPairs() {
+        return this.remainingPairs;
+    }
+
+    /**
+     * 最後に処理した組の次数 (sugar) を返す
+     * 
+     * @return 次数
+     */
+    public long getDegree() {
+        return this.degree;
+    }
+
+    /**
+     * 基底の元の数を返す
+     * 
+     * @return 基底の元の数
+     */
+    public int getBasisSize() {
+        return this.basisSize;
+    }
+
+    /**
+     * 基底の係数の最大のビット数を返す
+     * 
+     * @return 係数の最大のビット数
+     */
+    public int getMaxCoefficientBitLength() {
+        return this.maxCoefficientBitLength;
+    }
+
+    @Override
+    public String toString() {
+        return "processed=" + this.processedPairs + ", remaining=" + this.remainingPairs + ", degree=" + this.degree + ", basis=" + this.basisSize
+                + ", bits=" + this.maxCoefficientBitLength;
+    }
+
+}
@@ -0,0 +1,264 @@
+package groebner_basis;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import groebner_basis.monomial_order.GrevlexOrder;
+import groebner_basis.monomial_order.GrlexOrder;
+import groebner_basis.monomial_order.LexOrder;
+import groebner_basis.monomial_order.MonomialOrder;
+import groebner_basis.monomial_order.WeightOrder;
+
+/**
+ * グレブナウォークでグレブナ基底を別の単項式順序のグレブナ基底に変換する
+ * 元の順序の重み w_s から変換先の順序の重み w_t への線分上で、基底の先頭項が変わる重みごとに
+ * 始形式の Ideal のグレブナ基底を求めて持ち上げる (0次元でなくてもよい)
+ */
+class GroebnerWalk {
+
+    /**
+     * 元の順序の簡約グレブナ基底
+     */
+    private List<Polynomial> groebnerBasis;
+
+    /**
+     * 変換先の単項式順序
+     */
+    private MonomialOrder monomialOrder;
+
+    /**
+     * 各段階の記録
+     */
+    private WalkStatistics statistics;
+
+    /**
+     * コンストラクタ
+     * 
+     * @param groebnerBasis 元の順序の簡約グレブナ基底
+     * @param monomialOrder 変換先の単項式順序
+     * @param statistics 各段階の記録
+     */
+    GroebnerWalk(List<Polynomial> groebnerBasis, MonomialOrder monomialOrder, WalkStatistics statistics) {
+        if (groebnerBasis.isEmpty()) throw new Error("emptyGroebnerBasisError");
+        this.groebnerBasis = groebnerBasis;
+        this.monomialOrder = monomialOrder;
+        this.statistics = statistics;
+    }
+
+    /**
+     * 変換先の順序の簡約グレブナ基底を返す
+     * 
+     * @return 先頭項の降順に並んだ簡約グレブナ基底
+     */
+    List<Polynomial> groebnerBasis() {
+        MonomialOrder currentOrder = this.groebnerBasis.get(0).getMonomialOrder();
+        if (currentOrder.equals(this.monomialOrder)) return this.groebnerBasis;
+
+        int size = this.groebnerBasis.get(0).getVariableComparator().size();
+        List<BigInteger> currentWeights = weights(currentOrder, size, null);
+        List<Polynomial> groebnerBasis = this.groebnerBasis;
+
+        // lex は重みの差が大きい重みで近似し、先頭項が lex と一致しなければ差を広げて続ける
+        BigInteger base = maxDegree(groebnerBasis).add(BigInteger.ONE);
+        while (true) {
+            List<BigInteger> targetWeights = weights(this.monomialOrder, size, base);
+
+            boolean last = false;
+            while (!last) {
+                long start = System.nanoTime();
+
+                // 先頭項が変わる線分上の最初の点 見つからなければ w_t まで進む
+                Fraction t = nextPoint(groebnerBasis, currentWeights, targetWeights);
+                if (t == null || t.isOne()) {
+                    t = Fraction.ONE;
+                    last = true;
+                }
+                List<BigInteger> weights = interpolate(currentWeights, targetWeights, t);
+                MonomialOrder order = new WeightOrder(weights, this.monomialOrder);
+                groebnerBasis = step(groebnerBasis, currentOrder, weights, order);
+                currentOrder = order;
+                currentWeights = weights;
+
+                this.statistics.addStep(System.nanoTime() - start);
+            }
+
+            if (this.isMarked(groebnerBasis)) break;
+            base = base.shiftLeft(1).max(maxDegree(groebnerBasis).add(BigInteger.ONE));
+        }
+
+        List<Polynomial> result = new ArrayList<>(groebnerBasis.size());
+        for (Polynomial polynomial : groebnerBasis) {
+            result.add(polynomial.toMonomialOrder(this.monomialOrder));
+        }
+        return Ideal.reduceGroebnerBasis(result);
+    }
+
+    /**
+     * 重み weights での始形式の Ideal のグレブナ基底を求め、元の基底に持ち上げる
+     * 
+     * @param groebnerBasis 現在の順序の簡約グレブナ基底
+     * @param currentOrder 現在の順序
+     * @param weights 線分上の重み
+     * @param order 次の順序 (weights で比べた後に変換先の順序で比べる)
+     * @return 次の順序の簡約グレブナ基底
+     */
+    private static List<Polynomial> step(List<Polynomial> groebnerBasis, MonomialOrder currentOrder, List<BigInteger> weights, MonomialOrder order) {
+        // 始形式の Ideal の次の順序でのグレブナ基底
+        WeightOrder weightOrder = new WeightOrder(weights, currentOrder);
+        List<Polynomial> initialForms = new ArrayList<>(groebnerBasis.size());
+        for (Polynomial polynomial : groebnerBasis) {
+            initialForms.add(initialForm(polynomial, weightOrder));
+        }
+        List<Polynomial> initialBasis = new Ideal(initialForms).toMonomialOrder(order).groebnerBasis();
+
+        // 始形式での表し方を元の基底に持ち上げる
+        List<Polynomial> lifted = new ArrayList<>(initialBasis.size());
+        for (Polynomial polynomial : initialBasis) {
+            List<Polynomial> quotients = polynomial.toMonomialOrder(currentOrder).divideAndRemainder(initialForms).get(0);
+            Polynomial sum = null;
+            for (int i = 0; i < quotients.size(); i++) {
+                if (quotients.get(i).isZero()) continue;
+                Polynomial product = quotients.get(i).multiply(groebnerBasis.get(i));
+                sum = (sum == null) ? product : sum.add(product);
+            }
+            lifted.add(sum.toMonomialOrder(order));
+        }
+        return Ideal.reduceGroebnerBasis(lifted);
+    }
+
+    /**
+     * 基底の先頭項が変換先の順序での先頭項と一致するか
+     * 一致すれば、グレブナ基底であることは先頭項の選び方だけで決まるので変換先の順序でもグレブナ基底になる
+     * 
+     * @param groebnerBasis
+     * @return 一致すればtrue
+     */
+    private boolean isMarked(List<Polynomial> groebnerBasis) {
+        for (Polynomial polynomial : groebnerBasis) {
+            if (!polynomial.toMonomialOrder(this.monomialOrder).leadingTerm().equals(polynomial.leadingTerm())) return false;
+        }
+        return true;
+    }
+
+    /**
+     * 基底の項の次数の最大値を返す
+     * 
+     * @param groebnerBasis
+     * @return 次数の最大値
+     */
+    private static BigInteger maxDegree(List<Polynomial> groebnerBasis) {
+        BigInteger max = BigInteger.ZERO;
+        for (Polynomial polynomial : groebnerBasis) {
+            for (Monomial monomial : polynomial.getMonomialArray()) {
+                max = max.max(monomial.degree());
+            }
+        }
+        return max;
+    }
+
+    /**
+     * 単項式順序を、重みで比べた後に同じ順序で比べる順序とみなした時の重みを返す
+     * lex は (1, 0, ..., 0)、base があれば (base^(n-1), ..., base, 1) で近似する
+     * 
+     * @param monomialOrder
+     * @param size 変数の数
+     * @param base lex の重みの比 null なら近似しない
+     * @return 重み
+     */
+    private static List<BigInteger> weights(MonomialOrder monomialOrder, int size, BigInteger base) {
+        if (monomialOrder instanceof WeightOrder) return ((WeightOrder) monomialOrder).getWeights();
+        if (monomialOrder instanceof GrevlexOrder || monomialOrder instanceof GrlexOrder) return new ArrayList<>(Collections.nCopies(size, BigInteger.ONE));
+        if (monomialOrder instanceof LexOrder) {
+            List<BigInteger> weights = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                if (base == null) {
+                    weights.add((i == 0) ? BigInteger.ONE : BigInteger.ZERO);
+                } else {
+                    weights.add(base.pow(size - 1 - i));
+                }
+            }
+            return weights;
+        }
+        throw new Error("unsupportedMonomialOrderError");
+    }
+
+    /**
+     * 重み w(t) = (1 - t) * currentWeights + t * targetWeights で、ある元の先頭項と他の項の重みが等しくなる最小の t を返す
+     * 
+     * @param groebnerBasis
+     * @param currentWeights
+     * @param targetWeights
+     * @return 0以上1以下の t なければnull
+     */
+    private static Fraction nextPoint(List<Polynomial> groebnerBasis, List<BigInteger> currentWeights, List<BigInteger> targetWeights) {
+        Fraction next = null;
+        for (Polynomial polynomial : groebnerBasis) {
+            Monomial[] monomials = polynomial.getMonomialArray();
+            List<BigInteger> leadingDegree = monomials[0].multiDegree();
+            for (int i = 1; i < monomials.length; i++) {
+                List<BigInteger> degree = monomials[i].multiDegree();
+                BigInteger current = BigInteger.ZERO;
+                BigInteger target = BigInteger.ZERO;
+                for (int j = 0; j < degree.size(); j++) {
+                    BigInteger difference = leadingDegree.get(j).subtract(degree.get(j));
+                    current = current.add(currentWeights.get(j).multiply(difference));
+                    target = target.add(targetWeights.get(j).multiply(difference));
+                }
+                // w_t では先頭項でなくなる項だけ
+                if (target.signum() >= 0) continue;
+                Fraction t = new Fraction(current, current.subtract(target));
+                if (next == null || t.subtract(next).signum() < 0) next = t;
+            }
+        }
+        return next;
+    }
+
+    /**
+     * (1 - t) * currentWeights + t * targetWeights を整数にして返す
+     * 
+     * @param currentWeights
+     * @param targetWeights
+     * @param t
+     * @return 正の定数倍した重み
+     */
+    private static List<BigInteger> interpolate(List<BigInteger> currentWeights, List<BigInteger> targetWeights, Fraction t) {
+        BigInteger numerator = t.getNumerator();
+        BigInteger denominator = t.getDenominator();
+        List<BigInteger> weights = new ArrayList<>(currentWeights.size());
+        BigInteger gcd = BigInteger.ZERO;
+        for (int i = 0; i < currentWeights.size(); i++) {
+            BigInteger weight = denominator.subtract(numerator).multiply(currentWeights.get(i)).add(numerator.multiply(targetWeights.get(i)));
+            weights.add(weight);
+            gcd = gcd.gcd(weight);
+        }
+        if (gcd.signum() == 0 || gcd.equals(BigInteger.ONE)) return weights;
+        for (int i = 0; i < weights.size(); i++) {
+            weights.set(i, weights.get(i).divide(gcd));
+        }
+        return weights;
+    }
+
+    /**
+     * 重みが最大の項だけを残した多項式 (始形式) を返す
+     * 
+     * @param polynomial
+     * @param weightOrder
+     * @return 始形式
+     */
+    private static Polynomial initialForm(Polynomial polynomial, WeightOrder weightOrder) {
+        Monomial[] monomials = polynomial.getMonomialArray();
+        BigInteger max = null;
+        for (Monomial monomial : monomials) {
+            BigInteger weight = weightOrder.weight(monomial);
+            if (max == null || weight.compareTo(max) > 0) max = weight;
+        }
+        List<Monomial> initialForm = new ArrayList<>();
+        for (Monomial monomial : monomials) {
+            if (weightOrder.weight(monomial).equals(max)) initialForm.add(monomial);
+        }
+        return new Polynomial(initialForm, polynomial.getMonomialOrder());
+    }
+
+}
@@ -0,0 +1,254 @@
+package groebner_basis;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 単項式 Ideal I に対する R/I の Hilbert 級数 N(t) / (1-t)^n
+ * 斉次 Ideal なら先頭項の Ideal と R/I の Hilbert 級数は一致する
+ */
+public class HilbertSeries {
+
+    /**
+     * 分子 N(t) の係数 (次数の低い順、末尾は0でない)
+     */
+    private List<BigInteger> numerator;
+
+    /**
+     * 変数の数 n
+     */
+    private int variables;
+
+    /**
+     * コンストラクタ
+     * 
+     * @param numerator 分子の係数 (次数の低い順)
+     * @param variables 変数の数
+     */
+    public HilbertSeries(List<BigInteger> numerator, int variables) {
+        this.numerator = trim(new ArrayList<>(numerator));
+        this.variables = variables;
+    }
+
+    /**
+     * 単項式で生成される Ideal I に対する R/I の Hilbert 級数を返す
+     * 
+     * @param generators 生成元の単項式 (係数は無視する)
+     * @param variables 変数の数
+     * @return Hilbert 級数
+     */
+    public static HilbertSeries of(List<Monomial> generators, int variables) {
+        List<int[]> exponents = new ArrayList<>(generators.size());
+        for (Monomial generator : generators) {
+            if (generator.isZero()) continue;
+            List<BigInteger> multiDegree = generator.multiDegree();
+            int[] exponent = new int[variables];
+            for (int i = 0; i < variables; i++) {
+                exponent[i] = multiDegree.get(i).intValueExact();
+            }
+            exponents.add(exponent);
+        }
+        return new HilbertSeries(numerator(exponents, variables), variables);
+    }
+
+    /**
+     * 分子を再帰的に求める 変数 x と単項式 p = x^e について N(I) = N(I + (p)) + t^e N(I : p)
+     * 
+     * @param generators 生成元の指数
+     * @param variables 変数の数
+     * @return 分子の係数
+     */
+    private static List<BigInteger> numerator(List<int[]> generators, int variables) {
+        generators = minimalize(generators);
+        if (generators.isEmpty()) return new ArrayList<>(Arrays.asList(BigInteger.ONE));
+
+        // 変数ごとに含む生成元の数を数える 互いに素なら (1 - t^deg) の積
+        int[] counts = new int[variables];
+        for (int[] generator : generators) {
+            for (int i = 0; i < variables; i++) {
+                if (generator[i] > 0) counts[i]++;
+            }
+        }
+        int pivot = 0;
+        for (int i = 1; i < variables; i++) {
+            if (counts[i] > counts[pivot]) pivot = i;
+        }
+        if (counts[pivot] <= 1) {
+            List<BigInteger> numerator = new ArrayList<>(Arrays.asList(BigInteger.ONE));
+            for (int[] generator : generators) {
+                numerator = subtract(numerator, shift(numerator, degree(generator)));
+            }
+            return numerator;
+        }
+
+        // 一番多くの生成元に現れる変数の、現れる中で最小の指数で分ける
+        int exponent = Integer.MAX_VALUE;
+        for (int[] generator : generators) {
+            if (generator[pivot] > 0) exponent = Math.min(exponent, generator[pivot]);
+        }
+        List<int[]> sum = new ArrayList<>(generators.size() + 1);
+        List<int[]> quotient = new ArrayList<>(generators.size());
+        for (int[] generator : generators) {
+            sum.add(generator);
+            int[] divided = generator.clone();
+            divided[pivot] = Math.max(0, divided[pivot] - exponent);
+            quotient.add(divided);
+        }
+        int[] power = new int[variables];
+        power[pivot] = exponent;
+        sum.add(power);
+
+        return add(numerator(sum, variables), shift(numerator(quotient, variables), exponent));
+    }
+
+    /**
+     * 他の生成元で割り切れる生成元を取り除く
+     * 
+     * @param generators
+     * @return 極小な生成元
+     */
+    private static List<int[]> minimalize(List<int[]> generators) {
+        List<int[]> sorted = new ArrayList<>(generators);
+        sorted.sort((o1, o2) -> Integer.compare(degree(o1), degree(o2)));
+        List<int[]> minimal = new ArrayList<>(sorted.size());
+        for (int[] generator : sorted) {
+            boolean divided = false;
+            for (int i = 0; i < minimal.size() && !divided; i++) {
+                divided = divides(minimal.get(i), generator);
+            }
+            if (!divided) minimal.add(generator);
+        }
+        return minimal;
+    }
+
+    private static boolean divides(int[] a, int[] b) {
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] > b[i]) return false;
+        }
+        return true;
+    }
+
+    private static int degree(int[] exponents) {
+        int degree = 0;
+        for (int exponent : exponents) {
+            degree += exponent;
+        }
+        return degree;
+    }
+
+    private static List<BigInteger> add(List<BigInteger> a, List<BigInteger> b) {
+        List<BigInteger> sum = new ArrayList<>(Math.max(a.size(), b.size()));
+        for (int i = 0; i < Math.max(a.size(), b.size()); i++) {
+            sum.add(((i < a.size()) ? a.get(i) : BigInteger.ZERO).add((i < b.size()) ? b.get(i) : BigInteger.ZERO));
+        }
+        return trim(sum);
+    }
+
+    private static List<BigInteger> subtract(List<BigInteger> a, List<BigInteger> b) {
+        List<BigInteger> negated = new ArrayList<>(b.size());
+        for (BigInteger coefficient : b) {
+            negated.add(coefficient.negate());
+        }
+        return add(a, negated);
+    }
+
+    /**
+     * t^degree 倍する
+     */
+    private static List<BigInteger> shift(List<BigInteger> a, int degree) {
+        List<BigInteger> shifted = new ArrayList<>(a.size() + degree);
+        for (int i = 0; i < degree; i++) {
+            shifted.add(BigInteger.ZERO);
+        }
+        shifted.addAll(a);
+        return shifted;
+    }
+
+    /**
+     * 末尾の0を取り除く
+     */
+    private static List<BigInteger> trim(List<BigInteger> a) {
+        while (!a.isEmpty() && a.get(a.size() - 1).signum() == 0) {
+            a.remove(a.size() - 1);
+        }
+        return a;
+    }
+
+    /**
+     * degree 次の部分の次元 (Hilbert 関数の値) を返す
+     * 
+     * @param degree 次数
+     * @return t^degree の係数
+     */
+    public BigInteger coefficient(int degree) {
+        // 1 / (1-t)^n の t^k の係数は C(k+n-1, n-1)
+        BigInteger coefficient = BigInteger.ZERO;
+        for (int i = 0; i < this.numerator.size() && i <= degree; i++) {
+            coefficient = coefficient.add(this.numerator.get(i).multiply(binomial(degree - i + this.variables - 1, this.variables - 1)));
+        }
+        return coefficient;
+    }
+
+    private static BigInteger binomial(int n, int k) {
+        if (k < 0) return (n == -1) ? BigInteger.ONE : BigInteger.ZERO;
+        BigInteger binomial = BigInteger.ONE;
+        for (int i = 0; i < k; i++) {
+            binomial = binomial.multiply(BigInteger.valueOf(n - i)).divide(BigInteger.valueOf(i + 1));
+        }
+        return binomial;
+    }
+
+    /**
+     * 分子の係数を返す
+     * 
+     * @return 分子 N(t) の係数 (次数の低い順)
+     */
+    public List<BigInteger> getNumerator() {
+        return new ArrayList<>(this.numerator);
+    }
+
+    /**
+     * 変数の数を返す
+     * 
+     * @return 変数の数
+     */
+    public int getVariables() {
+        return this.variables;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder numerator = new StringBuilder();
+        for (int i = 0; i < this.numerator.size(); i++) {
+            BigInteger coefficient = this.numerator.get(i);
+            if (coefficient.signum() == 0) continue;
+            if (coefficient.signum() > 0 && numerator.length() > 0) numerator.append("+");
+            if (i == 0 || coefficient.abs().compareTo(BigInteger.ONE) != 0) {
+                numerator.append(coefficient);
+            } else if (coefficient.signum() < 0) {
+                numerator.append("-");
+            }
+            if (i > 0) numerator.append("t");
+            if (i > 1) numerator.append("^").append(i);
+        }
+        if (numerator.length() == 0) numerator.append("0");
+        return "(" + numerator + ")/(1-t)^" + this.variables;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * this.numerator.hashCode() + this.variables;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null) return false;
+        if (!(obj instanceof HilbertSeries)) return false;
+        HilbertSeries other = (HilbertSeries) obj;
+        return this.variables == other.variables && this.numerator.equals(other.numerator);
+    }
+
+}
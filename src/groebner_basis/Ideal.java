@@ -1,10 +1,15 @@
 package groebner_basis;
 
-import java.util.AbstractMap;
-import java.util.LinkedHashMap;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.Map.Entry;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import groebner_basis.monomial_order.MonomialOrder;
 
 public class Ideal {
 
@@ -26,16 +31,96 @@ public class Ideal {
         this.basicPolynomials = new LinkedList<>(basicPolynomials);
     }
 
+    /**
+     * 生成元の係数を引数の体に変換した Ideal を返す 係数は Fraction であること
+     * 
+     * @param field 係数体
+     * @return 係数を変換した Ideal
+     */
+    public Ideal toCoefficientField(CoefficientField field) {
+        List<Polynomial> basicPolynomials = new LinkedList<>();
+        for (Polynomial polynomial : this.basicPolynomials) {
+            basicPolynomials.add(polynomial.toCoefficientField(field));
+        }
+        return new Ideal(basicPolynomials);
+    }
+
+    /**
+     * 生成元の単項式順序を引数の順序に変えた Ideal を返す
+     * 
+     * @param monomialOrder 単項式順序
+     * @return 単項式順序を変えた Ideal
+     */
+    public Ideal toMonomialOrder(MonomialOrder monomialOrder) {
+        List<Polynomial> basicPolynomials = new LinkedList<>();
+        for (Polynomial polynomial : this.basicPolynomials) {
+            basicPolynomials.add(polynomial.toMonomialOrder(monomialOrder));
+        }
+        return new Ideal(basicPolynomials);
+    }
+
     /**
      * この Ideal のグレブナ基底を返す
      * 
      * @return この Ideal のグレブナ基底
      */
     public List<Polynomial> groebnerBasis() {
+        return this.groebnerBasis(PairSelectionStrategy.SUGAR);
+    }
+
+    /**
+     * この Ideal のグレブナ基底を返す
+     * 
+     * @param strategy 組の選択戦略
+     * @return この Ideal のグレブナ基底
+     */
+    public List<Polynomial> groebnerBasis(PairSelectionStrategy strategy) {
         // グレブナ基底の計算
-        List<Polynomial> groebnerBasis = this.upgradeGroebnerBasisMethod();
+        List<Polynomial> groebnerBasis = this.upgradeGroebnerBasisMethod(strategy, new CancellationToken(), null);
         // 簡約する
-        return this.reduceGroebnerBasis(groebnerBasis);
+        return reduceGroebnerBasis(groebnerBasis);
+    }
+
+    /**
+     * この Ideal のグレブナ基底を返す 組を1つ処理するごとに止められていないか調べ、途中経過を知らせる
+     * 
+     * @param token 止められていればcancelledError 期限を過ぎていればdeadlineExceededError
+     * @param listener 途中経過を受け取る nullなら知らせない
+     * @return この Ideal のグレブナ基底
+     */
+    public List<Polynomial> groebnerBasis(CancellationToken token, ProgressListener listener) {
+        // グレブナ基底の計算
+        List<Polynomial> groebnerBasis = this.upgradeGroebnerBasisMethod(PairSelectionStrategy.SUGAR, token, listener);
+        // 簡約する
+        return reduceGroebnerBasis(groebnerBasis);
+    }
+
+    /**
+     * この Ideal のグレブナ基底から、生成元を追加していける基底を作る
+     * 
+     * @return この Ideal のグレブナ基底を持つ IncrementalGroebnerBasis
+     */
+    public IncrementalGroebnerBasis incrementalGroebnerBasis() {
+        return new IncrementalGroebnerBasis(this.groebnerBasis());
+    }
+
+    /**
+     * この Ideal のグレブナ基底での正規形を求める NormalForm を返す
+     * 
+     * @return 単項式の正規形を NormalForm.DEFAULT_CACHE_SIZE 個までキャッシュする NormalForm
+     */
+    public NormalForm normalForm() {
+        return this.normalForm(NormalForm.DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * この Ideal のグレブナ基底での正規形を求める NormalForm を返す
+     * 
+     * @param cacheSize キャッシュする単項式の数
+     * @return NormalForm
+     */
+    public NormalForm normalForm(int cacheSize) {
+        return new NormalForm(this.groebnerBasis(), cacheSize);
     }
 
     /**
@@ -47,54 +132,239 @@ public class Ideal {
         // グレブナ基底の計算
         List<Polynomial> groebnerBasis = this.basicGroebnerBasisMethod();
         // 簡約する
-        return this.reduceGroebnerBasis(groebnerBasis);
+        return reduceGroebnerBasis(groebnerBasis);
+    }
+
+    /**
+     * この Ideal のグレブナ基底を返す (sugar の同じ組を並列に簡約する)
+     * 結果は groebnerBasis() と一致する
+     * 
+     * @return この Ideal のグレブナ基底
+     */
+    public List<Polynomial> parallelGroebnerBasis() {
+        return this.parallelGroebnerBasis(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * この Ideal のグレブナ基底を返す (sugar の同じ組を並列に簡約する)
+     * 結果は groebnerBasis() と一致する
+     * 
+     * @param executor 組ごとの簡約を行う
+     * @return この Ideal のグレブナ基底
+     */
+    public List<Polynomial> parallelGroebnerBasis(ExecutorService executor) {
+        // グレブナ基底の計算
+        List<Polynomial> groebnerBasis = this.parallelGroebnerBasisMethod(executor);
+        // 簡約する
+        return reduceGroebnerBasis(groebnerBasis);
+    }
+
+    /**
+     * この Ideal の引数の単項式順序でのグレブナ基底を返す
+     * 生成元の単項式順序 (grevlex など) でグレブナ基底を求めてから FGLM アルゴリズムで変換する
+     * 0次元 Ideal でなければnotZeroDimensionalError
+     * 
+     * @param monomialOrder 変換先の単項式順序
+     * @return 引数の単項式順序でのこの Ideal のグレブナ基底
+     */
+    public List<Polynomial> fglmGroebnerBasis(MonomialOrder monomialOrder) {
+        return new FGLMGroebnerBasis(this.groebnerBasis(), monomialOrder).groebnerBasis();
+    }
+
+    /**
+     * この Ideal の引数の単項式順序でのグレブナ基底を返す
+     * 生成元の単項式順序 (grevlex など) でグレブナ基底を求めてから、グレブナウォークで重み順序を経由して変換する
+     * 0次元でない Ideal にも使える
+     * 
+     * @param monomialOrder 変換先の単項式順序 (lex, grlex, grevlex, 重み順序)
+     * @return 引数の単項式順序でのこの Ideal のグレブナ基底
+     */
+    public List<Polynomial> walkGroebnerBasis(MonomialOrder monomialOrder) {
+        return this.walkGroebnerBasis(monomialOrder, new WalkStatistics());
+    }
+
+    /**
+     * この Ideal の引数の単項式順序でのグレブナ基底を返す
+     * 生成元の単項式順序 (grevlex など) でグレブナ基底を求めてから、グレブナウォークで重み順序を経由して変換する
+     * 0次元でない Ideal にも使える
+     * 
+     * @param monomialOrder 変換先の単項式順序 (lex, grlex, grevlex, 重み順序)
+     * @param statistics 段階の数と段階ごとの時間を記録する
+     * @return 引数の単項式順序でのこの Ideal のグレブナ基底
+     */
+    public List<Polynomial> walkGroebnerBasis(MonomialOrder monomialOrder, WalkStatistics statistics) {
+        return new GroebnerWalk(this.groebnerBasis(), monomialOrder, statistics).groebnerBasis();
+    }
+
+    /**
+     * この Ideal のグレブナ基底を返す (F4 アルゴリズムで計算)
+     * 結果は groebnerBasis() と一致する
+     * 
+     * @return この Ideal のグレブナ基底
+     */
+    public List<Polynomial> f4GroebnerBasis() {
+        // グレブナ基底の計算
+        List<Polynomial> groebnerBasis = new F4GroebnerBasis(this.basicPolynomials).groebnerBasis();
+        // 簡約する
+        return reduceGroebnerBasis(groebnerBasis);
+    }
+
+    /**
+     * この Ideal のグレブナ基底を返す (シグネチャを使うアルゴリズムで計算)
+     * 結果は groebnerBasis() と一致する
+     * 
+     * @return この Ideal のグレブナ基底
+     */
+    public List<Polynomial> signatureGroebnerBasis() {
+        return this.signatureGroebnerBasis(new PairStatistics());
+    }
+
+    /**
+     * この Ideal のグレブナ基底を返す (シグネチャを使うアルゴリズムで計算)
+     * 結果は groebnerBasis() と一致する
+     * 
+     * @param statistics 基準で捨てた組と簡約した組の数を記録する
+     * @return この Ideal のグレブナ基底
+     */
+    public List<Polynomial> signatureGroebnerBasis(PairStatistics statistics) {
+        // グレブナ基底の計算
+        List<Polynomial> groebnerBasis = new SignatureGroebnerBasis(this.basicPolynomials, statistics).groebnerBasis();
+        // 簡約する
+        return reduceGroebnerBasis(groebnerBasis);
+    }
+
+    /**
+     * グレブナ基底の先頭項で生成される Ideal の Hilbert 級数を返す
+     * 斉次 Ideal なら R/I の Hilbert 級数になる
+     * 
+     * @return Hilbert 級数
+     */
+    public HilbertSeries hilbertSeries() {
+        List<Monomial> leadingTerms = new ArrayList<>();
+        for (Polynomial polynomial : this.groebnerBasis()) {
+            leadingTerms.add(polynomial.leadingTerm());
+        }
+        return HilbertSeries.of(leadingTerms, this.basicPolynomials.getFirst().getVariableComparator().size());
+    }
+
+    /**
+     * この Ideal のグレブナ基底を返す (Hilbert 級数で組を省く)
+     * 生成元は斉次であること 結果は groebnerBasis() と一致する
+     * 
+     * @param series R/I の Hilbert 級数 (素数を法とした計算で求めたものなど)
+     * @return この Ideal のグレブナ基底
+     */
+    public List<Polynomial> hilbertGroebnerBasis(HilbertSeries series) {
+        return this.hilbertGroebnerBasis(series, new PairStatistics());
+    }
+
+    /**
+     * この Ideal のグレブナ基底を返す (Hilbert 級数で組を省く)
+     * 生成元は斉次であること 結果は groebnerBasis() と一致する
+     * 
+     * @param series R/I の Hilbert 級数 (素数を法とした計算で求めたものなど)
+     * @param statistics 省いた組と簡約した組の数を記録する
+     * @return この Ideal のグレブナ基底
+     */
+    public List<Polynomial> hilbertGroebnerBasis(HilbertSeries series, PairStatistics statistics) {
+        // グレブナ基底の計算
+        List<Polynomial> groebnerBasis = this.hilbertGroebnerBasisMethod(series, statistics);
+        // 簡約する
+        return reduceGroebnerBasis(groebnerBasis);
+    }
+
+    /**
+     * この Ideal のグレブナ基底を返す (複数の素数を法として計算し、有理数を復元する)
+     * 係数は Fraction であること 結果は確率的で、生成元が結果で割り切れることと結果がグレブナ基底であることは
+     * 有理数体で検算するが、結果の元がこの Ideal に含まれることは計算に使っていない素数を1つ法として調べるだけなので、
+     * その素数が運悪く選ばれない限り groebnerBasis() と一致する
+     * 
+     * @return この Ideal のグレブナ基底
+     */
+    public List<Polynomial> modularGroebnerBasis() {
+        return this.modularGroebnerBasis(ForkJoinPool.commonPool(), Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * この Ideal のグレブナ基底を返す (複数の素数を法として計算し、有理数を復元する)
+     * 係数は Fraction であること 結果は確率的で、生成元が結果で割り切れることと結果がグレブナ基底であることは
+     * 有理数体で検算するが、結果の元がこの Ideal に含まれることは計算に使っていない素数を1つ法として調べるだけなので、
+     * その素数が運悪く選ばれない限り groebnerBasis() と一致する
+     * 
+     * @param executor 素数ごとの計算を行う
+     * @param primesPerRound 1回に並列で計算する素数の数
+     * @return この Ideal のグレブナ基底
+     */
+    public List<Polynomial> modularGroebnerBasis(ExecutorService executor, int primesPerRound) {
+        return new ModularGroebnerBasis(this, executor, primesPerRound).groebnerBasis();
+    }
+
+    /**
+     * この Ideal の生成元を返す
+     * 
+     * @return 生成元のリスト
+     */
+    public List<Polynomial> getBasicPolynomials() {
+        return new LinkedList<>(this.basicPolynomials);
     }
 
     /**
      * 引数のグレブナ基底を簡約する
+     * 先頭項が他の元の先頭項で割り切れる元を取り除き、残った元を先頭項の小さい順に、
+     * それより先頭項の小さい簡約済みの元で割った余りに置き換える
      * 
      * @param groebnerBasis
-     * @return 簡約したグレブナ基底
+     * @return 簡約したグレブナ基底 (先頭項の降順)
      */
-    private List<Polynomial> reduceGroebnerBasis(List<Polynomial> groebnerBasis) {
-        LinkedList<Polynomial> reducedGroebnerBasis = new LinkedList<>();
-        // 先頭項の係数を1に揃え、他に割られなかったものだけを入れる
-        for (int i = 0; i < groebnerBasis.size(); i++) {
-            Polynomial polynomial = groebnerBasis.get(i);
-            Fraction leadingCoefficient = polynomial.leadingCoefficient();
-            if (!leadingCoefficient.isOne())
-                groebnerBasis.set(i, polynomial.multiply(new Polynomial(new Monomial(leadingCoefficient.reciprocal(), new LinkedHashMap<>(), polynomial.getVariableComparator()), polynomial.getMonomialOrder())));
+    static List<Polynomial> reduceGroebnerBasis(List<Polynomial> groebnerBasis) {
+        GroebnerPhaseEvent event = new GroebnerPhaseEvent(GroebnerPhaseEvent.INTERREDUCTION);
+        event.begin();
+        long start = Metrics.start();
+
+        // 先頭項の係数を1に揃える
+        List<Polynomial> polynomials = new ArrayList<>(groebnerBasis.size());
+        for (Polynomial polynomial : groebnerBasis) {
+            if (!polynomial.isZero()) polynomials.add(polynomial.monic());
         }
+        // 0しかなければ空のまま (計測とイベントの記録は同じように行う)
+        List<Polynomial> reducedGroebnerBasis = polynomials.isEmpty() ? polynomials : interreduce(polynomials);
 
-        // 自分を除いた先頭項のlistを作成
-        for (int i = 0; i < groebnerBasis.size(); i++) {
-            LinkedList<Polynomial> leadingTerms = new LinkedList<>();
-            boolean leadingTermDivided = false;
-            Polynomial dividedPolynomial = groebnerBasis.get(i).getHasVariablesPolynomial();
-            for (int j = 0; j < groebnerBasis.size(); j++) {
-                if (i == j) continue;
-                Polynomial leadingTerm = new Polynomial(groebnerBasis.get(j).leadingTerm(), groebnerBasis.get(j).getMonomialOrder());
-                if (dividedPolynomial.equals(leadingTerm)) continue;
-                leadingTerms.add(leadingTerm);
-                // 先頭項が一致しないものに割られたら入れない
-                if (!groebnerBasis.get(i).leadingTerm().equals(groebnerBasis.get(j).leadingTerm())
-                        && groebnerBasis.get(i).leadingTerm().remainder(groebnerBasis.get(j).leadingTerm()).isZero()) {
-                    leadingTermDivided = true;
-                }
-            }
-            // 自分が自分を除いた先頭項のlistで割って、余りが数字のみなら入れる
-            if (!leadingTermDivided && !dividedPolynomial.remainder(leadingTerms).isEmptyVariables()) {
-                boolean add = true;
-                for (Polynomial polynomial : reducedGroebnerBasis) {
-                    if (polynomial.equals(groebnerBasis.get(i))) {
-                        add = false;
-                        break;
-                    }
-                }
-                if (add) reducedGroebnerBasis.add(groebnerBasis.get(i));
+        Metrics.stop(Metrics.Timer.INTERREDUCTION, start);
+        event.basisSize = reducedGroebnerBasis.size();
+        event.commit();
+        return reducedGroebnerBasis;
+    }
+
+    /**
+     * 係数が1の0でない元を簡約グレブナ基底にする
+     * 
+     * @param polynomials 先頭項の係数が1の元 (空でないこと)
+     * @return 先頭項の降順に並んだ簡約グレブナ基底
+     */
+    private static List<Polynomial> interreduce(List<Polynomial> polynomials) {
+        // 先頭項の昇順に並べる
+        MonomialOrder monomialOrder = polynomials.get(0).getMonomialOrder();
+        polynomials.sort((o1, o2) -> monomialOrder.compare(o2.leadingTerm(), o1.leadingTerm()));
+
+        // 割り切る先頭項は小さいので、先に残した元の先頭項で割り切れるものだけを取り除けばよい
+        List<Polynomial> minimal = new ArrayList<>(polynomials.size());
+        for (Polynomial polynomial : polynomials) {
+            Monomial leadingTerm = polynomial.leadingTerm();
+            boolean divided = false;
+            for (int i = 0; i < minimal.size() && !divided; i++) {
+                divided = minimal.get(i).leadingTerm().divides(leadingTerm);
             }
+            if (!divided) minimal.add(polynomial);
+        }
+
+        // 項を割り切れるのは先頭項の小さい元だけなので、小さい順に簡約済みの元で割れば全体が簡約される
+        List<Polynomial> reducedGroebnerBasis = new ArrayList<>(minimal.size());
+        for (Polynomial polynomial : minimal) {
+            reducedGroebnerBasis.add(reducedGroebnerBasis.isEmpty() ? polynomial : polynomial.remainder(reducedGroebnerBasis));
         }
 
+        // 先頭項の降順に並べる
+        Collections.reverse(reducedGroebnerBasis);
         return reducedGroebnerBasis;
     }
 
@@ -108,8 +378,9 @@ public class Ideal {
 
         for (int i = 0; i < groebnerBasis.size(); i++) {
             for (int j = i + 1; j < groebnerBasis.size(); j++) {
-                Polynomial sPolynomial = groebnerBasis.get(i).sPolynomial(groebnerBasis.get(j));
-                if (!sPolynomial.remainder(groebnerBasis).isZero()) groebnerBasis.add(sPolynomial);
+                // S多項式そのものではなく余りを加える (余りの先頭項は今の基底の先頭項で割り切れないので必ず止まる)
+                Polynomial remainder = groebnerBasis.get(i).sPolynomial(groebnerBasis.get(j)).remainder(groebnerBasis);
+                if (!remainder.isZero()) groebnerBasis.add(remainder);
             }
         }
         return groebnerBasis;
@@ -117,83 +388,157 @@ public class Ideal {
 
     /**
      * 応用したグレブナ基底を求めるアルゴリズム
+     * 組は PairManager で Gebauer-Möller の基準を適用して選択戦略の順に処理する
      * 
+     * @param strategy 組の選択戦略
+     * @param token 組を1つ処理するごとに調べる
+     * @param listener 途中経過を受け取る nullなら知らせない
      * @return グレブナ基底
      */
-    private List<Polynomial> upgradeGroebnerBasisMethod() {
-        LinkedList<Polynomial> groebnerBasis = new LinkedList<>(this.basicPolynomials);
-        LinkedList<Entry<Integer, Integer>> pairs = new LinkedList<Entry<Integer, Integer>>();
+    private List<Polynomial> upgradeGroebnerBasisMethod(PairSelectionStrategy strategy, CancellationToken token, ProgressListener listener) {
+        PairManager pairManager = new PairManager(strategy);
+        int maxBitLength = 0;
+        for (Polynomial polynomial : this.basicPolynomials) {
+            if (polynomial.isZero()) continue;
+            pairManager.add(polynomial, PairManager.sugar(polynomial));
+            maxBitLength = Math.max(maxBitLength, maxBitLength(polynomial));
+        }
 
-        int size = groebnerBasis.size();
-        for (int i = 0; i < size; i++) {
-            for (int j = i + 1; j < size; j++) {
-                pairs.add(new AbstractMap.SimpleEntry<>(i, j));
+        GroebnerPhaseEvent event = new GroebnerPhaseEvent(GroebnerPhaseEvent.PAIRS);
+        event.begin();
+        long start = Metrics.start();
+        long processedPairs = 0;
+        while (!pairManager.isEmpty()) {
+            token.throwIfCancelled();
+            CriticalPair pair = pairManager.poll();
+            long reductionStart = Metrics.start();
+            long allocated = Metrics.allocatedBytes();
+            Polynomial remainder = pairManager.sPolynomial(pair).remainder(pairManager.getActiveBasis());
+            if (allocated != -1) Metrics.add(Metrics.Counter.REDUCTION_ALLOCATED_BYTES, Metrics.allocatedBytes() - allocated);
+            Metrics.stop(Metrics.Timer.REDUCTION, reductionStart);
+            Metrics.increment(Metrics.Counter.REDUCTIONS);
+            if (remainder.isZero()) Metrics.increment(Metrics.Counter.ZERO_REDUCTIONS);
+            if (!remainder.isZero()) {
+                pairManager.add(remainder, pair.sugar);
+                maxBitLength = Math.max(maxBitLength, maxBitLength(remainder));
+            }
+
+            processedPairs++;
+            if (listener != null) {
+                listener.progress(new GroebnerProgress(processedPairs, pairManager.size(), pair.sugar, pairManager.getActiveBasis().size(), maxBitLength));
             }
         }
-        int times = size;
-        while (!pairs.isEmpty()) {
-            Entry<Integer, Integer> pair = pairs.getFirst();
-
-            Monomial lti = groebnerBasis.get(pair.getKey()).leadingTerm();
-            Monomial ltj = groebnerBasis.get(pair.getValue()).leadingTerm();
-            Monomial lcm = lti.leastCommonMultiple(ltj);
-            if (!lcm.equals(ltj.multiply(lti)) && !this.criterion(groebnerBasis, lcm, pairs, pair)) {
-                Polynomial sPolynomial = groebnerBasis.get(pair.getKey()).sPolynomial(groebnerBasis.get(pair.getValue()));
-                Polynomial remainder = sPolynomial.remainder(groebnerBasis);
-                for (Polynomial polynomial : groebnerBasis) {
-                    if (polynomial.leadingVariables().equals(sPolynomial.leadingVariables())
-                            && !polynomial.equals(sPolynomial) && remainder.isZero()) {
-                        remainder = sPolynomial;
-                        break;
-                    }
-                }
-                if (!remainder.isZero()) {
-                    times++;
-                    groebnerBasis.add(remainder);
-                    for (int i = 0; i < times - 1; i++) {
-                        pairs.add(new AbstractMap.SimpleEntry<>(i, times - 1));
-                    }
+
+        Metrics.stop(Metrics.Timer.GROEBNER_BASIS, start);
+        event.processedPairs = processedPairs;
+        event.basisSize = pairManager.getActiveBasis().size();
+        event.commit();
+
+        return new LinkedList<>(pairManager.getActiveBasis());
+    }
+
+    /**
+     * Hilbert 級数で組を省くグレブナ基底を求めるアルゴリズム
+     * 斉次なら組は次数の順に処理され、ある次数で先頭項の Ideal の Hilbert 関数が与えられた値まで下がれば
+     * その次数の基底はそろっているので、残りの同じ次数の組は簡約せずに捨てる
+     * 
+     * @param series R/I の Hilbert 級数
+     * @param statistics 省いた組と簡約した組の数を記録する
+     * @return グレブナ基底
+     */
+    private List<Polynomial> hilbertGroebnerBasisMethod(HilbertSeries series, PairStatistics statistics) {
+        if (series.getVariables() != this.basicPolynomials.getFirst().getVariableComparator().size()) throw new Error("variablesSizeNotMatchError");
+        PairManager pairManager = new PairManager(PairSelectionStrategy.SUGAR);
+        for (Polynomial polynomial : this.basicPolynomials) {
+            if (polynomial.isZero()) continue;
+            if (!polynomial.isHomogeneous()) throw new Error("notHomogeneousError");
+            pairManager.add(polynomial, PairManager.sugar(polynomial));
+        }
+
+        // 基底が変わった時だけ先頭項の Ideal の Hilbert 級数を求め直す
+        List<Polynomial> seriesBasis = null;
+        HilbertSeries current = null;
+        while (!pairManager.isEmpty()) {
+            long degree = pairManager.peek().sugar;
+            if (pairManager.getActiveBasis() != seriesBasis) {
+                seriesBasis = pairManager.getActiveBasis();
+                List<Monomial> leadingTerms = new ArrayList<>(seriesBasis.size());
+                for (Polynomial polynomial : seriesBasis) {
+                    leadingTerms.add(polynomial.leadingTerm());
                 }
+                current = HilbertSeries.of(leadingTerms, series.getVariables());
             }
-            pairs.removeFirst();
+
+            CriticalPair pair = pairManager.poll();
+            if (current.coefficient((int) degree).equals(series.coefficient((int) degree))) {
+                statistics.skip();
+                continue;
+            }
+            Polynomial remainder = pairManager.sPolynomial(pair).remainder(pairManager.getActiveBasis());
+            statistics.reduce(remainder.isZero());
+            if (!remainder.isZero()) pairManager.add(remainder, pair.sugar);
         }
 
-        return groebnerBasis;
+        return new LinkedList<>(pairManager.getActiveBasis());
     }
 
     /**
-     * pairに含まれないiがpairsに(pair.key, i), (i, pair.key), (pair.value, i), (i,
-     * pair.value) も含まれず、lcmをf_iが割り切ったらtrue
+     * 多項式の係数の最大のビット数を返す
      * 
-     * @param groebnerBasis
-     * @param lcm
-     * @param pairs
-     * @param pair
-     * @return
-     */
-    private boolean criterion(LinkedList<Polynomial> groebnerBasis, Monomial lcm,
-            LinkedList<Entry<Integer, Integer>> pairs, Entry<Integer, Integer> pair) {
-        boolean result = false;
-        int size = groebnerBasis.size();
-        outsite: for (int i = 0; i < size; i++) {
-            if (pair.getKey() == i || pair.getValue() == i) continue;
-
-            for (Entry<Integer, Integer> entry : pairs) {
-                if (entry.getKey() == pair.getKey() && entry.getValue() == i) continue outsite;
-                if (entry.getKey() == i && entry.getValue() == pair.getKey()) continue outsite;
-
-                if (entry.getKey() == pair.getValue() && entry.getValue() == i) continue outsite;
-                if (entry.getKey() == i && entry.getValue() == pair.getValue()) continue outsite;
+     * @param polynomial
+     * @return 係数の最大のビット数
+     */
+    private static int maxBitLength(Polynomial polynomial) {
+        int max = 0;
+        for (Monomial monomial : polynomial.getMonomialArray()) {
+            max = Math.max(max, monomial.coefficient().bitLength());
+        }
+        return max;
+    }
+
+    /**
+     * 並列に簡約するグレブナ基底を求めるアルゴリズム
+     * sugar の一番小さい組をまとめて取り出し、その時点の基底で並列に簡約してから、
+     * 0でない余りを組の順に基底で簡約し直して加える
+     * 
+     * @param executor 組ごとの簡約を行う
+     * @return グレブナ基底
+     */
+    private List<Polynomial> parallelGroebnerBasisMethod(ExecutorService executor) {
+        PairManager pairManager = new PairManager(PairSelectionStrategy.SUGAR);
+        for (Polynomial polynomial : this.basicPolynomials) {
+            if (!polynomial.isZero()) pairManager.add(polynomial, PairManager.sugar(polynomial));
+        }
+
+        while (!pairManager.isEmpty()) {
+            // sugar が一番小さい組をまとめて取り出す
+            long sugar = pairManager.peek().sugar;
+            List<Polynomial> activeBasis = pairManager.getActiveBasis();
+            List<Future<Polynomial>> futures = new ArrayList<>();
+            while (!pairManager.isEmpty() && pairManager.peek().sugar == sugar) {
+                Polynomial sPolynomial = pairManager.sPolynomial(pairManager.poll());
+                futures.add(executor.submit(() -> sPolynomial.remainder(activeBasis)));
             }
 
-            if (lcm.remainder(groebnerBasis.get(i).leadingTerm()).isZero()) {
-                result = true;
-                break;
+            for (Future<Polynomial> future : futures) {
+                Polynomial remainder;
+                try {
+                    remainder = future.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new Error("interruptedError", e);
+                } catch (ExecutionException e) {
+                    throw new Error("parallelComputationError", e.getCause());
+                }
+                if (remainder.isZero()) continue;
+
+                // 同じ組の中で先に加えた元でも簡約する
+                if (pairManager.getActiveBasis() != activeBasis) remainder = remainder.remainder(pairManager.getActiveBasis());
+                if (!remainder.isZero()) pairManager.add(remainder, sugar);
             }
         }
 
-        return result;
-
+        return new LinkedList<>(pairManager.getActiveBasis());
     }
 
 }
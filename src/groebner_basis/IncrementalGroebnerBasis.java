@@ -0,0 +1,104 @@
+package groebner_basis;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 計算済みのグレブナ基底に生成元を追加していく
+ * 基底と組の状態を呼び出しの間で保持し、追加した元に関係する組だけを処理する
+ */
+public class IncrementalGroebnerBasis {
+
+    /**
+     * 基底と組
+     */
+    private PairManager pairManager = new PairManager(PairSelectionStrategy.SUGAR);
+
+    /**
+     * 処理した組の数 (Gebauer-Möller の基準で取り除いた組は skippedPairs に数える)
+     */
+    private PairStatistics statistics = new PairStatistics();
+
+    /**
+     * 最後に簡約した時の基底
+     */
+    private List<Polynomial> reducedBasis;
+
+    /**
+     * reducedBasis を求めた時の冗長でない元のリスト
+     */
+    private List<Polynomial> reducedFrom;
+
+    /**
+     * コンストラクタ
+     * 
+     * @param groebnerBasis 簡約グレブナ基底 (Ideal.groebnerBasis() の結果など)
+     */
+    public IncrementalGroebnerBasis(List<Polynomial> groebnerBasis) {
+        // 簡約グレブナ基底の元どうしの組はすべて0に簡約されるので作らない
+        for (Polynomial polynomial : Ideal.reduceGroebnerBasis(groebnerBasis)) {
+            this.pairManager.addProcessed(polynomial, PairManager.sugar(polynomial));
+        }
+    }
+
+    /**
+     * 生成元を1つ追加してグレブナ基底を返す
+     * 
+     * @param polynomial 追加する生成元
+     * @return 追加した後の簡約グレブナ基底
+     */
+    public List<Polynomial> add(Polynomial polynomial) {
+        List<Polynomial> polynomials = new ArrayList<>();
+        polynomials.add(polynomial);
+        return this.add(polynomials);
+    }
+
+    /**
+     * 生成元を追加してグレブナ基底を返す
+     * 
+     * @param polynomials 追加する生成元
+     * @return 追加した後の簡約グレブナ基底
+     */
+    public List<Polynomial> add(List<Polynomial> polynomials) {
+        long skippedPairs = this.pairManager.getSkippedPairs();
+        // 今の基底で割り切れる生成元は Ideal を変えないので加えない
+        for (Polynomial polynomial : polynomials) {
+            Polynomial remainder = this.pairManager.getActiveBasis().isEmpty() ? polynomial : polynomial.remainder(this.pairManager.getActiveBasis());
+            if (!remainder.isZero()) this.pairManager.add(remainder, PairManager.sugar(remainder));
+        }
+
+        while (!this.pairManager.isEmpty()) {
+            CriticalPair pair = this.pairManager.poll();
+            Polynomial remainder = this.pairManager.sPolynomial(pair).remainder(this.pairManager.getActiveBasis());
+            this.statistics.reduce(remainder.isZero());
+            if (!remainder.isZero()) this.pairManager.add(remainder, pair.sugar);
+        }
+        this.statistics.skip(this.pairManager.getSkippedPairs() - skippedPairs);
+
+        return this.groebnerBasis();
+    }
+
+    /**
+     * 今のグレブナ基底を返す
+     * 
+     * @return 簡約グレブナ基底 (先頭項の降順)
+     */
+    public List<Polynomial> groebnerBasis() {
+        // 基底が変わっていなければ前に簡約したものを使う
+        if (this.reducedFrom != this.pairManager.getActiveBasis()) {
+            this.reducedFrom = this.pairManager.getActiveBasis();
+            this.reducedBasis = Ideal.reduceGroebnerBasis(this.reducedFrom);
+        }
+        return new ArrayList<>(this.reducedBasis);
+    }
+
+    /**
+     * これまでに処理した組の数を返す
+     * 
+     * @return 処理した組の数 (基準で取り除いた組と簡約した組)
+     */
+    public PairStatistics getStatistics() {
+        return this.statistics;
+    }
+
+}
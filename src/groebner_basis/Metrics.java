@@ -0,0 +1,261 @@
+package groebner_basis;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 多項式とグレブナ基底の計算の回数と時間を数える enable() するまでは何も数えない
+ * 無効の時の費用を分岐1つにするため、有効かどうかは volatile でない static 変数で持つ
+ * (切り替えが他のスレッドに見えるまで少し遅れることがある)
+ */
+public final class Metrics {
+
+    /**
+     * 回数を数えるもの
+     */
+    public enum Counter {
+
+        /**
+         * Monomial.divide, Monomial.divideAndRemainder の呼び出し
+         */
+        MONOMIAL_DIVIDE_AND_REMAINDER,
+
+        /**
+         * 単項式が割り切れるかを調べた回数
+         */
+        MONOMIAL_DIVIDES,
+
+        /**
+         * そのうち割り切れるかのビットマスクだけで割り切れないと分かった回数
+         */
+        MONOMIAL_DIVIDES_MASK_REJECTED,
+
+        /**
+         * MonomialOrder.compare の呼び出し (重み順序の同点の比較も数える)
+         */
+        MONOMIAL_ORDER_COMPARE,
+
+        /**
+         * Fraction の約分での gcd の計算
+         */
+        FRACTION_GCD,
+
+        /**
+         * Ideal で S多項式を簡約した回数
+         */
+        REDUCTIONS,
+
+        /**
+         * Ideal で S多項式が0に簡約された回数
+         */
+        ZERO_REDUCTIONS,
+
+        /**
+         * Ideal で S多項式の簡約中に確保したバイト数 (計れない JVM では数えない)
+         */
+        REDUCTION_ALLOCATED_BYTES
+
+    }
+
+    /**
+     * 時間を計るもの
+     */
+    public enum Timer {
+
+        /**
+         * 組を処理してグレブナ基底を求める
+         */
+        GROEBNER_BASIS,
+
+        /**
+         * S多項式1つの簡約
+         */
+        REDUCTION,
+
+        /**
+         * グレブナ基底の簡約 (Ideal.reduceGroebnerBasis)
+         */
+        INTERREDUCTION
+
+    }
+
+    /**
+     * 有効ならtrue
+     */
+    private static boolean enabled = false;
+
+    /**
+     * Counter ごとの回数
+     */
+    private static final LongAdder[] COUNTS = adders(Counter.values().length);
+
+    /**
+     * Timer ごとの回数
+     */
+    private static final LongAdder[] TIMER_COUNTS = adders(Timer.values().length);
+
+    /**
+     * Timer ごとの合計時間 (ナノ秒)
+     */
+    private static final LongAdder[] TIMER_NANOS = adders(Timer.values().length);
+
+    /**
+     * スレッドごとの確保したバイト数を返せる ThreadMXBean 返せなければnull
+     */
+    private static final com.sun.management.ThreadMXBean ALLOCATION_BEAN = allocationBean();
+
+    private Metrics() {
+    }
+
+    private static LongAdder[] adders(int size) {
+        LongAdder[] adders = new LongAdder[size];
+        for (int i = 0; i < size; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+
+    private static com.sun.management.ThreadMXBean allocationBean() {
+        try {
+            ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+            if (!(bean instanceof com.sun.management.ThreadMXBean)) return null;
+            com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean) bean;
+            return allocationBean.isThreadAllocatedMemorySupported() && allocationBean.isThreadAllocatedMemoryEnabled() ? allocationBean : null;
+        } catch (LinkageError | SecurityException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 数え始める
+     */
+    public static void enable() {
+        enabled = true;
+    }
+
+    /**
+     * 数えるのをやめる 数えた値は残る
+     */
+    public static void disable() {
+        enabled = false;
+    }
+
+    /**
+     * 数えているか
+     * 
+     * @return 有効ならtrue
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 数えた値をすべて0に戻す
+     */
+    public static void reset() {
+        for (LongAdder[] adders : new LongAdder[][] { COUNTS, TIMER_COUNTS, TIMER_NANOS }) {
+            for (LongAdder adder : adders) {
+                adder.reset();
+            }
+        }
+    }
+
+    /**
+     * 回数を1増やす ライブラリの中から呼ぶ
+     * 
+     * @param counter
+     */
+    public static void increment(Counter counter) {
+        if (enabled) COUNTS[counter.ordinal()].increment();
+    }
+
+    /**
+     * 回数を増やす
+     * 
+     * @param counter
+     * @param value 増やす数
+     */
+    static void add(Counter counter, long value) {
+        if (enabled) COUNTS[counter.ordinal()].add(value);
+    }
+
+    /**
+     * 時間を計り始める
+     * 
+     * @return 有効なら System.nanoTime() 無効なら0
+     */
+    static long start() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    /**
+     * start() からの時間を加える
+     * 
+     * @param timer
+     * @param start start() の戻り値 0なら何もしない
+     */
+    static void stop(Timer timer, long start) {
+        if (start == 0 || !enabled) return;
+        TIMER_NANOS[timer.ordinal()].add(System.nanoTime() - start);
+        TIMER_COUNTS[timer.ordinal()].increment();
+    }
+
+    /**
+     * 今のスレッドが確保したバイト数を返す
+     * 
+     * @return 確保したバイト数 無効か計れなければ-1
+     */
+    static long allocatedBytes() {
+        if (!enabled || ALLOCATION_BEAN == null) return -1;
+        return ALLOCATION_BEAN.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * 数えた回数を返す
+     * 
+     * @param counter
+     * @return 回数
+     */
+    public static long get(Counter counter) {
+        return COUNTS[counter.ordinal()].sum();
+    }
+
+    /**
+     * 時間を計った回数を返す
+     * 
+     * @param timer
+     * @return 回数
+     */
+    public static long getCount(Timer timer) {
+        return TIMER_COUNTS[timer.ordinal()].sum();
+    }
+
+    /**
+     * 計った時間の合計を返す
+     * 
+     * @param timer
+     * @return 合計時間 (ナノ秒)
+     */
+    public static long getNanos(Timer timer) {
+        return TIMER_NANOS[timer.ordinal()].sum();
+    }
+
+    /**
+     * 数えた値を文字列で返す
+     * 
+     * @return 名前=値 を並べた文字列
+     */
+    public static String snapshot() {
+        StringBuilder snapshot = new StringBuilder();
+        for (Counter counter : Counter.values()) {
+            if (snapshot.length() > 0) snapshot.append(", ");
+            snapshot.append(counter).append("=").append(get(counter));
+        }
+        for (Timer timer : Timer.values()) {
+            snapshot.append(", ").append(timer).append("=").append(getCount(timer)).append("/").append(getNanos(timer)).append("ns");
+        }
+        return snapshot.toString();
+    }
+
+}
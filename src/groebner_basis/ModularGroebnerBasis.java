@@ -0,0 +1,247 @@
+package groebner_basis;
+
+import java.math.BigInteger;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * 複数の素数を法としてグレブナ基底を求め、中国剰余定理と有理数復元で有理数体上のグレブナ基底に戻す
+ */
+class ModularGroebnerBasis {
+
+    /**
+     * 対象の Ideal (係数は Fraction)
+     */
+    private Ideal ideal;
+
+    /**
+     * 各素数の計算を行う
+     */
+    private ExecutorService executor;
+
+    /**
+     * 1回に並列で計算する素数の数
+     */
+    private int primesPerRound;
+
+    /**
+     * 次に試す素数の候補 (これより小さい素数を探す)
+     */
+    private int nextPrime = Integer.MAX_VALUE;
+
+    /**
+     * 単項式の形ごとの計算結果 形の一致しない素数は運の悪い素数なので混ぜない
+     */
+    private LinkedHashMap<List<List<List<BigInteger>>>, List<Entry<PrimeField, List<Polynomial>>>> results = new LinkedHashMap<>();
+
+    /**
+     * コンストラクタ
+     * 
+     * @param ideal 対象の Ideal
+     * @param executor 各素数の計算を行う
+     * @param primesPerRound 1回に並列で計算する素数の数
+     */
+    ModularGroebnerBasis(Ideal ideal, ExecutorService executor, int primesPerRound) {
+        if (primesPerRound < 1) throw new Error("primesPerRoundError");
+        this.ideal = ideal;
+        this.executor = executor;
+        this.primesPerRound = primesPerRound;
+    }
+
+    /**
+     * 簡約グレブナ基底を返す 結果が安定し、検算に通るまで素数を増やす
+     * 
+     * @return 簡約グレブナ基底
+     */
+    List<Polynomial> groebnerBasis() {
+        List<Polynomial> previous = null;
+        while (true) {
+            this.computeRound();
+
+            List<Entry<PrimeField, List<Polynomial>>> lucky = this.luckyResults();
+            List<Polynomial> candidate = (lucky == null) ? null : this.reconstruct(lucky);
+            if (candidate != null && candidate.equals(previous) && this.verify(candidate)) return candidate;
+            previous = candidate;
+        }
+    }
+
+    /**
+     * primesPerRound 個の素数でグレブナ基底を並列に計算して結果を記録する
+     */
+    private void computeRound() {
+        List<PrimeField> fields = new ArrayList<>(this.primesPerRound);
+        List<Future<List<Polynomial>>> futures = new ArrayList<>(this.primesPerRound);
+        for (int i = 0; i < this.primesPerRound; i++) {
+            PrimeField field = new PrimeField(this.nextPrime());
+            fields.add(field);
+            futures.add(this.executor.submit(() -> this.ideal.toCoefficientField(field).groebnerBasis()));
+        }
+
+        for (int i = 0; i < futures.size(); i++) {
+            List<Polynomial> groebnerBasis;
+            try {
+                groebnerBasis = futures.get(i).get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new Error("interruptedError", e);
+            } catch (ExecutionException e) {
+                // 分母を割り切る素数は使えないので捨てる
+                if (e.getCause() instanceof Error && "primeDividesDenominatorError".equals(e.getCause().getMessage())) continue;
+                throw new Error("modularComputationError", e.getCause());
+            }
+            this.results.computeIfAbsent(shape(groebnerBasis), key -> new ArrayList<>()).add(new AbstractMap.SimpleEntry<>(fields.get(i), groebnerBasis));
+        }
+    }
+
+    /**
+     * 次に試す素数を返す
+     * 
+     * @return 2^31未満の素数を大きい順に
+     */
+    private int nextPrime() {
+        while (!BigInteger.valueOf(this.nextPrime).isProbablePrime(50)) {
+            this.nextPrime--;
+        }
+        if (this.nextPrime < 2) throw new Error("primesExhaustedError");
+        return this.nextPrime--;
+    }
+
+    /**
+     * 一番多くの素数で得られた形の結果を返す
+     * 
+     * @return 運の良い素数の結果 まだ結果がなければnull
+     */
+    private List<Entry<PrimeField, List<Polynomial>>> luckyResults() {
+        List<Entry<PrimeField, List<Polynomial>>> lucky = null;
+        for (List<Entry<PrimeField, List<Polynomial>>> result : this.results.values()) {
+            if (lucky == null || result.size() > lucky.size()) lucky = result;
+        }
+        return lucky;
+    }
+
+    /**
+     * グレブナ基底の係数を除いた形を返す
+     * 
+     * @param groebnerBasis
+     * @return 各多項式の各単項式の多重次数
+     */
+    private static List<List<List<BigInteger>>> shape(List<Polynomial> groebnerBasis) {
+        List<List<List<BigInteger>>> shape = new ArrayList<>(groebnerBasis.size());
+        for (Polynomial polynomial : groebnerBasis) {
+            List<List<BigInteger>> multiDegrees = new ArrayList<>();
+            for (Monomial monomial : polynomial.getMonomials()) {
+                multiDegrees.add(monomial.multiDegree());
+            }
+            shape.add(multiDegrees);
+        }
+        return shape;
+    }
+
+    /**
+     * 同じ形の結果から中国剰余定理と有理数復元で有理数係数のグレブナ基底を作る
+     * 
+     * @param lucky 同じ形の素数ごとの結果
+     * @return 有理数係数のグレブナ基底 復元できなければnull
+     */
+    private List<Polynomial> reconstruct(List<Entry<PrimeField, List<Polynomial>>> lucky) {
+        List<Polynomial> first = lucky.get(0).getValue();
+        List<Polynomial> groebnerBasis = new ArrayList<>(first.size());
+        for (int i = 0; i < first.size(); i++) {
+            List<Monomial> monomials = first.get(i).getMonomials();
+            List<List<Monomial>> residues = new ArrayList<>(lucky.size());
+            for (Entry<PrimeField, List<Polynomial>> result : lucky) {
+                residues.add(result.getValue().get(i).getMonomials());
+            }
+
+            List<Monomial> reconstructed = new ArrayList<>(monomials.size());
+            for (int j = 0; j < monomials.size(); j++) {
+                BigInteger modulus = BigInteger.ONE;
+                BigInteger residue = BigInteger.ZERO;
+                for (int k = 0; k < lucky.size(); k++) {
+                    BigInteger prime = BigInteger.valueOf(lucky.get(k).getKey().getPrime());
+                    BigInteger value = BigInteger.valueOf(((ModularInteger) residues.get(k).get(j).coefficient()).intValue());
+                    // x = residue + modulus * ((value - residue) * modulus^-1 mod prime)
+                    residue = residue.add(modulus.multiply(value.subtract(residue).multiply(modulus.modInverse(prime)).mod(prime)));
+                    modulus = modulus.multiply(prime);
+                }
+                Fraction coefficient = rationalReconstruction(residue, modulus);
+                if (coefficient == null) return null;
+                reconstructed.add(monomials.get(j).withCoefficient(coefficient));
+            }
+            groebnerBasis.add(new Polynomial(reconstructed, first.get(i).getMonomialOrder()));
+        }
+        return groebnerBasis;
+    }
+
+    /**
+     * a/b ≡ residue (mod modulus) かつ |a|, |b| ≤ sqrt(modulus / 2) となる有理数を返す
+     * 
+     * @param residue
+     * @param modulus
+     * @return a/b なければnull
+     */
+    static Fraction rationalReconstruction(BigInteger residue, BigInteger modulus) {
+        BigInteger bound = modulus.shiftRight(1).sqrt();
+        BigInteger r0 = modulus, r1 = residue.mod(modulus);
+        BigInteger t0 = BigInteger.ZERO, t1 = BigInteger.ONE;
+        while (r1.compareTo(bound) > 0) {
+            BigInteger[] divideAndRemainder = r0.divideAndRemainder(r1);
+            r0 = r1;
+            r1 = divideAndRemainder[1];
+            BigInteger t = t0.subtract(divideAndRemainder[0].multiply(t1));
+            t0 = t1;
+            t1 = t;
+        }
+        if (t1.abs().compareTo(bound) > 0 || !r1.gcd(t1).equals(BigInteger.ONE)) return null;
+        return new Fraction(r1, t1);
+    }
+
+    /**
+     * 生成元が候補で割り切れ、候補のS多項式がすべて候補で割り切れるか検算する (ここまでは有理数体で正確に調べる)
+     * さらに候補がイデアルに含まれるかを、まだ使っていない素数を法として調べる
+     * 
+     * @param candidate 有理数係数のグレブナ基底の候補
+     * @return 検算に通ればtrue
+     */
+    private boolean verify(List<Polynomial> candidate) {
+        for (Polynomial polynomial : this.ideal.getBasicPolynomials()) {
+            if (!polynomial.remainder(candidate).isZero()) return false;
+        }
+        for (int i = 0; i < candidate.size(); i++) {
+            for (int j = i + 1; j < candidate.size(); j++) {
+                if (!candidate.get(i).sPolynomial(candidate.get(j)).remainder(candidate).isZero()) return false;
+            }
+        }
+        return this.verifyContained(candidate);
+    }
+
+    /**
+     * 候補の各元がイデアルに含まれるかを、まだ使っていない素数 p を法としたイデアルのグレブナ基底で割り切れるかで調べる
+     * 有理数体でイデアルのグレブナ基底を求めずに済ませるための確率的な検算で、p が運悪く選ばれない限り正しい
+     * 
+     * @param candidate 有理数係数のグレブナ基底の候補
+     * @return p を法として候補がすべてイデアルに含まれればtrue
+     */
+    private boolean verifyContained(List<Polynomial> candidate) {
+        while (true) {
+            PrimeField field = new PrimeField(this.nextPrime());
+            try {
+                List<Polynomial> groebnerBasis = this.ideal.toCoefficientField(field).groebnerBasis();
+                for (Polynomial polynomial : candidate) {
+                    if (!polynomial.toCoefficientField(field).remainder(groebnerBasis).isZero()) return false;
+                }
+                return true;
+            } catch (Error e) {
+                // 分母を割り切る素数は使えないので次の素数で調べる
+                if (!"primeDividesDenominatorError".equals(e.getMessage())) throw e;
+            }
+        }
+    }
+
+}
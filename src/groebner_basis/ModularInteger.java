@@ -0,0 +1,139 @@
+package groebner_basis;
+
+/**
+ * 有限体 Z/pZ の元
+ */
+public class ModularInteger implements Coefficient {
+
+    /**
+     * 0以上 p 未満の値
+     */
+    private final int value;
+
+    /**
+     * 属する体
+     */
+    private final PrimeField field;
+
+    /**
+     * コンストラクタ PrimeField からのみ生成する
+     * 
+     * @param value 0以上 p 未満の値
+     * @param field 属する体
+     */
+    ModularInteger(int value, PrimeField field) {
+        this.value = value;
+        this.field = field;
+    }
+
+    /**
+     * 0以上 p 未満の値を返す
+     * 
+     * @return 値
+     */
+    public int intValue() {
+        return this.value;
+    }
+
+    /**
+     * 引数を同じ体の元として返す
+     * 
+     * @param val
+     * @return val 体が一致しなければcoefficientFieldNotMatchError
+     */
+    private ModularInteger cast(Coefficient val) {
+        if (!(val instanceof ModularInteger) || !this.field.equals(((ModularInteger) val).field))
+            throw new Error("coefficientFieldNotMatchError");
+        return (ModularInteger) val;
+    }
+
+    @Override
+    public ModularInteger add(Coefficient val) {
+        return this.field.element(this.field.add(this.value, this.cast(val).value));
+    }
+
+    @Override
+    public ModularInteger subtract(Coefficient val) {
+        return this.field.element(this.field.subtract(this.value, this.cast(val).value));
+    }
+
+    @Override
+    public ModularInteger multiply(Coefficient val) {
+        return this.field.element(this.field.multiply(this.value, this.cast(val).value));
+    }
+
+    @Override
+    public ModularInteger divide(Coefficient val) {
+        return this.field.element(this.field.multiply(this.value, this.field.inverse(this.cast(val).value)));
+    }
+
+    @Override
+    public ModularInteger negate() {
+        return this.field.element(this.field.subtract(0, this.value));
+    }
+
+    /**
+     * 順序がないので this を返す
+     */
+    @Override
+    public ModularInteger abs() {
+        return this;
+    }
+
+    @Override
+    public ModularInteger reciprocal() {
+        return this.field.element(this.field.inverse(this.value));
+    }
+
+    @Override
+    public boolean isZero() {
+        return this.value == 0;
+    }
+
+    @Override
+    public boolean isOne() {
+        return this.value == 1;
+    }
+
+    /**
+     * 0なら0 それ以外は1
+     */
+    @Override
+    public int signum() {
+        return (this.value == 0) ? 0 : 1;
+    }
+
+    @Override
+    public int bitLength() {
+        return 32 - Integer.numberOfLeadingZeros(this.value);
+    }
+
+    @Override
+    public PrimeField field() {
+        return this.field;
+    }
+
+    @Override
+    public String toString() {
+        return Integer.toString(this.value);
+    }
+
+    @Override
+    public int hashCode() {
+        final int prime = 31;
+        int result = 1;
+        result = prime * result + field.hashCode();
+        result = prime * result + value;
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null) return false;
+        if (!(obj instanceof ModularInteger)) return false;
+        ModularInteger other = (ModularInteger) obj;
+        return this.value == other.value && this.field.equals(other.field);
+    }
+
+}
@@ -6,26 +6,39 @@ import java.util.Arrays;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map.Entry;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 public class Monomial {
 
     /**
-     * 変数の記号を管理する 指数は0より大きいものしか扱わない
+     * 変数の指数を変数の順序の位置で管理する 指数がintに収まらない時はnull
      */
-    private LinkedHashMap<String, BigInteger> variables = new LinkedHashMap<>();
+    private int[] exponents;
+
+    /**
+     * 指数がintに収まらない時だけ使う変数の指数 収まる時はnull
+     */
+    private BigInteger[] bigExponents;
 
     /**
      * 係数を管理する
      */
-    private Fraction coefficient;
+    private Coefficient coefficient;
 
     /**
      * 変数の順序を管理する
      */
     private VariableComparator variableComparator;
 
+    /**
+     * 割り切れるかを調べる前に見るビットマスク (divisibilityMask() を参照)
+     */
+    private long divisibilityMask;
+
+    /**
+     * 次数 指数がintに収まる時だけ使う (単項式順序の比較で毎回たし合わせないように持っておく)
+     */
+    private long degree;
+
     /**
      * コンストラクタ
      * 
@@ -34,55 +47,176 @@ public class Monomial {
      * @param variablesOrder 変数の順序
      */
     public Monomial(String val, VariableComparator variableComparator) {
+        Monomial monomial = new TermParser(val, variableComparator, RationalField.INSTANCE).parseMonomial();
+        this.coefficient = monomial.coefficient;
+        this.variableComparator = variableComparator;
+        this.exponents = monomial.exponents;
+        this.bigExponents = monomial.bigExponents;
+        this.divisibilityMask = monomial.divisibilityMask;
+        this.degree = monomial.degree;
+    }
+
+    /**
+     * コンストラクタ
+     * 
+     * @param coefficient 係数
+     * @param variables 変数
+     * @param variableComparator 変数の順序
+     */
+    public Monomial(Coefficient coefficient, LinkedHashMap<String, BigInteger> variables,
+            VariableComparator variableComparator) {
+        this.coefficient = coefficient;
 
-        // 変数に順序を取得
         this.variableComparator = variableComparator;
 
-        List<String> variableOrder = this.variableComparator.getVariableOrder();
-        // *を除去
-        StringBuilder value = new StringBuilder(Pattern.compile("\\*").matcher(val).replaceAll(""));
-
-        // 変数を一つずつ取っていって残ったものを係数とする
-        for (String variable : variableOrder) {
-            Matcher variableMatcher = Pattern.compile(variable).matcher(value.toString());
-            if (variableMatcher.find()) {
-                Matcher exponentMatcher = Pattern.compile("^\\^\\d+").matcher(value.toString()).region(variableMatcher.end(), value.length());
-                if (exponentMatcher.find()) {
-                    this.addVariable(value.substring(variableMatcher.start(), variableMatcher.end()), new BigInteger(value.substring(exponentMatcher.start(), exponentMatcher.end()).replace("^", "")));
-                    value.replace(exponentMatcher.start(), exponentMatcher.end(), "");
-                } else {
-                    this.addVariable(value.substring(variableMatcher.start(), variableMatcher.end()), new BigInteger("1"));
-                }
-                value.replace(variableMatcher.start(), variableMatcher.end(), "");
+        BigInteger[] exponents = new BigInteger[variableComparator.size()];
+        // ゼロなら変数入れない
+        if (!coefficient.isZero()) {
+            for (Entry<String, BigInteger> variable : variables.entrySet()) {
+                int index = variableComparator.indexOf(variable.getKey());
+                if (index == -1) throw new Error("variablesIncludeUnknownStringError");
+                exponents[index] = variable.getValue();
             }
         }
-        // 残りを係数とする
-        if (Pattern.compile("^[+-]$").matcher(value.toString()).find() || value.length() == 0) value.append("1");
-
-        this.coefficient = new Fraction(value.toString());
+        this.setExponents(exponents);
     }
 
     /**
-     * コンストラクタ
+     * コンストラクタ 指数の配列はそのまま使うので呼び出し側で共有しないこと
      * 
      * @param coefficient 係数
-     * @param variables 変数
+     * @param exponents 変数の順序の位置ごとの指数
      * @param variableComparator 変数の順序
      */
-    public Monomial(Fraction coefficient, LinkedHashMap<String, BigInteger> variables,
-            VariableComparator variableComparator) {
+    Monomial(Coefficient coefficient, int[] exponents, VariableComparator variableComparator) {
         this.coefficient = coefficient;
+        this.variableComparator = variableComparator;
+        // ゼロなら変数入れない
+        this.exponents = coefficient.isZero() ? new int[exponents.length] : exponents;
+        this.setDegreeAndMask();
+    }
 
+    /**
+     * コンストラクタ intに収まる指数ならintの配列に詰め直す
+     * 
+     * @param coefficient 係数
+     * @param exponents 変数の順序の位置ごとの指数
+     * @param variableComparator 変数の順序
+     */
+    Monomial(Coefficient coefficient, BigInteger[] exponents, VariableComparator variableComparator) {
+        this.coefficient = coefficient;
         this.variableComparator = variableComparator;
+        this.setExponents(exponents);
+    }
 
-        // ゼロなら変数と係数入れない
-        if (coefficient.isZero()) return;
+    /**
+     * 係数が0の Monomial を返す
+     * 
+     * @param field 係数体
+     * @param variableComparator 変数の順序
+     * @return 0
+     */
+    static Monomial zero(CoefficientField field, VariableComparator variableComparator) {
+        return new Monomial(field.zero(), new int[variableComparator.size()], variableComparator);
+    }
 
-        for (Entry<String, BigInteger> variable : variables.entrySet()) {
-            this.addVariable(variable.getKey(), variable.getValue());
+    /**
+     * 係数が c で変数のない Monomial を返す
+     * 
+     * @param coefficient 係数
+     * @param variableComparator 変数の順序
+     * @return coefficient
+     */
+    static Monomial constant(Coefficient coefficient, VariableComparator variableComparator) {
+        return new Monomial(coefficient, new int[variableComparator.size()], variableComparator);
+    }
+
+    /**
+     * 係数が1で index 番目の変数1つだけの Monomial を返す
+     * 
+     * @param field 係数体
+     * @param index 変数の順序の位置
+     * @param variableComparator 変数の順序
+     * @return index 番目の変数
+     */
+    static Monomial variable(CoefficientField field, int index, VariableComparator variableComparator) {
+        int[] exponents = new int[variableComparator.size()];
+        exponents[index] = 1;
+        return new Monomial(field.one(), exponents, variableComparator);
+    }
+
+    /**
+     * 係数を引数の体に変換した Monomial を返す 係数は Fraction であること
+     * 
+     * @param field 係数体
+     * @return 係数を変換した Monomial
+     */
+    public Monomial toCoefficientField(CoefficientField field) {
+        if (!(this.coefficient instanceof Fraction)) throw new Error("coefficientNotRationalError");
+        return this.withCoefficient(field.valueOf((Fraction) this.coefficient));
+    }
+
+    /**
+     * 指数をセットする intに収まるならintの配列で持つ
+     * 
+     * @param exponents 変数の順序の位置ごとの指数 nullは0とみなす
+     */
+    private void setExponents(BigInteger[] exponents) {
+        boolean fitsInt = true;
+        for (int i = 0; i < exponents.length; i++) {
+            if (exponents[i] == null || this.coefficient.isZero()) exponents[i] = BigInteger.ZERO;
+            // 負でないかチェックする
+            if (exponents[i].signum() < 0) throw new Error("minusExponentError");
+            if (exponents[i].bitLength() >= Integer.SIZE) fitsInt = false;
+        }
+
+        if (!fitsInt) {
+            this.bigExponents = exponents;
+        } else {
+            this.exponents = new int[exponents.length];
+            for (int i = 0; i < exponents.length; i++) {
+                this.exponents[i] = exponents[i].intValue();
+            }
+        }
+        this.setDegreeAndMask();
+    }
+
+    /**
+     * 指数から次数とビットマスクを求めておく
+     */
+    private void setDegreeAndMask() {
+        if (this.exponents != null) {
+            long degree = 0;
+            for (int exponent : this.exponents) {
+                degree += exponent;
+            }
+            this.degree = degree;
+        }
+        this.divisibilityMask = this.computeDivisibilityMask();
+    }
+
+    /**
+     * 引数の位置の指数を返す
+     * 
+     * @param index 変数の順序の位置
+     * @return 指数
+     */
+    private BigInteger exponentAt(int index) {
+        return (this.exponents != null) ? BigInteger.valueOf(this.exponents[index]) : this.bigExponents[index];
+    }
+
+    /**
+     * 指数の配列をBigIntegerで返す
+     * 
+     * @return 指数の配列
+     */
+    private BigInteger[] toBigExponents() {
+        if (this.bigExponents != null) return this.bigExponents.clone();
+        BigInteger[] bigExponents = new BigInteger[this.exponents.length];
+        for (int i = 0; i < this.exponents.length; i++) {
+            bigExponents[i] = BigInteger.valueOf(this.exponents[i]);
         }
-        // 順番がおかしいかもしれないので並び替え
-        this.sortVariables();
+        return bigExponents;
     }
 
     /**
@@ -94,9 +228,21 @@ public class Monomial {
     public String toString() {
         if (this.coefficient.isZero()) return this.coefficient.toString();
         StringBuilder value = new StringBuilder();
-        for (Entry<String, BigInteger> variable : this.variables.entrySet()) {
-            value.append(variable.getKey());
-            if (variable.getValue().compareTo(BigInteger.ONE) != 0) value.append("^").append(variable.getValue());
+        List<String> variableOrder = this.variableComparator.getVariableOrder();
+        // 指数を付けずに書いた直前の変数の位置 (ないときは-1)
+        int previous = -1;
+        for (int i = 0; i < variableOrder.size(); i++) {
+            BigInteger exponent = this.exponentAt(i);
+            if (exponent.signum() == 0) continue;
+            // 続けて書くと長い変数名と読み違える時は * で区切る
+            if (previous != -1 && this.variableComparator.needsSeparator(previous, variableOrder.get(i))) value.append("*");
+            value.append(variableOrder.get(i));
+            if (exponent.compareTo(BigInteger.ONE) != 0) {
+                value.append("^").append(exponent);
+                previous = -1;
+            } else {
+                previous = i;
+            }
         }
 
         return (this.coefficient.abs().isOne() && value.length() != 0)
@@ -105,41 +251,24 @@ public class Monomial {
     }
 
     /**
-     * 変数を追加する 指数と数を合わせるので、この関数を使用することを推奨
+     * 値が (-this) の Mononial を返す
      * 
-     * @param variable 変数
-     * @param exponent その変数の指数
-     */
-    private void addVariable(String variable, BigInteger exponent) {
-        // 指数が0なら追加しない
-        if (exponent.compareTo(BigInteger.ZERO) == 0) return;
-
-        // 負でないかチェックする
-        if (exponent.compareTo(BigInteger.ZERO) < 0) throw new Error("minusExponentError");
-
-        this.variables.put(variable, exponent);
-    }
-
-    /**
-     * 変数を並び替える
+     * @return -this
      */
-    private void sortVariables() {
-        List<Entry<String, BigInteger>> entries = new ArrayList<Entry<String, BigInteger>>(this.variables.entrySet());
-        entries.sort(this.variableComparator);
-        LinkedHashMap<String, BigInteger> variables = new LinkedHashMap<>();
-        for (Entry<String, BigInteger> entry : entries) {
-            variables.put(entry.getKey(), entry.getValue());
-        }
-        this.variables = variables;
+    public Monomial negate() {
+        return this.withCoefficient(this.coefficient.negate());
     }
 
     /**
-     * 値が (-this) の Mononial を返す
+     * 変数・指数は this のままで係数を入れ替えた Monomial を返す
      * 
-     * @return -this
+     * @param coefficient 係数
+     * @return 係数を入れ替えた Monomial
      */
-    public Monomial negate() {
-        return new Monomial(this.coefficient.negate(), this.variables, this.variableComparator);
+    Monomial withCoefficient(Coefficient coefficient) {
+        // 指数の配列は変更しないので共有する
+        if (this.exponents != null) return new Monomial(coefficient, this.exponents, this.variableComparator);
+        return new Monomial(coefficient, this.bigExponents.clone(), this.variableComparator);
     }
 
     /**
@@ -153,7 +282,7 @@ public class Monomial {
         if (!this.isEqualVariables(val)) throw new Error("variablesNotMatchError");
         this.equalsVariableComparator(val);
 
-        return new Monomial(this.coefficient.add(val.coefficient), this.variables, this.variableComparator);
+        return this.withCoefficient(this.coefficient.add(val.coefficient));
     }
 
     /**
@@ -176,23 +305,24 @@ public class Monomial {
         // 順序が一致するかチェック
         this.equalsVariableComparator(val);
 
-        LinkedHashMap<String, BigInteger> variables = new LinkedHashMap<>();
-        LinkedHashMap<String, BigInteger> valVariables = new LinkedHashMap<>();
-        valVariables.putAll(val.variables);
-        for (Entry<String, BigInteger> variable : this.variables.entrySet()) {
-            BigInteger exponent = variable.getValue();
-            // 同じ変数があった時
-            if (valVariables.containsKey(variable.getKey())) {
-                exponent = exponent.add(valVariables.get(variable.getKey()));
-                valVariables.remove(variable.getKey());
+        Coefficient coefficient = this.coefficient.multiply(val.coefficient);
+        if (this.exponents != null && val.exponents != null) {
+            int[] exponents = new int[this.exponents.length];
+            try {
+                for (int i = 0; i < exponents.length; i++) {
+                    exponents[i] = Math.addExact(this.exponents[i], val.exponents[i]);
+                }
+                return new Monomial(coefficient, exponents, this.variableComparator);
+            } catch (ArithmeticException e) {
+                // intに収まらなかったのでBigIntegerで計算する
             }
-            variables.put(variable.getKey(), exponent);
         }
-        // 同じ変数がなかったものを追加する
-        for (Entry<String, BigInteger> variable : valVariables.entrySet()) {
-            variables.put(variable.getKey(), variable.getValue());
+
+        BigInteger[] exponents = this.toBigExponents();
+        for (int i = 0; i < exponents.length; i++) {
+            exponents[i] = exponents[i].add(val.exponentAt(i));
         }
-        return new Monomial(this.coefficient.multiply(val.coefficient), variables, this.variableComparator);
+        return new Monomial(coefficient, exponents, this.variableComparator);
     }
 
     /**
@@ -202,7 +332,17 @@ public class Monomial {
      * @return this / val
      */
     public Monomial divide(Monomial val) {
-        return this.divideAndRemainder(val).get(0);
+        // 割り切れるかはマスクと指数だけで調べ、余りの Monomial は作らない
+        this.equalsVariableComparator(val);
+        if (!val.divides(this)) return zero(this.coefficient.field(), this.variableComparator);
+        if (this.exponents == null || val.exponents == null) return this.divideAndRemainder(val).get(0);
+
+        Metrics.increment(Metrics.Counter.MONOMIAL_DIVIDE_AND_REMAINDER);
+        int[] exponents = new int[this.exponents.length];
+        for (int i = 0; i < exponents.length; i++) {
+            exponents[i] = this.exponents[i] - val.exponents[i];
+        }
+        return new Monomial(this.coefficient.divide(val.coefficient), exponents, this.variableComparator);
     }
 
     /**
@@ -223,31 +363,43 @@ public class Monomial {
      *         は最後の要素
      */
     public List<Monomial> divideAndRemainder(Monomial val) {
+        Metrics.increment(Metrics.Counter.MONOMIAL_DIVIDE_AND_REMAINDER);
         // 順序が一致するかチェック
         this.equalsVariableComparator(val);
 
-        LinkedHashMap<String, BigInteger> variables = new LinkedHashMap<>();
-        LinkedHashMap<String, BigInteger> valVariables = new LinkedHashMap<>(val.variables);
-        for (Entry<String, BigInteger> variable : this.variables.entrySet()) {
-            BigInteger exponent = variable.getValue();
-            // 同じ変数があった時
-            if (valVariables.containsKey(variable.getKey())) {
-                exponent = exponent.subtract(valVariables.get(variable.getKey()));
-                // 指数が負になったら割り切れないのでやめる
-                if (exponent.compareTo(BigInteger.ZERO) < 0) break;
-                valVariables.remove(variable.getKey());
+        Monomial divideResult = zero(this.coefficient.field(), this.variableComparator);
+        Monomial remainderResult = zero(this.coefficient.field(), this.variableComparator);
+        if (this.exponents != null && val.exponents != null) {
+            int[] exponents = new int[this.exponents.length];
+            for (int i = 0; i < exponents.length; i++) {
+                exponents[i] = this.exponents[i] - val.exponents[i];
+                // 指数が負になったら割り切れない
+                if (exponents[i] < 0) {
+                    exponents = null;
+                    break;
+                }
             }
-
-            variables.put(variable.getKey(), exponent);
+            if (exponents == null) {
+                remainderResult = this.withCoefficient(this.coefficient);
+            } else {
+                divideResult = new Monomial(this.coefficient.divide(val.coefficient), exponents, this.variableComparator);
+            }
+            return new ArrayList<Monomial>(Arrays.asList(divideResult, remainderResult));
         }
 
-        Monomial divideResult = new Monomial("0", this.variableComparator);
-        Monomial remainderResult = new Monomial("0", this.variableComparator);
-        // 同じ変数がなかったら負になるので割り切れない
-        if (!valVariables.isEmpty()) {
-            remainderResult = new Monomial(this.coefficient, this.variables, this.variableComparator);
+        BigInteger[] exponents = this.toBigExponents();
+        for (int i = 0; i < exponents.length; i++) {
+            exponents[i] = exponents[i].subtract(val.exponentAt(i));
+            // 指数が負になったら割り切れない
+            if (exponents[i].signum() < 0) {
+                exponents = null;
+                break;
+            }
+        }
+        if (exponents == null) {
+            remainderResult = this.withCoefficient(this.coefficient);
         } else {
-            divideResult = new Monomial(this.coefficient.divide(val.coefficient), variables, this.variableComparator);
+            divideResult = new Monomial(this.coefficient.divide(val.coefficient), exponents, this.variableComparator);
         }
 
         return new ArrayList<Monomial>(Arrays.asList(divideResult, remainderResult));
@@ -281,8 +433,8 @@ public class Monomial {
      * @return ないときはBigInteger.ZERO
      */
     public BigInteger getVariableExponent(String variable) {
-        return (this.variables.containsKey(variable)) ? new BigInteger(this.variables.get(variable).toString())
-                : BigInteger.ZERO;
+        int index = this.variableComparator.indexOf(variable);
+        return (index != -1) ? this.exponentAt(index) : BigInteger.ZERO;
     }
 
     /**
@@ -292,7 +444,92 @@ public class Monomial {
      * @return 一致=true 不一致=false
      */
     public boolean isEqualVariables(Monomial val) {
-        return this.variables.equals(val.variables);
+        if (this.exponents != null) return Arrays.equals(this.exponents, val.exponents);
+        return Arrays.equals(this.bigExponents, val.bigExponents);
+    }
+
+    /**
+     * this の変数・指数が val を割り切るか (係数は見ない)
+     * 
+     * @param val
+     * @return 各変数で this の指数が val の指数以下ならtrue
+     */
+    boolean divides(Monomial val) {
+        Metrics.increment(Metrics.Counter.MONOMIAL_DIVIDES);
+        // マスクで割り切れないと分かれば指数は見ない
+        if ((this.divisibilityMask & ~val.divisibilityMask) != 0) {
+            Metrics.increment(Metrics.Counter.MONOMIAL_DIVIDES_MASK_REJECTED);
+            return false;
+        }
+        if (this.exponents != null && val.exponents != null) {
+            for (int i = 0; i < this.exponents.length; i++) {
+                if (this.exponents[i] > val.exponents[i]) return false;
+            }
+            return true;
+        }
+        for (int i = 0; i < this.variableComparator.size(); i++) {
+            if (this.exponentAt(i).compareTo(val.exponentAt(i)) > 0) return false;
+        }
+        return true;
+    }
+
+    /**
+     * 割り切れるかを調べるためのビットマスクを返す
+     * 64ビットを変数に均等に割り当て、変数ごとに割り当てたビット数を b として、下から指数 (b以上ならb) 個のビットを立てる
+     * (変数が64個より多い時は i 番目の変数は i % 64 番目のビットを指数が正の時に立てる)
+     * this が val を割り切るなら (this のマスク & ~val のマスク) == 0 なので、0でなければ割り切れない
+     * 
+     * @return ビットマスク
+     */
+    long divisibilityMask() {
+        return this.divisibilityMask;
+    }
+
+    /**
+     * 指数からビットマスクを求める
+     * 
+     * @return ビットマスク
+     */
+    private long computeDivisibilityMask() {
+        int size = this.variableComparator.size();
+        if (size == 0) return 0;
+        int bits = Math.max(1, Long.SIZE / size);
+        long mask = 0;
+        for (int i = 0; i < size; i++) {
+            int exponent = (this.exponents != null) ? this.exponents[i] : this.bigExponents[i].min(BigInteger.valueOf(bits)).intValue();
+            int count = Math.min(exponent, bits);
+            if (count == 0) continue;
+            // bits が64になるのは変数が1つの時だけ
+            long ones = (count == Long.SIZE) ? -1L : (1L << count) - 1;
+            mask |= ones << ((i * bits) % Long.SIZE);
+        }
+        return mask;
+    }
+
+    /**
+     * 指数の配列をそのまま返す 変更しないこと
+     * 
+     * @return 変数の順序の位置ごとの指数 intに収まらない指数がある時はnull
+     */
+    int[] getExponentArray() {
+        return this.exponents;
+    }
+
+    /**
+     * this と val に共通の変数がないか
+     * 
+     * @param val
+     * @return 共通の変数がなければtrue
+     */
+    boolean isRelativelyPrime(Monomial val) {
+        // 共通の変数があればマスクにも共通のビットがある
+        if ((this.divisibilityMask & val.divisibilityMask) == 0) return true;
+        for (int i = 0; i < this.variableComparator.size(); i++) {
+            boolean thisHas = (this.exponents != null) ? this.exponents[i] != 0 : this.bigExponents[i].signum() != 0;
+            boolean valHas = (val.exponents != null) ? val.exponents[i] != 0 : val.bigExponents[i].signum() != 0;
+            if (thisHas && valHas) return false;
+        }
+        return true;
     }
 
     /**
@@ -310,25 +547,52 @@ public class Monomial {
      * @return この Monomial の次数
      */
     public BigInteger degree() {
+        if (this.exponents != null) return BigInteger.valueOf(this.degree);
+
         BigInteger degree = BigInteger.ZERO;
-        for (Entry<String, BigInteger> variable : this.variables.entrySet()) {
-            degree = degree.add(variable.getValue());
+        for (BigInteger exponent : this.bigExponents) {
+            degree = degree.add(exponent);
         }
         return degree;
     }
 
+    /**
+     * この Monomial の次数を long で返す 単項式順序の比較などで BigInteger を作らないために使う
+     * 
+     * @return この Monomial の次数 指数がintに収まらない時はexponentTooLargeError
+     */
+    public long longDegree() {
+        if (this.exponents == null) throw new Error("exponentTooLargeError");
+        return this.degree;
+    }
+
+    /**
+     * 引数の位置の変数の指数を int で返す 単項式順序の比較などで BigInteger を作らないために使う
+     * 
+     * @param index 変数の順序の位置
+     * @return 指数 指数がintに収まらない時はexponentTooLargeError
+     */
+    public int getExponent(int index) {
+        if (this.exponents == null) throw new Error("exponentTooLargeError");
+        return this.exponents[index];
+    }
+
+    /**
+     * すべての指数がintに収まるか
+     * 
+     * @return 収まればtrue (getExponent(), longDegree() が使える)
+     */
+    public boolean hasIntExponents() {
+        return this.exponents != null;
+    }
+
     /**
      * この Monomial の多重次数を返す
      * 
      * @return この Monomial の多重次数
      */
     public List<BigInteger> multiDegree() {
-        List<String> variableOrder = this.variableComparator.getVariableOrder();
-        List<BigInteger> multiDegree = new ArrayList<BigInteger>();
-        for (String variable : variableOrder) {
-            multiDegree.add(this.getVariableExponent(variable));
-        }
-        return multiDegree;
+        return new ArrayList<BigInteger>(Arrays.asList(this.toBigExponents()));
     }
 
     /**
@@ -341,19 +605,19 @@ public class Monomial {
         // 順序が一致するかチェック
         this.equalsVariableComparator(val);
 
-        LinkedHashMap<String, BigInteger> leastCommonMultipleVariables = new LinkedHashMap<>();
-        List<String> variableOrder = this.variableComparator.getVariableOrder();
-        for (int i = 0; i < variableOrder.size(); i++) {
-            if (this.variables.get(variableOrder.get(i)) != null && val.variables.get(variableOrder.get(i)) != null) {
-                leastCommonMultipleVariables.put(variableOrder.get(i), (this.variables.get(variableOrder.get(i)).compareTo(val.variables.get(variableOrder.get(i))) > 0)
-                        ? this.variables.get(variableOrder.get(i)) : val.variables.get(variableOrder.get(i)));
+        if (this.exponents != null && val.exponents != null) {
+            int[] exponents = new int[this.exponents.length];
+            for (int i = 0; i < exponents.length; i++) {
+                exponents[i] = Math.max(this.exponents[i], val.exponents[i]);
             }
-            if (this.variables.get(variableOrder.get(i)) != null && val.variables.get(variableOrder.get(i)) == null)
-                leastCommonMultipleVariables.put(variableOrder.get(i), this.variables.get(variableOrder.get(i)));
-            if (this.variables.get(variableOrder.get(i)) == null && val.variables.get(variableOrder.get(i)) != null)
-                leastCommonMultipleVariables.put(variableOrder.get(i), val.variables.get(variableOrder.get(i)));
+            return new Monomial(this.coefficient.field().one(), exponents, this.variableComparator);
+        }
+
+        BigInteger[] exponents = this.toBigExponents();
+        for (int i = 0; i < exponents.length; i++) {
+            exponents[i] = exponents[i].max(val.exponentAt(i));
         }
-        return new Monomial(new Fraction("1"), leastCommonMultipleVariables, this.variableComparator);
+        return new Monomial(this.coefficient.field().one(), exponents, this.variableComparator);
     }
 
     /**
@@ -361,7 +625,7 @@ public class Monomial {
      * 
      * @return この Monomial の係数
      */
-    public Fraction coefficient() {
+    public Coefficient coefficient() {
         return this.coefficient;
     }
 
@@ -371,7 +635,13 @@ public class Monomial {
      * @return この Monomial の変数
      */
     public LinkedHashMap<String, BigInteger> variables() {
-        return new LinkedHashMap<String, BigInteger>(this.variables);
+        LinkedHashMap<String, BigInteger> variables = new LinkedHashMap<>();
+        List<String> variableOrder = this.variableComparator.getVariableOrder();
+        for (int i = 0; i < variableOrder.size(); i++) {
+            BigInteger exponent = this.exponentAt(i);
+            if (exponent.signum() != 0) variables.put(variableOrder.get(i), exponent);
+        }
+        return variables;
     }
 
     /**
@@ -380,7 +650,7 @@ public class Monomial {
      * @return 0ならtrue
      */
     public boolean isZero() {
-        return (this.coefficient.isZero() && this.variables.isEmpty());
+        return (this.coefficient.isZero() && this.isEmptyVariables());
     }
 
     /**
@@ -389,7 +659,12 @@ public class Monomial {
      * @return ないならtrue
      */
     public boolean isEmptyVariables() {
-        return this.variables.isEmpty();
+        // intに収まらない指数があるなら変数はある
+        if (this.exponents == null) return false;
+        for (int exponent : this.exponents) {
+            if (exponent != 0) return false;
+        }
+        return true;
     }
 
     @Override
@@ -398,7 +673,7 @@ public class Monomial {
         int result = 1;
         result = prime * result + ((coefficient == null) ? 0 : coefficient.hashCode());
         result = prime * result + ((variableComparator == null) ? 0 : variableComparator.hashCode());
-        result = prime * result + ((variables == null) ? 0 : variables.hashCode());
+        result = prime * result + ((exponents == null) ? Arrays.hashCode(bigExponents) : Arrays.hashCode(exponents));
         return result;
     }
 
@@ -414,10 +689,7 @@ public class Monomial {
         if (variableComparator == null) {
             if (other.variableComparator != null) return false;
         } else if (!variableComparator.equals(other.variableComparator)) return false;
-        if (variables == null) {
-            if (other.variables != null) return false;
-        } else if (!variables.equals(other.variables)) return false;
-        return true;
+        return this.isEqualVariables(other);
     }
 
 }
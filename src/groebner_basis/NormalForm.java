@@ -0,0 +1,220 @@
+package groebner_basis;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import groebner_basis.monomial_order.MonomialOrder;
+
+/**
+ * グレブナ基底での正規形を求める 複数のスレッドから共有してよい
+ * 正規形は線形なので、単項式 (係数は1) ごとの正規形を LRU のキャッシュに持ち、係数を掛けてたし合わせる
+ */
+public class NormalForm {
+
+    /**
+     * キャッシュする単項式の数の既定値
+     */
+    public static final int DEFAULT_CACHE_SIZE = 4096;
+
+    /**
+     * 簡約グレブナ基底
+     */
+    private List<Polynomial> groebnerBasis;
+
+    /**
+     * 基底の先頭項の索引 (番号は groebnerBasis の位置)
+     */
+    private DivisorIndex divisorIndex = new DivisorIndex();
+
+    /**
+     * 単項式の順序
+     */
+    private MonomialOrder monomialOrder;
+
+    /**
+     * 変数の順序
+     */
+    private VariableComparator variableComparator;
+
+    /**
+     * 単項式 (係数は1) ごとの正規形 アクセス順に並ぶ
+     */
+    private LinkedHashMap<Monomial, Polynomial> cache;
+
+    /**
+     * キャッシュにあった回数
+     */
+    private long hits = 0;
+
+    /**
+     * キャッシュになかった回数
+     */
+    private long misses = 0;
+
+    /**
+     * コンストラクタ
+     * 
+     * @param groebnerBasis グレブナ基底
+     * @param cacheSize キャッシュする単項式の数
+     */
+    public NormalForm(List<Polynomial> groebnerBasis, int cacheSize) {
+        if (groebnerBasis.isEmpty()) throw new Error("emptyGroebnerBasisError");
+        if (cacheSize < 0) throw new Error("negativeCacheSizeError");
+        this.groebnerBasis = Ideal.reduceGroebnerBasis(groebnerBasis);
+        this.monomialOrder = this.groebnerBasis.get(0).getMonomialOrder();
+        this.variableComparator = this.groebnerBasis.get(0).getVariableComparator();
+
+        for (Polynomial polynomial : this.groebnerBasis) {
+            this.divisorIndex.add(polynomial.leadingTerm());
+        }
+
+        this.cache = new LinkedHashMap<Monomial, Polynomial>(16, 0.75f, true) {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Monomial, Polynomial> eldest) {
+                return this.size() > cacheSize;
+            }
+
+        };
+    }
+
+    /**
+     * 正規形 (簡約グレブナ基底で割った余り) を返す
+     * 
+     * @param polynomial
+     * @return 正規形
+     */
+    public Polynomial normalForm(Polynomial polynomial) {
+        if (!this.monomialOrder.equals(polynomial.getMonomialOrder())) throw new Error("monomialOrderNotMatchError");
+        if (!this.variableComparator.equals(polynomial.getVariableComparator())) throw new Error("VariableComparatorNotMatchError");
+        if (polynomial.isZero()) return polynomial;
+
+        CoefficientField field = polynomial.leadingCoefficient().field();
+        List<Monomial> monomials = new ArrayList<>();
+        for (Monomial monomial : polynomial.getMonomialArray()) {
+            Coefficient coefficient = monomial.coefficient();
+            Polynomial normalForm = this.monomialNormalForm(monomial.withCoefficient(field.one()));
+            if (normalForm.isZero()) continue;
+            for (Monomial term : normalForm.getMonomialArray()) {
+                monomials.add(term.withCoefficient(term.coefficient().multiply(coefficient)));
+            }
+        }
+        if (monomials.isEmpty()) return new Polynomial(Monomial.zero(field, this.variableComparator), this.monomialOrder);
+        return new Polynomial(monomials, this.monomialOrder);
+    }
+
+    /**
+     * Ideal に含まれるか
+     * 
+     * @param polynomial
+     * @return 正規形が0ならtrue
+     */
+    public boolean contains(Polynomial polynomial) {
+        return this.normalForm(polynomial).isZero();
+    }
+
+    /**
+     * 係数が1の単項式の正規形をキャッシュから返す なければ求めてキャッシュに入れる
+     * 
+     * @param monomial 係数が1の単項式
+     * @return 正規形
+     */
+    private Polynomial monomialNormalForm(Monomial monomial) {
+        synchronized (this.cache) {
+            Polynomial normalForm = this.cache.get(monomial);
+            if (normalForm != null) {
+                this.hits++;
+                return normalForm;
+            }
+            this.misses++;
+        }
+
+        // 計算中はロックを持たない 同じ単項式を別のスレッドが同時に求めても結果は同じ
+        Polynomial normalForm = this.reduce(monomial);
+        synchronized (this.cache) {
+            this.cache.put(monomial, normalForm);
+        }
+        return normalForm;
+    }
+
+    /**
+     * 単項式を基底で割った余りを返す
+     * 
+     * @param monomial
+     * @return 余り
+     */
+    private Polynomial reduce(Monomial monomial) {
+        GeoBucket bucket = new GeoBucket(new Polynomial(monomial, this.monomialOrder));
+        List<Monomial> remainder = new ArrayList<>();
+        Monomial leadingTerm;
+        while ((leadingTerm = bucket.pollLeadingTerm()) != null) {
+            Polynomial divisor = this.findDivisor(leadingTerm);
+            if (divisor == null) {
+                remainder.add(leadingTerm);
+                continue;
+            }
+            // 基底は monic なので商は先頭項を割るだけ
+            bucket.subtractMultiple(leadingTerm.divide(divisor.leadingTerm()), divisor, true);
+        }
+        if (remainder.isEmpty()) return new Polynomial(Monomial.zero(monomial.coefficient().field(), this.variableComparator), this.monomialOrder);
+        return new Polynomial(remainder, this.monomialOrder);
+    }
+
+    /**
+     * 先頭項が単項式を割り切る基底の元を返す
+     * 
+     * @param monomial
+     * @return 割り切る元 なければnull
+     */
+    private Polynomial findDivisor(Monomial monomial) {
+        int index = this.divisorIndex.find(monomial);
+        return (index == -1) ? null : this.groebnerBasis.get(index);
+    }
+
+    /**
+     * 簡約グレブナ基底を返す
+     * 
+     * @return 簡約グレブナ基底 (先頭項の降順)
+     */
+    public List<Polynomial> getGroebnerBasis() {
+        return new ArrayList<>(this.groebnerBasis);
+    }
+
+    /**
+     * キャッシュにあった回数を返す
+     * 
+     * @return キャッシュにあった回数
+     */
+    public long getHits() {
+        synchronized (this.cache) {
+            return this.hits;
+        }
+    }
+
+    /**
+     * キャッシュになかった回数を返す
+     * 
+     * @return キャッシュになかった回数
+     */
+    public long getMisses() {
+        synchronized (this.cache) {
+            return this.misses;
+        }
+    }
+
+    /**
+     * キャッシュしている単項式の数を返す
+     * 
+     * @return キャッシュしている単項式の数
+     */
+    public int getCacheSize() {
+        synchronized (this.cache) {
+            return this.cache.size();
+        }
+    }
+
+}
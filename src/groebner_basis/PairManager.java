@@ -0,0 +1,328 @@
+package groebner_basis;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import groebner_basis.monomial_order.MonomialOrder;
+
+/**
+ * Buchberger のアルゴリズムの基底と S多項式を計算する組を管理する
+ * 元を追加する時に Gebauer-Möller の基準 (積の基準、連鎖の基準、冗長な組の除去) を一度だけ適用し、
+ * 残った組を選択戦略の順に取り出す
+ */
+class PairManager {
+
+    /**
+     * 基底 追加した順に並ぶ
+     */
+    private List<Polynomial> basis = new ArrayList<>();
+
+    /**
+     * 冗長でない元 (先頭項が後から追加された元の先頭項で割り切れないもの) の位置
+     */
+    private BitSet active = new BitSet();
+
+    /**
+     * 冗長でない元の先頭項の索引 (番号は basis の位置)
+     */
+    private DivisorIndex divisorIndex = new DivisorIndex();
+
+    /**
+     * 冗長でない元のリスト (簡約に使う)
+     */
+    private List<Polynomial> activeBasis = new ArrayList<>();
+
+    /**
+     * 元ごとの sugar
+     */
+    private long[] sugars = new long[16];
+
+    /**
+     * まだ処理していない組
+     */
+    private PriorityQueue<CriticalPair> pairs;
+
+    /**
+     * まだ処理していない組のうち取り除かれていないものの数
+     */
+    private int pairCount = 0;
+
+    /**
+     * 組の作られた順番
+     */
+    private long sequence = 0;
+
+    /**
+     * 基準で取り除いた組の数
+     */
+    private long skippedPairs = 0;
+
+    /**
+     * 選択戦略
+     */
+    private PairSelectionStrategy strategy;
+
+    /**
+     * コンストラクタ
+     * 
+     * @param strategy 選択戦略
+     */
+    PairManager(PairSelectionStrategy strategy) {
+        this.strategy = strategy;
+    }
+
+    /**
+     * 多項式の sugar (項の次数の最大値) を返す
+     * 
+     * @param polynomial
+     * @return sugar
+     */
+    static long sugar(Polynomial polynomial) {
+        long sugar = 0;
+        for (Monomial monomial : polynomial.getMonomialArray()) {
+            sugar = Math.max(sugar, monomial.degree().longValue());
+        }
+        return sugar;
+    }
+
+    /**
+     * 基底に元を追加して、新しい組を作り、基準で不要な組を取り除く
+     * 
+     * @param polynomial 追加する元 (0でないこと)
+     * @param sugar 追加する元の sugar
+     * @return 追加した元の位置
+     */
+    int add(Polynomial polynomial, long sugar) {
+        if (this.pairs == null) this.pairs = new PriorityQueue<>(this.comparator(polynomial.getMonomialOrder()));
+
+        int index = this.basis.size();
+        this.basis.add(polynomial);
+        if (index == this.sugars.length) this.sugars = Arrays.copyOf(this.sugars, index * 2);
+        this.sugars[index] = sugar;
+        Monomial leadingTerm = polynomial.leadingTerm();
+
+        // 新しい組を作る
+        List<CriticalPair> newPairs = new ArrayList<>();
+        for (int i = this.active.nextSetBit(0); i >= 0; i = this.active.nextSetBit(i + 1)) {
+            newPairs.add(this.createPair(i, index));
+        }
+
+        // 他の新しい組の lcm で lcm が割り切れる組を取り除く (互いに素なものは後で積の基準で取り除く)
+        List<CriticalPair> kept = new ArrayList<>();
+        for (int k = 0; k < newPairs.size(); k++) {
+            CriticalPair pair = newPairs.get(k);
+            boolean relativelyPrime = this.basis.get(pair.i).leadingTerm().isRelativelyPrime(leadingTerm);
+            boolean divided = false;
+            if (!relativelyPrime) {
+                for (int l = k + 1; l < newPairs.size() && !divided; l++) {
+                    divided = newPairs.get(l).leastCommonMultiple.divides(pair.leastCommonMultiple);
+                }
+                for (int l = 0; l < kept.size() && !divided; l++) {
+                    divided = kept.get(l).leastCommonMultiple.divides(pair.leastCommonMultiple);
+                }
+            }
+            if (relativelyPrime || !divided) {
+                kept.add(pair);
+            } else {
+                this.skippedPairs++;
+            }
+        }
+
+        // 連鎖の基準 新しい元の先頭項が lcm を割り切り、どちらの元との lcm とも一致しない古い組を取り除く
+        for (CriticalPair pair : this.pairs) {
+            if (pair.removed || !leadingTerm.divides(pair.leastCommonMultiple)) continue;
+            if (this.basis.get(pair.i).leadingTerm().leastCommonMultiple(leadingTerm).isEqualVariables(pair.leastCommonMultiple)) continue;
+            if (this.basis.get(pair.j).leadingTerm().leastCommonMultiple(leadingTerm).isEqualVariables(pair.leastCommonMultiple)) continue;
+            pair.removed = true;
+            this.pairCount--;
+            this.skippedPairs++;
+        }
+
+        // 積の基準 先頭項が互いに素な組は0に簡約されるので入れない
+        for (CriticalPair pair : kept) {
+            if (this.basis.get(pair.i).leadingTerm().isRelativelyPrime(leadingTerm)) {
+                this.skippedPairs++;
+                continue;
+            }
+            this.pairs.add(pair);
+            this.pairCount++;
+        }
+
+        // 先頭項が新しい元の先頭項で割り切れる元は冗長になる
+        for (int i = this.active.nextSetBit(0); i >= 0; i = this.active.nextSetBit(i + 1)) {
+            if (!leadingTerm.divides(this.basis.get(i).leadingTerm())) continue;
+            this.active.clear(i);
+            this.divisorIndex.remove(i);
+        }
+        this.active.set(index);
+        this.divisorIndex.add(leadingTerm);
+
+        this.activeBasis = new ArrayList<>(this.active.cardinality());
+        for (int i = this.active.nextSetBit(0); i >= 0; i = this.active.nextSetBit(i + 1)) {
+            this.activeBasis.add(this.basis.get(i));
+        }
+
+        return index;
+    }
+
+    /**
+     * すでにグレブナ基底になっている元を、組を作らずに基底に追加する
+     * 既存の元どうしの組は処理済みとして扱うので、追加する元の先頭項は互いに割り切れないこと
+     * 
+     * @param polynomial 追加する元 (0でないこと)
+     * @param sugar 追加する元の sugar
+     * @return 追加した元の位置
+     */
+    int addProcessed(Polynomial polynomial, long sugar) {
+        if (this.pairs == null) this.pairs = new PriorityQueue<>(this.comparator(polynomial.getMonomialOrder()));
+
+        int index = this.basis.size();
+        this.basis.add(polynomial);
+        if (index == this.sugars.length) this.sugars = Arrays.copyOf(this.sugars, index * 2);
+        this.sugars[index] = sugar;
+        this.active.set(index);
+        this.divisorIndex.add(polynomial.leadingTerm());
+
+        List<Polynomial> activeBasis = new ArrayList<>(this.activeBasis);
+        activeBasis.add(polynomial);
+        this.activeBasis = activeBasis;
+        return index;
+    }
+
+    /**
+     * 組を作る
+     * 
+     * @param i
+     * @param j
+     * @return (i, j)
+     */
+    private CriticalPair createPair(int i, int j) {
+        Monomial leadingTermI = this.basis.get(i).leadingTerm();
+        Monomial leadingTermJ = this.basis.get(j).leadingTerm();
+        Monomial leastCommonMultiple = leadingTermI.leastCommonMultiple(leadingTermJ);
+        long degree = leastCommonMultiple.degree().longValue();
+        long sugar = Math.max(this.sugars[i] + degree - leadingTermI.degree().longValue(),
+                this.sugars[j] + degree - leadingTermJ.degree().longValue());
+        return new CriticalPair(i, j, leastCommonMultiple, sugar, this.sequence++);
+    }
+
+    /**
+     * 選択戦略の順序を返す
+     * 
+     * @param monomialOrder
+     * @return 先に処理する組が小さくなる順序
+     */
+    private Comparator<CriticalPair> comparator(MonomialOrder monomialOrder) {
+        // lcm が単項式順序で小さいものから
+        Comparator<CriticalPair> normal = (o1, o2) -> monomialOrder.compare(o2.leastCommonMultiple, o1.leastCommonMultiple);
+        normal = normal.thenComparingLong(pair -> pair.sequence);
+        if (this.strategy == PairSelectionStrategy.NORMAL) return normal;
+        return Comparator.<CriticalPair> comparingLong(pair -> pair.sugar).thenComparing(normal);
+    }
+
+    /**
+     * 処理する組が残っていないか
+     * 
+     * @return 残っていなければtrue
+     */
+    boolean isEmpty() {
+        return this.pairCount == 0;
+    }
+
+    /**
+     * 処理する組の数を返す
+     * 
+     * @return 残っている組の数
+     */
+    int size() {
+        return this.pairCount;
+    }
+
+    /**
+     * Gebauer-Möller の基準で取り除いた組の数を返す
+     * 
+     * @return これまでに取り除いた組の数
+     */
+    long getSkippedPairs() {
+        return this.skippedPairs;
+    }
+
+    /**
+     * 次に処理する組を取り出す
+     * 
+     * @return 組 残っていなければnull
+     */
+    CriticalPair poll() {
+        CriticalPair pair;
+        do {
+            pair = this.pairs.poll();
+        } while (pair != null && pair.removed);
+        if (pair != null) this.pairCount--;
+        return pair;
+    }
+
+    /**
+     * 次に処理する組を取り出さずに返す
+     * 
+     * @return 組 残っていなければnull
+     */
+    CriticalPair peek() {
+        while (this.pairs.peek() != null && this.pairs.peek().removed) {
+            this.pairs.poll();
+        }
+        return this.pairs.peek();
+    }
+
+    /**
+     * 組の S多項式を返す
+     * 
+     * @param pair
+     * @return S多項式
+     */
+    Polynomial sPolynomial(CriticalPair pair) {
+        return this.basis.get(pair.i).sPolynomial(this.basis.get(pair.j));
+    }
+
+    /**
+     * 追加したすべての元を返す
+     * 
+     * @return 基底
+     */
+    List<Polynomial> getBasis() {
+        return this.basis;
+    }
+
+    /**
+     * 冗長でない元かどうか
+     * 
+     * @param index 基底の位置
+     * @return 冗長でなければtrue
+     */
+    boolean isActive(int index) {
+        return this.active.get(index);
+    }
+
+    /**
+     * 先頭項が単項式を割り切る冗長でない元のうち、最初に追加したものの位置を返す
+     * 
+     * @param monomial
+     * @return 基底の位置 なければ-1
+     */
+    int findDivisor(Monomial monomial) {
+        return this.divisorIndex.find(monomial);
+    }
+
+    /**
+     * 冗長でない元を追加した順に返す 元を追加すると別のリストになるので、返したリストは変更されない
+     * 
+     * @return 冗長でない元のリスト
+     */
+    List<Polynomial> getActiveBasis() {
+        return this.activeBasis;
+    }
+
+}
@@ -0,0 +1,18 @@
+package groebner_basis;
+
+/**
+ * Buchberger のアルゴリズムで次に処理する組の選び方
+ */
+public enum PairSelectionStrategy {
+
+    /**
+     * 先頭項の最小公倍元が単項式順序で一番小さい組から (normal strategy)
+     */
+    NORMAL,
+
+    /**
+     * sugar が一番小さい組から 同じなら NORMAL の順 (sugar strategy)
+     */
+    SUGAR
+
+}
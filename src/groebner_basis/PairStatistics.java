@@ -0,0 +1,81 @@
+package groebner_basis;
+
+/**
+ * グレブナ基底の計算で処理した組の数
+ */
+public class PairStatistics {
+
+    /**
+     * 基準で簡約せずに捨てた組の数
+     */
+    private long skippedPairs = 0;
+
+    /**
+     * 簡約した組の数
+     */
+    private long reducedPairs = 0;
+
+    /**
+     * 簡約した組のうち0になったものの数
+     */
+    private long zeroReductions = 0;
+
+    /**
+     * 基準で捨てた組を数える
+     */
+    void skip() {
+        this.skippedPairs++;
+    }
+
+    /**
+     * 基準でまとめて捨てた組を数える
+     * 
+     * @param count 捨てた組の数
+     */
+    void skip(long count) {
+        this.skippedPairs += count;
+    }
+
+    /**
+     * 簡約した組を数える
+     * 
+     * @param zero 0に簡約されたらtrue
+     */
+    void reduce(boolean zero) {
+        this.reducedPairs++;
+        if (zero) this.zeroReductions++;
+    }
+
+    /**
+     * 基準で簡約せずに捨てた組の数を返す
+     * 
+     * @return 捨てた組の数
+     */
+    public long getSkippedPairs() {
+        return this.skippedPairs;
+    }
+
+    /**
+     * 簡約した組の数を返す
+     * 
+     * @return 簡約した組の数
+     */
+    public long getReducedPairs() {
+        return this.reducedPairs;
+    }
+
+    /**
+     * 0に簡約された組の数を返す
+     * 
+     * @return 0に簡約された組の数
+     */
+    public long getZeroReductions() {
+        return this.zeroReductions;
+    }
+
+    @Override
+    public String toString() {
+        return "skipped=" + this.skippedPairs + ", reduced=" + this.reducedPairs + ", zero=" + this.zeroReductions;
+    }
+
+}
@@ -0,0 +1,94 @@
+package groebner_basis;
+
+/**
+ * 多項式の文字列を読んだ量と速さの記録
+ */
+public class ParseStatistics {
+
+    /**
+     * 読んだ生成元の数
+     */
+    private long polynomials;
+
+    /**
+     * 読んだ項の数
+     */
+    private long terms;
+
+    /**
+     * 読み込んだ文字の数
+     */
+    private long characters;
+
+    /**
+     * 読むのにかかった時間 (ナノ秒)
+     */
+    private long nanos;
+
+    /**
+     * コンストラクタ
+     * 
+     * @param polynomials 生成元の数
+     * @param terms 項の数
+     * @param characters 文字の数
+     * @param nanos かかった時間 (ナノ秒)
+     */
+    ParseStatistics(long polynomials, long terms, long characters, long nanos) {
+        this.polynomials = polynomials;
+        this.terms = terms;
+        this.characters = characters;
+        this.nanos = nanos;
+    }
+
+    /**
+     * 読んだ生成元の数を返す
+     * 
+     * @return 生成元の数
+     */
+    public long getPolynomials() {
+        return this.polynomials;
+    }
+
+    /**
+     * 読んだ項の数を返す
+     * 
+     * @return 項の数
+     */
+    public long getTerms() {
+        return this.terms;
+    }
+
+    /**
+     * 読み込んだ文字の数を返す
+     * 
+     * @return 文字の数
+     */
+    public long getCharacters() {
+        return this.characters;
+    }
+
+    /**
+     * 読むのにかかった時間を返す
+     * 
+     * @return 時間 (ナノ秒)
+     */
+    public long getNanos() {
+        return this.nanos;
+    }
+
+    /**
+     * 1秒あたりに読んだ項の数を返す
+     * 
+     * @return 項の数/秒 時間が計れていなければ0
+     */
+    public double termsPerSecond() {
+        return (this.nanos == 0) ? 0 : this.terms * 1e9 / this.nanos;
+    }
+
+    @Override
+    public String toString() {
+        return "polynomials=" + this.polynomials + ", terms=" + this.terms + ", characters=" + this.characters
+                + ", nanos=" + this.nanos + ", termsPerSecond=" + Math.round(this.termsPerSecond());
+    }
+
+}
@@ -4,7 +4,6 @@ import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.LinkedHashMap;
-import java.util.LinkedList;
 import java.util.List;
 
 import groebner_basis.monomial_order.MonomialOrder;
@@ -12,9 +11,9 @@ import groebner_basis.monomial_order.MonomialOrder;
 public class Polynomial {
 
     /**
-     * 単項式のリスト
+     * 単項式の配列 単項式順序の降順に並び、同じ変数・指数のものや0は含まない (0の多項式は0の単項式1つ)
      */
-    private LinkedList<Monomial> monomials = new LinkedList<>();
+    private Monomial[] monomials;
 
     /**
      * 単項式の順序
@@ -36,30 +35,94 @@ public class Polynomial {
 
         // 空ならエラー
         if (monomials.isEmpty()) throw new Error("EmptyMonomialsError");
+        Monomial[] sorted = monomials.toArray(new Monomial[monomials.size()]);
+        int size = sortAndMerge(sorted, sorted.length, monomialOrder);
+
+        this.variableComparator = sorted[0].getVariableComparator();
+        this.monomialOrder = monomialOrder;
+        // 何も入っていなかったら0を入れる
+        this.monomials = (size == 0) ? new Monomial[] { Monomial.zero(sorted[0].coefficient().field(), this.variableComparator) }
+                : Arrays.copyOf(sorted, size);
+    }
+
+    /**
+     * 配列の先頭 size 個の単項式を単項式順序の降順に並べ替え、変数と指数が同じものをたして0を除き、前に詰める
+     * 
+     * @param monomials 単項式の配列 (中身を書き換える)
+     * @param size 使用する単項式の数
+     * @param monomialOrder
+     * @return 詰めた後の単項式の数
+     */
+    private static int sortAndMerge(Monomial[] monomials, int size, MonomialOrder monomialOrder) {
         // 指定された単項式順序で並べ替え
-        monomials.sort(monomialOrder);
+        Arrays.sort(monomials, 0, size, monomialOrder);
 
         // 変数と指数が同じならたす
-        for (Monomial monomial : monomials) {
-            // 何も入っていなかったらmonomialと変数の順序を入れる
-            if (this.monomials.isEmpty()) {
-                this.monomials.add(monomial);
-                this.variableComparator = monomial.getVariableComparator();
-                continue;
-            }
-
+        int merged = 0;
+        for (int i = 0; i < size; i++) {
+            Monomial monomial = monomials[i];
             // 前に入っているものと変数・指数が一致するか
-            if (this.monomials.getLast().isEqualVariables(monomial)) monomial = this.monomials.pollLast().add(monomial);
+            if (merged != 0 && monomials[merged - 1].isEqualVariables(monomial)) {
+                monomial = monomials[--merged].add(monomial);
+            }
 
             // 0なら入れない
             if (monomial.isZero()) continue;
 
-            this.monomials.add(monomial);
+            monomials[merged++] = monomial;
         }
-        // 何も入っていなかったら0を入れる
-        if (this.monomials.isEmpty()) this.monomials.add(new Monomial("0", this.variableComparator));
+        return merged;
+    }
 
+    /**
+     * 読んだ順に並んだ単項式の配列から多項式を作る 配列はそのまま並び替えて使うので呼び出し側で共有しないこと
+     * 
+     * @param monomials 単項式の配列
+     * @param size 使用する単項式の数
+     * @param field 係数体 (0の多項式になった時に使う)
+     * @param monomialOrder
+     * @param variableComparator
+     * @return 多項式
+     */
+    static Polynomial fromTerms(Monomial[] monomials, int size, CoefficientField field, MonomialOrder monomialOrder,
+            VariableComparator variableComparator) {
+        return new Polynomial(monomials, sortAndMerge(monomials, size, monomialOrder), field, monomialOrder,
+                variableComparator);
+    }
+
+    /**
+     * 単項式順序の降順に並んだ0でない単項式の配列から、並び替えずに多項式を作る 配列はそのまま使うので呼び出し側で共有しないこと
+     * 
+     * @param monomials 並び替え済みの単項式
+     * @param size 使用する単項式の数
+     * @param field 係数体 (0の多項式になった時に使う)
+     * @param monomialOrder
+     * @param variableComparator
+     * @return 多項式
+     */
+    static Polynomial fromSortedTerms(Monomial[] monomials, int size, CoefficientField field,
+            MonomialOrder monomialOrder, VariableComparator variableComparator) {
+        return new Polynomial(monomials, size, field, monomialOrder, variableComparator);
+    }
+
+    /**
+     * コンストラクタ 単項式順序の降順に並んだ0でない単項式をそのまま使う
+     * 
+     * @param monomials 並び替え済みの単項式 呼び出し側で共有しないこと
+     * @param size 使用する単項式の数
+     * @param field 係数体 (0の多項式になった時に使う)
+     * @param monomialOrder
+     * @param variableComparator
+     */
+    private Polynomial(Monomial[] monomials, int size, CoefficientField field, MonomialOrder monomialOrder,
+            VariableComparator variableComparator) {
         this.monomialOrder = monomialOrder;
+        this.variableComparator = variableComparator;
+        if (size == 0) {
+            this.monomials = new Monomial[] { Monomial.zero(field, variableComparator) };
+        } else {
+            this.monomials = (size == monomials.length) ? monomials : Arrays.copyOf(monomials, size);
+        }
     }
 
     /**
@@ -84,19 +147,14 @@ public class Polynomial {
     }
 
     /**
-     * 文字列を+-で区切って Monomial のリストを生成して返す
+     * 文字列を先頭から読んで Monomial のリストを生成して返す
      * 
      * @param val
      * @param variableComparator
      * @return Monomial のリスト
      */
     private static List<Monomial> stringToMonomials(String val, VariableComparator variableComparator) {
-        String[] split = val.split("(?=[+-])");
-        ArrayList<Monomial> monomials = new ArrayList<>();
-        for (String value : split) {
-            monomials.add(new Monomial(value, variableComparator));
-        }
-        return monomials;
+        return new TermParser(val, variableComparator, RationalField.INSTANCE).parsePolynomial();
     }
 
     /**
@@ -107,9 +165,9 @@ public class Polynomial {
     @Override
     public String toString() {
         StringBuilder value = new StringBuilder();
-        for (Monomial monomial : this.monomials) {
-            if (!this.monomials.getFirst().equals(monomial) && monomial.signum() != -1) value.append("+");
-            value.append(monomial);
+        for (int i = 0; i < this.monomials.length; i++) {
+            if (i != 0 && this.monomials[i].signum() != -1) value.append("+");
+            value.append(this.monomials[i]);
         }
 
         return value.toString();
@@ -122,14 +180,7 @@ public class Polynomial {
      * @return this + val
      */
     public Polynomial add(Polynomial val) {
-        // 順序が一致するかチェック
-        if (!(this.monomialOrder.getClass() == val.monomialOrder.getClass()))
-            throw new Error("monomialOrderNotMatchError");
-        if (!this.variableComparator.equals(val.variableComparator)) throw new Error("VariableComparatorNotMatchError");
-        LinkedList<Monomial> monomials = new LinkedList<>(this.monomials);
-        monomials.addAll(val.monomials);
-
-        return new Polynomial(monomials, this.monomialOrder);
+        return this.merge(val, false);
     }
 
     /**
@@ -138,11 +189,28 @@ public class Polynomial {
      * @return -this
      */
     public Polynomial negate() {
-        LinkedList<Monomial> monomials = new LinkedList<>();
-        for (Monomial monomial : this.monomials) {
-            monomials.add(monomial.negate());
+        if (this.isZero()) return this;
+        Monomial[] monomials = new Monomial[this.monomials.length];
+        for (int i = 0; i < monomials.length; i++) {
+            monomials[i] = this.monomials[i].negate();
         }
-        return new Polynomial(monomials, this.monomialOrder);
+        return new Polynomial(monomials, monomials.length, null, this.monomialOrder, this.variableComparator);
+    }
+
+    /**
+     * 先頭項の係数が1になるように定数倍した Polynomial を返す
+     * 
+     * @return this / LC(this) 0の時は this
+     */
+    public Polynomial monic() {
+        Coefficient leadingCoefficient = this.leadingCoefficient();
+        if (this.isZero() || leadingCoefficient.isOne()) return this;
+        Coefficient inverse = leadingCoefficient.reciprocal();
+        Monomial[] monomials = new Monomial[this.monomials.length];
+        for (int i = 0; i < monomials.length; i++) {
+            monomials[i] = this.monomials[i].withCoefficient(this.monomials[i].coefficient().multiply(inverse));
+        }
+        return new Polynomial(monomials, monomials.length, null, this.monomialOrder, this.variableComparator);
     }
 
     /**
@@ -152,7 +220,52 @@ public class Polynomial {
      * @return this - val
      */
     public Polynomial subtract(Polynomial val) {
-        return this.add(val.negate());
+        return this.merge(val, true);
+    }
+
+    /**
+     * 並び替え済みの this と val を先頭から順に併合して (this + val) または (this - val) を返す
+     * 
+     * @param val
+     * @param negate trueなら val の符号を反転して併合する
+     * @return this + val または this - val
+     */
+    private Polynomial merge(Polynomial val, boolean negate) {
+        // 順序が一致するかチェック (重みなどの違う順序で並んだ項は併合できない)
+        this.equalsMonomialOrderAndVariableComparator(val);
+
+        if (val.isZero()) return this;
+        if (this.isZero()) return negate ? val.negate() : val;
+
+        Monomial[] monomials = new Monomial[this.monomials.length + val.monomials.length];
+        int size = 0;
+        int i = 0;
+        int j = 0;
+        while (i < this.monomials.length || j < val.monomials.length) {
+            int compared;
+            if (i == this.monomials.length) {
+                compared = 1;
+            } else if (j == val.monomials.length) {
+                compared = -1;
+            } else {
+                compared = this.monomialOrder.compare(this.monomials[i], val.monomials[j]);
+            }
+
+            Monomial monomial;
+            if (compared < 0) {
+                monomial = this.monomials[i++];
+            } else if (compared > 0) {
+                monomial = negate ? val.monomials[j++].negate() : val.monomials[j++];
+            } else {
+                monomial = negate ? this.monomials[i++].subtract(val.monomials[j++])
+                        : this.monomials[i++].add(val.monomials[j++]);
+                // 0なら入れない
+                if (monomial.isZero()) continue;
+            }
+            monomials[size++] = monomial;
+        }
+
+        return new Polynomial(monomials, size, this.leadingCoefficient().field(), this.monomialOrder, this.variableComparator);
     }
 
     /**
@@ -162,17 +275,116 @@ public class Polynomial {
      * @return this * val
      */
     public Polynomial multiply(Polynomial val) {
+        return this.heapMultiply(val, Integer.MAX_VALUE);
+    }
+
+    /**
+     * (this * val) の先頭から k 項だけの Polynomial を返す
+     * 
+     * @param val
+     * @param k 求める項の数
+     * @return (this * val) の先頭 k 項
+     */
+    public Polynomial multiplyLeadingTerms(Polynomial val, int k) {
+        if (k < 1) throw new Error("termCountError");
+        return this.heapMultiply(val, k);
+    }
+
+    /**
+     * ヒープで積の項を大きい順に取り出して (this * val) を求める (Johnson の方法)
+     * 短い方の各項 f_i について、まだ取り出していない一番大きい f_i * g_j だけをヒープに入れるので、
+     * 作業領域は短い方の項数で済む
+     * 
+     * @param val
+     * @param limit 求める項の数
+     * @return (this * val) の先頭 limit 項
+     */
+    private Polynomial heapMultiply(Polynomial val, int limit) {
         // 順序が一致するかチェック
         this.equalsMonomialOrderAndVariableComparator(val);
 
-        LinkedList<Monomial> monomials = new LinkedList<>();
-        for (Monomial valMonomial : val.monomials) {
-            for (Monomial monomial : this.monomials) {
-                monomials.add(monomial.multiply(valMonomial));
+        CoefficientField field = this.leadingCoefficient().field();
+        if (this.isZero() || val.isZero()) return new Polynomial(new Monomial[0], 0, field, this.monomialOrder, this.variableComparator);
+
+        Monomial[] f = this.monomials;
+        Monomial[] g = val.monomials;
+        if (f.length > g.length) {
+            f = val.monomials;
+            g = this.monomials;
+        }
+
+        // ヒープ (f_i * g_j が大きいものが先頭)
+        int heapSize = f.length;
+        int[] rows = new int[heapSize];
+        int[] columns = new int[heapSize];
+        Monomial[] products = new Monomial[heapSize];
+        for (int i = 0; i < heapSize; i++) {
+            rows[i] = i;
+            products[i] = f[i].multiply(g[0]);
+        }
+        // f は並び替え済みなので f_i * g_0 も降順に並んでいて、そのままヒープになっている
+
+        List<Monomial> monomials = new ArrayList<>();
+        while (heapSize > 0) {
+            Monomial product = products[0];
+            // 確定した項が limit に達し、次の項が最後の項と一致しなければ終わり
+            if (monomials.size() >= limit && !monomials.get(monomials.size() - 1).isEqualVariables(product)) break;
+
+            // 変数と指数が同じならたす
+            if (!monomials.isEmpty() && monomials.get(monomials.size() - 1).isEqualVariables(product)) {
+                Monomial monomial = monomials.remove(monomials.size() - 1).add(product);
+                // 0なら入れない
+                if (!monomial.isZero()) monomials.add(monomial);
+            } else {
+                monomials.add(product);
+            }
+
+            // 先頭を f_i * g_(j+1) に入れ替える なければ末尾と入れ替える
+            int row = rows[0];
+            int column = columns[0] + 1;
+            if (column < g.length) {
+                columns[0] = column;
+                products[0] = f[row].multiply(g[column]);
+            } else {
+                heapSize--;
+                rows[0] = rows[heapSize];
+                columns[0] = columns[heapSize];
+                products[0] = products[heapSize];
             }
+            this.siftDown(rows, columns, products, heapSize);
         }
+        // 最後の項が打ち消しあって limit に足りなくなることはあるが、その時はそこまでを返す
+        int size = Math.min(monomials.size(), limit);
 
-        return new Polynomial(monomials, this.monomialOrder);
+        return new Polynomial(monomials.toArray(new Monomial[monomials.size()]), size, field, this.monomialOrder, this.variableComparator);
+    }
+
+    /**
+     * ヒープの先頭を正しい位置まで下ろす
+     * 
+     * @param rows
+     * @param columns
+     * @param products
+     * @param heapSize
+     */
+    private void siftDown(int[] rows, int[] columns, Monomial[] products, int heapSize) {
+        int index = 0;
+        int row = rows[0];
+        int column = columns[0];
+        Monomial product = products[0];
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= heapSize) break;
+            if (child + 1 < heapSize && this.monomialOrder.compare(products[child + 1], products[child]) < 0) child++;
+            if (this.monomialOrder.compare(products[child], product) >= 0) break;
+            rows[index] = rows[child];
+            columns[index] = columns[child];
+            products[index] = products[child];
+            index = child;
+        }
+        rows[index] = row;
+        columns[index] = column;
+        products[index] = product;
     }
 
     /**
@@ -192,7 +404,7 @@ public class Polynomial {
      * @return this % vals
      */
     public Polynomial remainder(List<Polynomial> vals) {
-        return this.divideAndRemainder(vals).get(1).get(0);
+        return this.divideAndRemainder(vals, false).get(1).get(0);
     }
 
     /**
@@ -203,44 +415,61 @@ public class Polynomial {
      *         は最後の要素
      */
     public List<List<Polynomial>> divideAndRemainder(List<Polynomial> vals) {
+        return this.divideAndRemainder(vals, true);
+    }
+
+    /**
+     * (this / vals) そして (this % vals) と続く、2 つの Polynomial の List を返す
+     * 割られる多項式は GeoBucket に入れて、先頭項を打ち消すたびに (商の項 * 割る多項式) を引いていく
+     * 
+     * @param vals
+     * @param needQuotients falseなら商は計算せず0のままにする
+     * @return 2 つの Polynomial の List。商 (this / vals) は最初の要素で、剰余 (this % vals)
+     *         は最後の要素
+     */
+    private List<List<Polynomial>> divideAndRemainder(List<Polynomial> vals, boolean needQuotients) {
         if (vals.isEmpty()) throw new Error("zeroDivideError");
         // 順序が一致するかチェック
         this.equalsMonomialOrderAndVariableComparator(vals.get(0));
 
         int size = vals.size();
-        List<Polynomial> divideResult = new ArrayList<>(size);
-        List<Polynomial> remainderResult = new ArrayList<>(1);
-        // 商初期化
+        CoefficientField field = this.leadingCoefficient().field();
+        // 商と余りの項は大きい順に出てくるのでそのまま並べる
+        List<List<Monomial>> quotients = new ArrayList<>(size);
         for (int i = 0; i < size; i++) {
-            divideResult.add(new Polynomial(new Monomial("0", this.variableComparator), this.monomialOrder));
+            quotients.add(new ArrayList<>());
         }
-        // 余り初期化
-        remainderResult.add(new Polynomial(new Monomial("0", this.variableComparator), this.monomialOrder));
-
-        Polynomial divided = new Polynomial(this.monomials, this.monomialOrder);
-        while (!divided.isZero()) {
-            boolean divideFlag = false;
-            Monomial dividedLeadingHead = divided.leadingTerm();
-            for (int i = 0; i < size; i++) {
-                List<Monomial> divideAndRemainder = dividedLeadingHead.divideAndRemainder(vals.get(i).leadingTerm());
-                // 割り切れた時
-                if (divideAndRemainder.get(1).isZero()) {
-                    Polynomial quotient = new Polynomial(divideAndRemainder.get(0), this.monomialOrder);
-
-                    divideResult.set(i, divideResult.get(i).add(quotient));
-                    divided = divided.subtract(vals.get(i).multiply(quotient));
-                    divideFlag = true;
-                    break;
-                }
-            }
+        List<Monomial> remainders = new ArrayList<>();
+
+        // 割る多項式の先頭項の索引 先頭から順に割り切れるか調べた時と同じ元が見つかる
+        DivisorIndex divisorIndex = new DivisorIndex();
+        for (Polynomial val : vals) {
+            divisorIndex.add(val.leadingTerm());
+        }
+
+        GeoBucket divided = new GeoBucket(this);
+        Monomial dividedLeadingHead;
+        while ((dividedLeadingHead = divided.pollLeadingTerm()) != null) {
+            int i = divisorIndex.find(dividedLeadingHead);
             // 割れなかったので余りとする
-            if (!divideFlag) {
-                Polynomial polynomialDividedLeadingHead = new Polynomial(dividedLeadingHead, this.monomialOrder);
-                remainderResult.set(0, remainderResult.get(0).add(polynomialDividedLeadingHead));
-                divided = divided.subtract(polynomialDividedLeadingHead);
+            if (i == -1) {
+                remainders.add(dividedLeadingHead);
+                continue;
             }
+            Monomial quotient = dividedLeadingHead.divide(vals.get(i).leadingTerm());
+
+            if (needQuotients) quotients.get(i).add(quotient);
+            // 先頭項は打ち消しあうので残りだけ引く
+            divided.subtractMultiple(quotient, vals.get(i), true);
         }
 
+        List<Polynomial> divideResult = new ArrayList<>(size);
+        for (List<Monomial> quotient : quotients) {
+            divideResult.add(new Polynomial(quotient.toArray(new Monomial[quotient.size()]), quotient.size(), field, this.monomialOrder, this.variableComparator));
+        }
+        List<Polynomial> remainderResult = new ArrayList<>(1);
+        remainderResult.add(new Polynomial(remainders.toArray(new Monomial[remainders.size()]), remainders.size(), field, this.monomialOrder, this.variableComparator));
+
         return new ArrayList<List<Polynomial>>(Arrays.asList(divideResult, remainderResult));
 
     }
@@ -285,7 +514,20 @@ public class Polynomial {
      * @return 0ならtrue
      */
     public boolean isZero() {
-        return (this.monomials.size() == 1 && this.leadingTerm().isZero());
+        return (this.monomials.length == 1 && this.leadingTerm().isZero());
+    }
+
+    /**
+     * 斉次かどうか
+     * 
+     * @return すべての項の次数が等しければtrue
+     */
+    public boolean isHomogeneous() {
+        BigInteger degree = this.monomials[0].degree();
+        for (int i = 1; i < this.monomials.length; i++) {
+            if (!this.monomials[i].degree().equals(degree)) return false;
+        }
+        return true;
     }
 
     /**
@@ -308,7 +550,25 @@ public class Polynomial {
      * @return この Polynomial の先頭項
      */
     public Monomial leadingTerm() {
-        return this.monomials.getFirst();
+        return this.monomials[0];
+    }
+
+    /**
+     * この Polynomial の単項式のリストを単項式順序の降順で返す
+     * 
+     * @return 単項式のリスト
+     */
+    public List<Monomial> getMonomials() {
+        return new ArrayList<>(Arrays.asList(this.monomials));
+    }
+
+    /**
+     * 単項式の配列をそのまま返す 変更しないこと
+     * 
+     * @return 単項式順序の降順に並んだ単項式の配列
+     */
+    Monomial[] getMonomialArray() {
+        return this.monomials;
     }
 
     /**
@@ -317,7 +577,7 @@ public class Polynomial {
      * @return この Polynomial の多重次数
      */
     public List<BigInteger> multiDegree() {
-        return this.monomials.getFirst().multiDegree();
+        return this.monomials[0].multiDegree();
     }
 
     /**
@@ -325,8 +585,8 @@ public class Polynomial {
      * 
      * @return この Polynomial の先頭係数
      */
-    public Fraction leadingCoefficient() {
-        return this.monomials.getFirst().coefficient();
+    public Coefficient leadingCoefficient() {
+        return this.monomials[0].coefficient();
     }
 
     /**
@@ -335,7 +595,7 @@ public class Polynomial {
      * @return この Polynomial の先頭変数
      */
     public LinkedHashMap<String, BigInteger> leadingVariables() {
-        return this.monomials.getFirst().variables();
+        return this.monomials[0].variables();
     }
 
     /**
@@ -353,6 +613,32 @@ public class Polynomial {
         return leastCommonMultiple.divide(new Polynomial(this.leadingTerm(), this.monomialOrder)).multiply(this).subtract(leastCommonMultiple.divide(new Polynomial(val.leadingTerm(), val.monomialOrder)).multiply(val));
     }
 
+    /**
+     * 単項式順序を引数の順序に変えた Polynomial を返す
+     * 
+     * @param monomialOrder 単項式順序
+     * @return 並べ替えた Polynomial
+     */
+    public Polynomial toMonomialOrder(MonomialOrder monomialOrder) {
+        Monomial[] monomials = Arrays.copyOf(this.monomials, this.monomials.length);
+        Arrays.sort(monomials, monomialOrder);
+        return new Polynomial(monomials, monomials.length, null, monomialOrder, this.variableComparator);
+    }
+
+    /**
+     * 係数を引数の体に変換した Polynomial を返す 係数は Fraction であること
+     * 
+     * @param field 係数体
+     * @return 係数を変換した Polynomial
+     */
+    public Polynomial toCoefficientField(CoefficientField field) {
+        List<Monomial> monomials = new ArrayList<>(this.monomials.length);
+        for (Monomial monomial : this.monomials) {
+            monomials.add(monomial.toCoefficientField(field));
+        }
+        return new Polynomial(monomials, this.monomialOrder);
+    }
+
     /**
      * この Polynomial の単項式の順序を返す
      */
@@ -396,7 +682,7 @@ public class Polynomial {
         final int prime = 31;
         int result = 1;
         result = prime * result + ((monomialOrder == null) ? 0 : monomialOrder.hashCode());
-        result = prime * result + ((monomials == null) ? 0 : monomials.hashCode());
+        result = prime * result + Arrays.hashCode(monomials);
         result = prime * result + ((variableComparator == null) ? 0 : variableComparator.hashCode());
         return result;
     }
@@ -410,9 +696,7 @@ public class Polynomial {
         if (monomialOrder == null) {
             if (other.monomialOrder != null) return false;
         } else if (!monomialOrder.equals(other.monomialOrder)) return false;
-        if (monomials == null) {
-            if (other.monomials != null) return false;
-        } else if (!monomials.equals(other.monomials)) return false;
+        if (!Arrays.equals(monomials, other.monomials)) return false;
         if (variableComparator == null) {
             if (other.variableComparator != null) return false;
         } else if (!variableComparator.equals(other.variableComparator)) return false;
@@ -0,0 +1,123 @@
+package groebner_basis;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reader から生成元を1つずつ読む 文字列全体を持たずに決まった大きさのバッファで少しずつ読み込む
+ * 生成元は , ; 改行 で区切り、空の生成元 (空行など) は読み飛ばす 各生成元の書き方は Polynomial(String, ...) と同じ
+ */
+public class PolynomialReader implements Closeable {
+
+    /**
+     * バッファの大きさの既定値
+     */
+    private static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    /**
+     * 読み込む Reader
+     */
+    private Reader reader;
+
+    /**
+     * 多項式環
+     */
+    private Ring ring;
+
+    /**
+     * 文字を項に分ける
+     */
+    private TermParser parser;
+
+    /**
+     * 読むのにかかった時間 (ナノ秒)
+     */
+    private long nanos = 0;
+
+    /**
+     * コンストラクタ
+     * 
+     * @param reader 読み込む Reader
+     * @param ring 多項式環
+     */
+    public PolynomialReader(Reader reader, Ring ring) {
+        this.reader = reader;
+        this.ring = ring;
+        this.parser = new TermParser(reader, DEFAULT_BUFFER_SIZE, ring.getVariableComparator(), ring.getField());
+    }
+
+    /**
+     * コンストラクタ UTF-8 として読む
+     * 
+     * @param channel 読み込むチャネル
+     * @param ring 多項式環
+     */
+    public PolynomialReader(ReadableByteChannel channel, Ring ring) {
+        this(Channels.newReader(channel, StandardCharsets.UTF_8.newDecoder(), -1), ring);
+    }
+
+    /**
+     * 次の生成元を読む
+     * 
+     * @return 多項式 終わりならnull
+     * @throws IOException
+     */
+    public Polynomial read() throws IOException {
+        long start = System.nanoTime();
+        try {
+            return this.parser.parseGenerator(this.ring.getMonomialOrder());
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            this.nanos += System.nanoTime() - start;
+        }
+    }
+
+    /**
+     * 残りの生成元をすべて読む
+     * 
+     * @return 多項式のリスト
+     * @throws IOException
+     */
+    public List<Polynomial> readAll() throws IOException {
+        List<Polynomial> polynomials = new ArrayList<>();
+        Polynomial polynomial;
+        while ((polynomial = this.read()) != null) {
+            polynomials.add(polynomial);
+        }
+        return polynomials;
+    }
+
+    /**
+     * 残りの生成元をすべて読んでイデアルを作る
+     * 
+     * @return イデアル
+     * @throws IOException
+     */
+    public Ideal readIdeal() throws IOException {
+        return new Ideal(this.readAll());
+    }
+
+    /**
+     * ここまでに読んだ量と速さを返す
+     * 
+     * @return 記録
+     */
+    public ParseStatistics getStatistics() {
+        return new ParseStatistics(this.parser.getPolynomials(), this.parser.getTerms(), this.parser.getCharacters(),
+                this.nanos);
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.reader.close();
+    }
+
+}
@@ -0,0 +1,188 @@
+package groebner_basis;
+
+import java.math.BigInteger;
+
+/**
+ * 素数 p を法とする有限体 Z/pZ 元はintで計算する
+ */
+public class PrimeField implements CoefficientField {
+
+    /**
+     * 逆元の表を前計算する素数の上限
+     */
+    private static final int INVERSE_TABLE_LIMIT = 1 << 16;
+
+    /**
+     * 法とする素数
+     */
+    private final int prime;
+
+    /**
+     * 逆元の表 素数が大きい時はnull
+     */
+    private final int[] inverses;
+
+    /**
+     * 0
+     */
+    private final ModularInteger zero;
+
+    /**
+     * 1
+     */
+    private final ModularInteger one;
+
+    /**
+     * コンストラクタ
+     * 
+     * @param prime 法とする素数 (2以上 2^31未満)
+     */
+    public PrimeField(int prime) {
+        if (prime < 2 || !BigInteger.valueOf(prime).isProbablePrime(50)) throw new Error("notPrimeError");
+        this.prime = prime;
+
+        if (prime <= INVERSE_TABLE_LIMIT) {
+            // i^-1 = -(p / i) * (p % i)^-1 を使って順に求める
+            this.inverses = new int[prime];
+            this.inverses[1] = 1;
+            for (int i = 2; i < prime; i++) {
+                this.inverses[i] = (int) ((prime - (long) (prime / i) * this.inverses[prime % i] % prime) % prime);
+            }
+        } else {
+            this.inverses = null;
+        }
+
+        this.zero = new ModularInteger(0, this);
+        this.one = new ModularInteger(1, this);
+    }
+
+    /**
+     * 法とする素数を返す
+     * 
+     * @return 素数
+     */
+    public int getPrime() {
+        return this.prime;
+    }
+
+    @Override
+    public ModularInteger zero() {
+        return this.zero;
+    }
+
+    @Override
+    public ModularInteger one() {
+        return this.one;
+    }
+
+    /**
+     * 整数をこの体の元に変換する
+     * 
+     * @param val
+     * @return val mod p
+     */
+    public ModularInteger valueOf(long val) {
+        return this.element(this.reduce(val));
+    }
+
+    /**
+     * 有理数をこの体の元に変換する 分母が p で割り切れる時はprimeDividesDenominatorError
+     * 
+     * @param val
+     * @return val mod p
+     */
+    @Override
+    public ModularInteger valueOf(Fraction val) {
+        BigInteger prime = BigInteger.valueOf(this.prime);
+        int denominator = val.getDenominator().mod(prime).intValue();
+        if (denominator == 0) throw new Error("primeDividesDenominatorError");
+        return this.element(this.multiply(val.getNumerator().mod(prime).intValue(), this.inverse(denominator)));
+    }
+
+    /**
+     * 0以上 p 未満の値からこの体の元を返す
+     * 
+     * @param value
+     * @return 元
+     */
+    ModularInteger element(int value) {
+        if (value == 0) return this.zero;
+        if (value == 1) return this.one;
+        return new ModularInteger(value, this);
+    }
+
+    /**
+     * 0以上 p 未満に直す
+     * 
+     * @param val
+     * @return val mod p
+     */
+    int reduce(long val) {
+        long value = val % this.prime;
+        return (int) ((value < 0) ? value + this.prime : value);
+    }
+
+    /**
+     * a + b mod p
+     */
+    int add(int a, int b) {
+        int value = a - this.prime + b;
+        return (value < 0) ? value + this.prime : value;
+    }
+
+    /**
+     * a - b mod p
+     */
+    int subtract(int a, int b) {
+        int value = a - b;
+        return (value < 0) ? value + this.prime : value;
+    }
+
+    /**
+     * a * b mod p
+     */
+    int multiply(int a, int b) {
+        return (int) ((long) a * b % this.prime);
+    }
+
+    /**
+     * a^-1 mod p 0の場合はzeroDivideError
+     */
+    int inverse(int a) {
+        if (a == 0) throw new Error("zeroDivideError");
+        if (this.inverses != null) return this.inverses[a];
+
+        // 拡張ユークリッドの互除法
+        long r0 = this.prime, r1 = a, s0 = 0, s1 = 1;
+        while (r1 != 0) {
+            long q = r0 / r1;
+            long r = r0 - q * r1;
+            r0 = r1;
+            r1 = r;
+            long s = s0 - q * s1;
+            s0 = s1;
+            s1 = s;
+        }
+        return this.reduce(s0);
+    }
+
+    @Override
+    public String toString() {
+        return "Z/" + this.prime + "Z";
+    }
+
+    @Override
+    public int hashCode() {
+        return this.prime;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null) return false;
+        if (!(obj instanceof PrimeField)) return false;
+        PrimeField other = (PrimeField) obj;
+        return this.prime == other.prime;
+    }
+
+}
@@ -0,0 +1,15 @@
+package groebner_basis;
+
+/**
+ * グレブナ基底の計算の途中経過を受け取る 組を1つ処理するごとに計算しているスレッドから呼ばれる
+ */
+public interface ProgressListener {
+
+    /**
+     * 途中経過を受け取る
+     * 
+     * @param progress 途中経過
+     */
+    public void progress(GroebnerProgress progress);
+
+}
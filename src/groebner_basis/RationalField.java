@@ -0,0 +1,36 @@
+package groebner_basis;
+
+/**
+ * 有理数体 係数は Fraction
+ */
+public class RationalField implements CoefficientField {
+
+    /**
+     * 有理数体
+     */
+    public static final RationalField INSTANCE = new RationalField();
+
+    private RationalField() {
+    }
+
+    @Override
+    public Fraction zero() {
+        return Fraction.ZERO;
+    }
+
+    @Override
+    public Fraction one() {
+        return Fraction.ONE;
+    }
+
+    @Override
+    public Fraction valueOf(Fraction val) {
+        return val;
+    }
+
+    @Override
+    public String toString() {
+        return "Q";
+    }
+
+}
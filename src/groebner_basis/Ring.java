@@ -0,0 +1,145 @@
+package groebner_basis;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import groebner_basis.monomial_order.MonomialOrder;
+
+/**
+ * 多項式環 (変数、単項式順序、係数体) をまとめて持ち、文字列から単項式・多項式・イデアルを作る
+ * 同じ環の多項式をたくさん作る時は、変数の順序や単項式順序を毎回渡さずにこれを使い回す
+ */
+public class Ring {
+
+    /**
+     * 変数の順序
+     */
+    private VariableComparator variableComparator;
+
+    /**
+     * 単項式順序
+     */
+    private MonomialOrder monomialOrder;
+
+    /**
+     * 係数体
+     */
+    private CoefficientField field;
+
+    /**
+     * コンストラクタ 係数体は有理数体
+     * 
+     * @param variableOrder 変数の順序
+     * @param monomialOrder 単項式順序
+     */
+    public Ring(List<String> variableOrder, MonomialOrder monomialOrder) {
+        this(new VariableComparator(variableOrder), monomialOrder, RationalField.INSTANCE);
+    }
+
+    /**
+     * コンストラクタ
+     * 
+     * @param variableOrder 変数の順序
+     * @param monomialOrder 単項式順序
+     * @param field 係数体
+     */
+    public Ring(List<String> variableOrder, MonomialOrder monomialOrder, CoefficientField field) {
+        this(new VariableComparator(variableOrder), monomialOrder, field);
+    }
+
+    /**
+     * コンストラクタ 係数体は有理数体
+     * 
+     * @param variableComparator 変数の順序
+     * @param monomialOrder 単項式順序
+     */
+    public Ring(VariableComparator variableComparator, MonomialOrder monomialOrder) {
+        this(variableComparator, monomialOrder, RationalField.INSTANCE);
+    }
+
+    /**
+     * コンストラクタ
+     * 
+     * @param variableComparator 変数の順序
+     * @param monomialOrder 単項式順序
+     * @param field 係数体
+     */
+    public Ring(VariableComparator variableComparator, MonomialOrder monomialOrder, CoefficientField field) {
+        this.variableComparator = variableComparator;
+        this.monomialOrder = monomialOrder;
+        this.field = field;
+    }
+
+    /**
+     * 文字列から単項式を作る
+     * 
+     * @param val -2x^3y^2, 4/5xy, x^3*y*z のような形 (変数名は最も長く一致するものを選ぶ)
+     * @return 単項式
+     */
+    public Monomial monomial(String val) {
+        return new TermParser(val, this.variableComparator, this.field).parseMonomial();
+    }
+
+    /**
+     * 文字列から多項式を作る
+     * 
+     * @param val -2x^3y^2-x^4+2, 4/5xy+x のような形 (変数名は最も長く一致するものを選ぶ)
+     * @return 多項式
+     */
+    public Polynomial polynomial(String val) {
+        return new Polynomial(new TermParser(val, this.variableComparator, this.field).parsePolynomial(),
+                this.monomialOrder);
+    }
+
+    /**
+     * 文字列のリストからイデアルを作る
+     * 
+     * @param values 生成元の文字列
+     * @return イデアル
+     */
+    public Ideal ideal(List<String> values) {
+        List<Polynomial> polynomials = new ArrayList<>(values.size());
+        for (String value : values) {
+            polynomials.add(this.polynomial(value));
+        }
+        return new Ideal(polynomials);
+    }
+
+    /**
+     * 変数の順序の位置を返す
+     * 
+     * @param variable 変数
+     * @return 位置 ないときは-1
+     */
+    public int indexOf(String variable) {
+        return this.variableComparator.indexOf(variable);
+    }
+
+    /**
+     * 変数の順序を返す
+     * 
+     * @return 変数の順序
+     */
+    public VariableComparator getVariableComparator() {
+        return this.variableComparator;
+    }
+
+    /**
+     * 単項式順序を返す
+     * 
+     * @return 単項式順序
+     */
+    public MonomialOrder getMonomialOrder() {
+        return this.monomialOrder;
+    }
+
+    /**
+     * 係数体を返す
+     * 
+     * @return 係数体
+     */
+    public CoefficientField getField() {
+        return this.field;
+    }
+
+}
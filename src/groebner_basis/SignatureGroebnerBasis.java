@@ -0,0 +1,301 @@
+package groebner_basis;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import groebner_basis.monomial_order.MonomialOrder;
+
+/**
+ * シグネチャを使ってグレブナ基底を求める (rewrite basis 型のアルゴリズム)
+ * シグネチャは生成元の位置を先に比べる順序 (position over term) で比べ、シグネチャの小さい組から処理する
+ * 0に簡約される組は syzygy の基準と rewrite の基準で簡約する前に捨てる
+ */
+class SignatureGroebnerBasis {
+
+    /**
+     * シグネチャ付きの多項式
+     */
+    private static class LabeledPolynomial {
+
+        /**
+         * シグネチャの単項式 (係数は1)
+         */
+        final Monomial signature;
+
+        /**
+         * シグネチャの生成元の位置
+         */
+        final int position;
+
+        /**
+         * 多項式
+         */
+        final Polynomial polynomial;
+
+        LabeledPolynomial(Monomial signature, int position, Polynomial polynomial) {
+            this.signature = signature;
+            this.position = position;
+            this.polynomial = polynomial;
+        }
+
+    }
+
+    /**
+     * シグネチャの大きい側の元を単項式倍したもの 生成元の時は other が-1
+     */
+    private static class SignaturePair {
+
+        /**
+         * シグネチャの単項式 (係数は1)
+         */
+        final Monomial signature;
+
+        /**
+         * シグネチャの生成元の位置
+         */
+        final int position;
+
+        /**
+         * シグネチャの大きい側の基底の位置 生成元の時は-1
+         */
+        final int generator;
+
+        /**
+         * もう片方の基底の位置 生成元の時は-1
+         */
+        final int other;
+
+        /**
+         * 生成元の時の多項式
+         */
+        final Polynomial polynomial;
+
+        /**
+         * 作られた順番
+         */
+        final long sequence;
+
+        SignaturePair(Monomial signature, int position, int generator, int other, Polynomial polynomial, long sequence) {
+            this.signature = signature;
+            this.position = position;
+            this.generator = generator;
+            this.other = other;
+            this.polynomial = polynomial;
+            this.sequence = sequence;
+        }
+
+    }
+
+    /**
+     * 生成元
+     */
+    private List<Polynomial> basicPolynomials;
+
+    /**
+     * 処理した組の数
+     */
+    private PairStatistics statistics;
+
+    /**
+     * 基底 追加した順に並ぶ
+     */
+    private List<LabeledPolynomial> basis = new ArrayList<>();
+
+    /**
+     * 0に簡約されることが分かっているシグネチャ
+     */
+    private List<LabeledPolynomial> syzygies = new ArrayList<>();
+
+    /**
+     * まだ処理していない組
+     */
+    private PriorityQueue<SignaturePair> pairs;
+
+    /**
+     * 単項式の順序
+     */
+    private MonomialOrder monomialOrder;
+
+    /**
+     * 組の作られた順番
+     */
+    private long sequence = 0;
+
+    /**
+     * コンストラクタ
+     * 
+     * @param basicPolynomials 生成元
+     * @param statistics 処理した組の数を記録する
+     */
+    SignatureGroebnerBasis(List<Polynomial> basicPolynomials, PairStatistics statistics) {
+        this.basicPolynomials = basicPolynomials;
+        this.statistics = statistics;
+    }
+
+    /**
+     * グレブナ基底を返す (簡約はしない)
+     * 
+     * @return グレブナ基底
+     */
+    List<Polynomial> groebnerBasis() {
+        for (int i = 0; i < this.basicPolynomials.size(); i++) {
+            Polynomial polynomial = this.basicPolynomials.get(i);
+            if (polynomial.isZero()) continue;
+            if (this.pairs == null) {
+                this.monomialOrder = polynomial.getMonomialOrder();
+                Comparator<SignaturePair> comparator = (o1, o2) -> this.compare(o1.signature, o1.position, o2.signature, o2.position);
+                this.pairs = new PriorityQueue<>(comparator.thenComparingLong(pair -> pair.sequence));
+            }
+            Monomial one = Monomial.constant(polynomial.leadingCoefficient().field().one(), polynomial.getVariableComparator());
+            this.pairs.add(new SignaturePair(one, i, -1, -1, polynomial, this.sequence++));
+        }
+
+        while (this.pairs != null && !this.pairs.isEmpty()) {
+            SignaturePair pair = this.pairs.poll();
+            if (this.isSyzygy(pair.signature, pair.position) || this.isRewritable(pair)) {
+                this.statistics.skip();
+                continue;
+            }
+
+            Polynomial polynomial = (pair.generator == -1) ? pair.polynomial
+                    : this.basis.get(pair.generator).polynomial.sPolynomial(this.basis.get(pair.other).polynomial);
+            Polynomial reduced = this.regularReduce(polynomial, pair.signature, pair.position);
+            this.statistics.reduce(reduced.isZero());
+            if (reduced.isZero()) {
+                this.syzygies.add(new LabeledPolynomial(pair.signature, pair.position, reduced));
+            } else {
+                this.add(new LabeledPolynomial(pair.signature, pair.position, reduced));
+            }
+        }
+
+        List<Polynomial> groebnerBasis = new ArrayList<>(this.basis.size());
+        for (LabeledPolynomial labeledPolynomial : this.basis) {
+            groebnerBasis.add(labeledPolynomial.polynomial);
+        }
+        return groebnerBasis;
+    }
+
+    /**
+     * 基底に元を加え、既存の元との組と Koszul の syzygy のシグネチャを作る
+     * 
+     * @param labeledPolynomial
+     */
+    private void add(LabeledPolynomial labeledPolynomial) {
+        int index = this.basis.size();
+        Monomial leadingTerm = monic(labeledPolynomial.polynomial.leadingTerm());
+        for (int i = 0; i < index; i++) {
+            LabeledPolynomial other = this.basis.get(i);
+            Monomial otherLeadingTerm = monic(other.polynomial.leadingTerm());
+
+            // Koszul の syzygy LT(other) * g - LT(g) * other のシグネチャ
+            Monomial signature = otherLeadingTerm.multiply(labeledPolynomial.signature);
+            Monomial otherSignature = leadingTerm.multiply(other.signature);
+            int compared = this.compare(signature, labeledPolynomial.position, otherSignature, other.position);
+            if (compared > 0) {
+                this.syzygies.add(new LabeledPolynomial(signature, labeledPolynomial.position, null));
+            } else if (compared < 0) {
+                this.syzygies.add(new LabeledPolynomial(otherSignature, other.position, null));
+            }
+
+            // S多項式のシグネチャは大きい側
+            Monomial leastCommonMultiple = leadingTerm.leastCommonMultiple(otherLeadingTerm);
+            signature = leastCommonMultiple.divide(leadingTerm).multiply(labeledPolynomial.signature);
+            otherSignature = leastCommonMultiple.divide(otherLeadingTerm).multiply(other.signature);
+            compared = this.compare(signature, labeledPolynomial.position, otherSignature, other.position);
+            if (compared == 0) {
+                // S多項式のシグネチャが打ち消しあうので使えない
+                this.statistics.skip();
+            } else if (compared > 0) {
+                this.pairs.add(new SignaturePair(signature, labeledPolynomial.position, index, i, null, this.sequence++));
+            } else {
+                this.pairs.add(new SignaturePair(otherSignature, other.position, i, index, null, this.sequence++));
+            }
+        }
+        this.basis.add(labeledPolynomial);
+    }
+
+    /**
+     * syzygy の基準 0に簡約されるシグネチャで割り切れるか
+     * 
+     * @param signature
+     * @param position
+     * @return 割り切れればtrue
+     */
+    private boolean isSyzygy(Monomial signature, int position) {
+        for (LabeledPolynomial syzygy : this.syzygies) {
+            if (syzygy.position == position && syzygy.signature.divides(signature)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * rewrite の基準 シグネチャの大きい側の元より後に加えた元のシグネチャで割り切れるか
+     * 
+     * @param pair
+     * @return 割り切れればtrue
+     */
+    private boolean isRewritable(SignaturePair pair) {
+        for (int i = this.basis.size() - 1; i > pair.generator; i--) {
+            LabeledPolynomial labeledPolynomial = this.basis.get(i);
+            if (labeledPolynomial.position == pair.position && labeledPolynomial.signature.divides(pair.signature)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * シグネチャが小さくなる元だけで簡約する
+     * 
+     * @param polynomial
+     * @param signature
+     * @param position
+     * @return 簡約した多項式
+     */
+    private Polynomial regularReduce(Polynomial polynomial, Monomial signature, int position) {
+        GeoBucket bucket = new GeoBucket(polynomial);
+        List<Monomial> remainder = new ArrayList<>();
+        Monomial leadingTerm;
+        while ((leadingTerm = bucket.leadingTerm()) != null) {
+            boolean reduced = false;
+            for (LabeledPolynomial labeledPolynomial : this.basis) {
+                Monomial divisor = labeledPolynomial.polynomial.leadingTerm();
+                if (!divisor.divides(leadingTerm)) continue;
+
+                Monomial quotient = leadingTerm.divide(divisor);
+                int compared = this.compare(monic(quotient).multiply(labeledPolynomial.signature), labeledPolynomial.position, signature, position);
+                if (compared >= 0) continue;
+
+                bucket.pollLeadingTerm();
+                bucket.subtractMultiple(quotient, labeledPolynomial.polynomial, true);
+                reduced = true;
+                break;
+            }
+            if (reduced) continue;
+            remainder.add(bucket.pollLeadingTerm());
+        }
+        if (remainder.isEmpty()) return new Polynomial(Monomial.zero(polynomial.leadingCoefficient().field(), polynomial.getVariableComparator()), this.monomialOrder);
+        return new Polynomial(remainder, this.monomialOrder);
+    }
+
+    /**
+     * シグネチャを比べる 生成元の位置が大きいほうが大きく、同じなら単項式順序で比べる
+     * 
+     * @return 1つ目が大きければ正、等しければ0、小さければ負
+     */
+    private int compare(Monomial signature1, int position1, Monomial signature2, int position2) {
+        if (position1 != position2) return Integer.compare(position1, position2);
+        return -this.monomialOrder.compare(signature1, signature2);
+    }
+
+    /**
+     * 係数を1にした単項式を返す
+     * 
+     * @param monomial
+     * @return 係数が1の単項式
+     */
+    private static Monomial monic(Monomial monomial) {
+        return monomial.withCoefficient(monomial.coefficient().field().one());
+    }
+
+}
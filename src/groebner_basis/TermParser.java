@@ -0,0 +1,391 @@
+package groebner_basis;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import groebner_basis.monomial_order.MonomialOrder;
+
+/**
+ * 多項式の文字列を先頭から1文字ずつ読んで項に分ける (正規表現は使わない)
+ * 項は [符号] [係数 (2, 4/5)] [*] 変数 [^指数] [*] 変数 ... の形で、項の間は + か - で区切る
+ * 変数は VariableComparator の変数のうち最も長く一致するものを選ぶので、x と xy があれば "xy" は xy になる
+ * 空白は読み飛ばす 係数も変数もない項 (空文字列、+、-) は ±1 とする
+ * Reader から読む時は、決まった大きさのバッファに少しずつ読み込み、生成元を , ; 改行 で区切る
+ */
+class TermParser {
+
+    /**
+     * 解析する文字
+     */
+    private char[] buffer;
+
+    /**
+     * 次に読む位置
+     */
+    private int position = 0;
+
+    /**
+     * 文字の終わり
+     */
+    private int limit;
+
+    /**
+     * 文字を読み込む Reader 文字列を解析する時はnull
+     */
+    private Reader reader;
+
+    /**
+     * Reader を最後まで読んだらtrue
+     */
+    private boolean eof;
+
+    /**
+     * 改行を生成元の区切りとするならtrue
+     */
+    private boolean lineSeparated;
+
+    /**
+     * 読み込んだ文字の数
+     */
+    private long characters;
+
+    /**
+     * 変数の順序
+     */
+    private VariableComparator variableComparator;
+
+    /**
+     * 係数体
+     */
+    private CoefficientField field;
+
+    /**
+     * 読んだ項の数
+     */
+    private long terms = 0;
+
+    /**
+     * 読んだ生成元の数
+     */
+    private long polynomials = 0;
+
+    /**
+     * コンストラクタ
+     * 
+     * @param val 解析する文字列
+     * @param variableComparator 変数の順序
+     * @param field 係数体 (読んだ有理数の係数を変換する)
+     */
+    TermParser(String val, VariableComparator variableComparator, CoefficientField field) {
+        this.buffer = val.toCharArray();
+        this.limit = this.buffer.length;
+        this.eof = true;
+        this.characters = this.limit;
+        this.variableComparator = variableComparator;
+        this.field = field;
+    }
+
+    /**
+     * コンストラクタ Reader から少しずつ読み込み、改行も生成元の区切りとする
+     * 
+     * @param reader 読み込む Reader
+     * @param bufferSize バッファの大きさ (変数名が長ければそれに合わせて大きくする)
+     * @param variableComparator 変数の順序
+     * @param field 係数体 (読んだ有理数の係数を変換する)
+     */
+    TermParser(Reader reader, int bufferSize, VariableComparator variableComparator, CoefficientField field) {
+        this.buffer = new char[Math.max(bufferSize, 16)];
+        this.limit = 0;
+        this.reader = reader;
+        this.eof = false;
+        this.lineSeparated = true;
+        this.variableComparator = variableComparator;
+        this.field = field;
+    }
+
+    /**
+     * 文字列全体を1つの多項式の項として読む
+     * 
+     * @return 項のリスト (並び替えていない)
+     */
+    List<Monomial> parsePolynomial() {
+        List<Monomial> monomials = new ArrayList<>();
+        monomials.add(this.parseTerm(true));
+        while (this.skipWhitespace() != -1) {
+            monomials.add(this.parseTerm(false));
+        }
+        return monomials;
+    }
+
+    /**
+     * 文字列全体を1つの項として読む
+     * 
+     * @return 項
+     */
+    Monomial parseMonomial() {
+        Monomial monomial = this.parseTerm(true);
+        if (this.skipWhitespace() != -1) throw new Error("illegalPolynomialStringError");
+        return monomial;
+    }
+
+    /**
+     * 次の生成元 (区切り文字まで) を読む 空の生成元は読み飛ばす
+     * 項は読んだ順に配列に詰め、そのまま並び替えて多項式の中身にする
+     * 
+     * @param monomialOrder 単項式順序
+     * @return 多項式 終わりならnull
+     */
+    Polynomial parseGenerator(MonomialOrder monomialOrder) {
+        int c;
+        while ((c = this.skipWhitespace()) != -1 && this.isSeparator(c)) {
+            this.position++;
+        }
+        if (c == -1) return null;
+
+        Monomial[] monomials = new Monomial[16];
+        int size = 0;
+        monomials[size++] = this.parseTerm(true);
+        while ((c = this.skipWhitespace()) != -1 && !this.isSeparator(c)) {
+            if (size == monomials.length) monomials = Arrays.copyOf(monomials, size * 2);
+            monomials[size++] = this.parseTerm(false);
+        }
+        this.polynomials++;
+        return Polynomial.fromTerms(monomials, size, this.field, monomialOrder, this.variableComparator);
+    }
+
+    /**
+     * 項を1つ読む
+     * 
+     * @param first 最初の項なら true (符号を省略できる)
+     * @return 項
+     */
+    private Monomial parseTerm(boolean first) {
+        boolean negative = false;
+        boolean signed = false;
+        int c;
+        // 符号 (続いていれば掛け合わせる)
+        while ((c = this.skipWhitespace()) == '+' || c == '-') {
+            if (c == '-') negative = !negative;
+            signed = true;
+            this.position++;
+        }
+        if (!first && !signed) throw new Error("illegalPolynomialStringError");
+
+        // 係数
+        Fraction coefficient = Fraction.ONE;
+        if (c >= '0' && c <= '9') {
+            BigInteger numerator = this.parseNatural();
+            BigInteger denominator = BigInteger.ONE;
+            if (this.skipWhitespace() == '/') {
+                this.position++;
+                this.skipWhitespace();
+                denominator = this.parseNatural();
+                if (denominator.signum() == 0) throw new Error("zeroDivideError");
+            }
+            coefficient = new Fraction(numerator, denominator);
+            if (this.skipWhitespace() == '*') this.position++;
+        }
+        if (negative) coefficient = coefficient.negate();
+
+        // 変数と指数
+        int[] exponents = new int[this.variableComparator.size()];
+        BigInteger[] bigExponents = null;
+        while ((c = this.skipWhitespace()) != -1 && c != '+' && c != '-' && !this.isSeparator(c)) {
+            int index = this.parseVariable();
+            BigInteger exponent = BigInteger.ONE;
+            if (this.skipWhitespace() == '^') {
+                this.position++;
+                this.skipWhitespace();
+                exponent = this.parseNatural();
+            }
+            // 同じ変数が2回現れたら指数をたす
+            if (bigExponents == null && exponent.bitLength() < Integer.SIZE - 1) {
+                long sum = (long) exponents[index] + exponent.intValue();
+                if (sum <= Integer.MAX_VALUE) {
+                    exponents[index] = (int) sum;
+                } else {
+                    bigExponents = toBigExponents(exponents);
+                }
+            } else if (bigExponents == null) {
+                bigExponents = toBigExponents(exponents);
+            }
+            if (bigExponents != null) bigExponents[index] = bigExponents[index].add(exponent);
+            if (this.skipWhitespace() == '*') this.position++;
+        }
+
+        this.terms++;
+        Coefficient value = this.field.valueOf(coefficient);
+        if (bigExponents != null) return new Monomial(value, bigExponents, this.variableComparator);
+        return new Monomial(value, exponents, this.variableComparator);
+    }
+
+    /**
+     * int の指数を BigInteger にする
+     * 
+     * @param exponents
+     * @return BigInteger の指数
+     */
+    private static BigInteger[] toBigExponents(int[] exponents) {
+        BigInteger[] bigExponents = new BigInteger[exponents.length];
+        for (int i = 0; i < exponents.length; i++) {
+            bigExponents[i] = BigInteger.valueOf(exponents[i]);
+        }
+        return bigExponents;
+    }
+
+    /**
+     * 0以上の整数を読む
+     * 
+     * @return 整数
+     */
+    private BigInteger parseNatural() {
+        long value = 0;
+        int digits = 0;
+        StringBuilder bigValue = null;
+        int c;
+        while ((c = this.peek()) >= '0' && c <= '9') {
+            // 18桁まではlongに収まる
+            if (digits == 18) bigValue = new StringBuilder().append(value);
+            if (bigValue == null) {
+                value = value * 10 + (c - '0');
+            } else {
+                bigValue.append((char) c);
+            }
+            digits++;
+            this.position++;
+        }
+        if (digits == 0) throw new Error("illegalPolynomialStringError");
+        return (bigValue == null) ? BigInteger.valueOf(value) : new BigInteger(bigValue.toString());
+    }
+
+    /**
+     * 変数を読む 最も長く一致する変数を選ぶ
+     * 
+     * @return 変数の順序の位置
+     */
+    private int parseVariable() {
+        int[] candidates = this.variableComparator.candidates((char) this.peek());
+        if (candidates != null) {
+            List<String> variableOrder = this.variableComparator.getVariableOrder();
+            for (int index : candidates) {
+                String variable = variableOrder.get(index);
+                if (this.matches(variable)) {
+                    this.position += variable.length();
+                    return index;
+                }
+            }
+        }
+        throw new Error("variablesIncludeUnknownStringError");
+    }
+
+    /**
+     * 今の位置から変数名が続いているか
+     * 
+     * @param variable
+     * @return 続いていればtrue
+     */
+    private boolean matches(String variable) {
+        if (!this.fill(variable.length())) return false;
+        for (int i = 0; i < variable.length(); i++) {
+            if (this.buffer[this.position + i] != variable.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * 空白を読み飛ばして次の文字を返す (位置は進めない)
+     * 
+     * @return 次の文字 終わりなら-1
+     */
+    private int skipWhitespace() {
+        int c;
+        while ((c = this.peek()) != -1 && Character.isWhitespace(c) && !this.isSeparator(c)) {
+            this.position++;
+        }
+        return c;
+    }
+
+    /**
+     * 生成元の区切り文字か
+     * 
+     * @param c
+     * @return , ; (改行を区切りとする時は改行も) ならtrue
+     */
+    private boolean isSeparator(int c) {
+        return c == ',' || c == ';' || (this.lineSeparated && (c == '\n' || c == '\r'));
+    }
+
+    /**
+     * 次の文字を返す (位置は進めない)
+     * 
+     * @return 次の文字 終わりなら-1
+     */
+    private int peek() {
+        if (this.position == this.limit && !this.fill(1)) return -1;
+        return this.buffer[this.position];
+    }
+
+    /**
+     * 今の位置から length 文字がバッファにあるように Reader から読み込む
+     * 
+     * @param length 必要な文字の数
+     * @return length 文字あればtrue (終わりに達して足りなければfalse)
+     */
+    private boolean fill(int length) {
+        while (this.limit - this.position < length && !this.eof) {
+            // 読み終わった部分を詰める
+            int remaining = this.limit - this.position;
+            if (length > this.buffer.length) {
+                this.buffer = Arrays.copyOf(this.buffer, Math.max(length, this.buffer.length * 2));
+            }
+            System.arraycopy(this.buffer, this.position, this.buffer, 0, remaining);
+            this.position = 0;
+            this.limit = remaining;
+            try {
+                int read = this.reader.read(this.buffer, this.limit, this.buffer.length - this.limit);
+                if (read == -1) {
+                    this.eof = true;
+                } else {
+                    this.limit += read;
+                    this.characters += read;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return this.limit - this.position >= length;
+    }
+
+    /**
+     * 読んだ項の数を返す
+     * 
+     * @return 項の数
+     */
+    long getTerms() {
+        return this.terms;
+    }
+
+    /**
+     * 読んだ生成元の数を返す
+     * 
+     * @return 生成元の数
+     */
+    long getPolynomials() {
+        return this.polynomials;
+    }
+
+    /**
+     * 読み込んだ文字の数を返す
+     * 
+     * @return 文字の数
+     */
+    long getCharacters() {
+        return this.characters;
+    }
+
+}
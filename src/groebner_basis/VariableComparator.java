@@ -3,6 +3,7 @@ package groebner_basis;
 import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map.Entry;
@@ -14,14 +15,73 @@ public class VariableComparator implements Comparator<Entry<String, BigInteger>>
      */
     private List<String> variableOrder;
 
+    /**
+     * 変数から変数の順序の位置を引く表
+     */
+    private HashMap<String, Integer> indexes = new HashMap<>();
+
+    /**
+     * 最初の文字ごとの、その文字で始まる変数の位置 名前の長い順 (文字列の解析で最も長く一致する変数を探すのに使う)
+     */
+    private HashMap<Character, int[]> candidates = new HashMap<>();
+
+    /**
+     * 変数の位置ごとの、その変数名を先頭に含むより長い変数名で、その変数名の次に来る文字
+     * (例えば a と ab があれば a は "b") 文字列にする時に変数を区切るかどうかに使う
+     */
+    private String[] continuations;
+
     /**
      * コンストラクタ
      * 
-     * @param variableOrder 変数の順序
+     * @param variableOrder 変数の順序 (変数名は空でなく、数字で始まらず、空白と +-*^/ を含まないこと)
      */
     public VariableComparator(List<String> variableOrder) {
         // 重複を除去
         this.variableOrder = new ArrayList<>(new LinkedHashSet<>(variableOrder));
+
+        HashMap<Character, List<Integer>> candidates = new HashMap<>();
+        for (int i = 0; i < this.variableOrder.size(); i++) {
+            String variable = this.variableOrder.get(i);
+            if (!isVariableName(variable)) throw new Error("illegalVariableNameError");
+            this.indexes.put(variable, i);
+            candidates.computeIfAbsent(variable.charAt(0), key -> new ArrayList<>()).add(i);
+        }
+        for (Entry<Character, List<Integer>> entry : candidates.entrySet()) {
+            List<Integer> indexes = entry.getValue();
+            indexes.sort((o1, o2) -> this.variableOrder.get(o2).length() - this.variableOrder.get(o1).length());
+            int[] array = new int[indexes.size()];
+            for (int i = 0; i < array.length; i++) {
+                array[i] = indexes.get(i);
+            }
+            this.candidates.put(entry.getKey(), array);
+        }
+
+        this.continuations = new String[this.variableOrder.size()];
+        for (int i = 0; i < this.continuations.length; i++) {
+            String variable = this.variableOrder.get(i);
+            StringBuilder continuation = new StringBuilder();
+            for (int j : this.candidates.get(variable.charAt(0))) {
+                String other = this.variableOrder.get(j);
+                if (other.length() > variable.length() && other.startsWith(variable)) continuation.append(other.charAt(variable.length()));
+            }
+            this.continuations[i] = continuation.toString();
+        }
+    }
+
+    /**
+     * 変数名として使えるか
+     * 
+     * @param variable
+     * @return 空でなく、数字で始まらず、空白と +-*^/ を含まなければtrue
+     */
+    private static boolean isVariableName(String variable) {
+        if (variable.isEmpty() || Character.isDigit(variable.charAt(0))) return false;
+        for (int i = 0; i < variable.length(); i++) {
+            char c = variable.charAt(i);
+            if (Character.isWhitespace(c) || "+-*^/".indexOf(c) != -1) return false;
+        }
+        return true;
     }
 
     /**
@@ -33,10 +93,52 @@ public class VariableComparator implements Comparator<Entry<String, BigInteger>>
         return this.variableOrder;
     }
 
+    /**
+     * 引数の変数の順序の位置を返す
+     * 
+     * @param variable 変数
+     * @return 位置 ないときは-1
+     */
+    public int indexOf(String variable) {
+        Integer index = this.indexes.get(variable);
+        return (index == null) ? -1 : index;
+    }
+
+    /**
+     * 文字から始まる変数の位置を名前の長い順に返す 変更しないこと
+     * 
+     * @param c 最初の文字
+     * @return 変数の順序の位置の配列 なければnull
+     */
+    int[] candidates(char c) {
+        return this.candidates.get(c);
+    }
+
+    /**
+     * 指数を付けずに書いた変数のすぐ後に別の変数を続けると、より長い変数名と読み違える恐れがあるか
+     * (a, b, ab があれば a の後に b を続けた "ab" は ab と読まれる)
+     * 
+     * @param index 先に書く変数の位置
+     * @param next 続けて書く変数
+     * @return 恐れがあれば true (間に * を入れる)
+     */
+    boolean needsSeparator(int index, String next) {
+        return this.continuations[index].indexOf(next.charAt(0)) != -1;
+    }
+
+    /**
+     * 変数の数を返す
+     * 
+     * @return 変数の数
+     */
+    public int size() {
+        return this.variableOrder.size();
+    }
+
     @Override
     public int compare(Entry<String, BigInteger> o1, Entry<String, BigInteger> o2) {
-        int n1 = this.variableOrder.indexOf(o1.getKey());
-        int n2 = this.variableOrder.indexOf(o2.getKey());
+        int n1 = this.indexOf(o1.getKey());
+        int n2 = this.indexOf(o2.getKey());
 
         if (n1 == -1 || n2 == -1) throw new Error("variablesIncludeUnknownStringError");
 
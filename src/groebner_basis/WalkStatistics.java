@@ -0,0 +1,48 @@
+package groebner_basis;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * グレブナウォークの各段階の記録
+ */
+public class WalkStatistics {
+
+    /**
+     * 段階ごとにかかった時間 (ナノ秒)
+     */
+    private List<Long> stepTimes = new ArrayList<>();
+
+    /**
+     * 段階を記録する
+     * 
+     * @param nanos かかった時間 (ナノ秒)
+     */
+    void addStep(long nanos) {
+        this.stepTimes.add(nanos);
+    }
+
+    /**
+     * 段階の数を返す
+     * 
+     * @return 段階の数
+     */
+    public int getSteps() {
+        return this.stepTimes.size();
+    }
+
+    /**
+     * 段階ごとにかかった時間を返す
+     * 
+     * @return 段階ごとにかかった時間 (ナノ秒)
+     */
+    public List<Long> getStepTimes() {
+        return new ArrayList<>(this.stepTimes);
+    }
+
+    @Override
+    public String toString() {
+        return "steps=" + this.getSteps() + ", stepTimes=" + this.stepTimes;
+    }
+
+}
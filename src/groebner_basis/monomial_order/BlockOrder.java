@@ -0,0 +1,107 @@
+package groebner_basis.monomial_order;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import groebner_basis.Metrics;
+import groebner_basis.Monomial;
+
+public class BlockOrder extends MonomialOrder {
+
+    /**
+     * ブロックごとの変数の数 変数の順序の先頭から順にブロックに分ける
+     */
+    private int[] blockSizes;
+
+    /**
+     * ブロックごとの単項式順序
+     */
+    private List<MonomialOrder> orders;
+
+    /**
+     * コンストラクタ 前のブロックから順にそのブロックの変数だけで比べ、等しければ次のブロックで比べる
+     * 前のブロックの変数を消去する順序になる 指数はintに収まること
+     * 
+     * @param blockSizes ブロックごとの変数の数 (合計は変数の数と等しいこと)
+     * @param orders ブロックごとの単項式順序 (LexOrder, GrlexOrder, GrevlexOrder, WeightOrder, MatrixOrder, BlockOrder)
+     */
+    public BlockOrder(List<Integer> blockSizes, List<MonomialOrder> orders) {
+        if (blockSizes.isEmpty()) throw new Error("emptyBlockError");
+        if (blockSizes.size() != orders.size()) throw new Error("blockSizesNotMatchError");
+        this.blockSizes = new int[blockSizes.size()];
+        for (int i = 0; i < this.blockSizes.length; i++) {
+            if (blockSizes.get(i) <= 0) throw new Error("emptyBlockError");
+            this.blockSizes[i] = blockSizes.get(i);
+        }
+        this.orders = new ArrayList<>(orders);
+    }
+
+    /**
+     * 先頭の eliminated 個の変数を消去する順序 (どちらのブロックも grevlex) を返す
+     * 
+     * @param eliminated 消去する変数の数
+     * @param remaining 残す変数の数
+     * @return 消去順序
+     */
+    public static BlockOrder elimination(int eliminated, int remaining) {
+        return new BlockOrder(new ArrayList<>(Arrays.asList(eliminated, remaining)),
+                new ArrayList<>(Arrays.asList(new GrevlexOrder(), new GrevlexOrder())));
+    }
+
+    @Override
+    public int compare(Monomial o1, Monomial o2) {
+        Metrics.increment(Metrics.Counter.MONOMIAL_ORDER_COMPARE);
+        super.checkVariableComparetor(o1, o2);
+        return this.compareRange(o1, o2, 0, o1.getVariableComparator().size());
+    }
+
+    @Override
+    protected int compareRange(Monomial o1, Monomial o2, int from, int to) {
+        int start = from;
+        for (int i = 0; i < this.blockSizes.length; i++) {
+            int end = start + this.blockSizes[i];
+            if (end > to) throw new Error("blockSizesNotMatchError");
+            int compared = this.orders.get(i).compareRange(o1, o2, start, end);
+            if (compared != 0) return compared;
+            start = end;
+        }
+        if (start != to) throw new Error("blockSizesNotMatchError");
+        return 0;
+    }
+
+    /**
+     * ブロックごとの変数の数を返す
+     * 
+     * @return ブロックごとの変数の数
+     */
+    public List<Integer> getBlockSizes() {
+        List<Integer> blockSizes = new ArrayList<>();
+        for (int blockSize : this.blockSizes) {
+            blockSizes.add(blockSize);
+        }
+        return blockSizes;
+    }
+
+    /**
+     * ブロックごとの単項式順序を返す
+     * 
+     * @return ブロックごとの単項式順序
+     */
+    public List<MonomialOrder> getOrders() {
+        return new ArrayList<>(this.orders);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(this.blockSizes);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (!super.equals(obj)) return false;
+        BlockOrder other = (BlockOrder) obj;
+        return Arrays.equals(this.blockSizes, other.blockSizes) && this.orders.equals(other.orders);
+    }
+
+}
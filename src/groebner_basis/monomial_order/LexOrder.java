@@ -1,12 +1,19 @@
 package groebner_basis.monomial_order;
 
+import groebner_basis.Metrics;
 import groebner_basis.Monomial;
 
 public class LexOrder extends MonomialOrder {
 
     @Override
     public int compare(Monomial o1, Monomial o2) {
+        Metrics.increment(Metrics.Counter.MONOMIAL_ORDER_COMPARE);
         super.checkVariableComparetor(o1, o2);
         return super.lex(o1, o2);
     }
+
+    @Override
+    protected int compareRange(Monomial o1, Monomial o2, int from, int to) {
+        return super.lex(o1, o2, from, to);
+    }
 }
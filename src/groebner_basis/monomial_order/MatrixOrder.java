@@ -0,0 +1,133 @@
+package groebner_basis.monomial_order;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+import groebner_basis.Fraction;
+import groebner_basis.Metrics;
+import groebner_basis.Monomial;
+
+public class MatrixOrder extends MonomialOrder {
+
+    /**
+     * 行列 行ごとに変数の順序の位置ごとの重みを持つ
+     */
+    private List<List<BigInteger>> matrix;
+
+    /**
+     * 行列を long にしたもの 行がlongに収まらない時はその行がnull
+     */
+    private long[][] longMatrix;
+
+    /**
+     * コンストラクタ 上の行の重みから順に比べ、すべて等しければ等しい
+     * 単項式順序になるように、列の数と階数が等しく、各列の最初の0でない値が正であること
+     * (lex は単位行列、grevlex は1行目がすべて1で、2行目から右下の反対角が-1の行列)
+     * 
+     * @param matrix 行列 行ごとに変数の順序の位置ごとの重み
+     */
+    public MatrixOrder(List<List<BigInteger>> matrix) {
+        if (matrix.isEmpty()) throw new Error("emptyMatrixError");
+        int columns = matrix.get(0).size();
+        for (List<BigInteger> row : matrix) {
+            if (row.size() != columns) throw new Error("matrixRowSizeNotMatchError");
+        }
+        for (int j = 0; j < columns; j++) {
+            for (List<BigInteger> row : matrix) {
+                if (row.get(j).signum() < 0) throw new Error("matrixNotWellOrderError");
+                if (row.get(j).signum() > 0) break;
+            }
+        }
+        if (rank(matrix) != columns) throw new Error("matrixNotFullRankError");
+
+        this.matrix = new ArrayList<>();
+        this.longMatrix = new long[matrix.size()][];
+        for (int i = 0; i < matrix.size(); i++) {
+            this.matrix.add(new ArrayList<>(matrix.get(i)));
+            this.longMatrix[i] = WeightOrder.toLongs(this.matrix.get(i));
+        }
+    }
+
+    /**
+     * 行列の階数を返す
+     * 
+     * @param matrix
+     * @return 階数
+     */
+    private static int rank(List<List<BigInteger>> matrix) {
+        List<Fraction[]> rows = new ArrayList<>();
+        for (List<BigInteger> row : matrix) {
+            Fraction[] fractions = new Fraction[row.size()];
+            for (int j = 0; j < fractions.length; j++) {
+                fractions[j] = new Fraction(row.get(j), BigInteger.ONE);
+            }
+            rows.add(fractions);
+        }
+
+        int rank = 0;
+        int columns = matrix.get(0).size();
+        for (int j = 0; j < columns && rank < rows.size(); j++) {
+            int pivot = -1;
+            for (int i = rank; i < rows.size() && pivot == -1; i++) {
+                if (!rows.get(i)[j].isZero()) pivot = i;
+            }
+            if (pivot == -1) continue;
+            Fraction[] pivotRow = rows.get(pivot);
+            rows.set(pivot, rows.get(rank));
+            rows.set(rank, pivotRow);
+            for (int i = rank + 1; i < rows.size(); i++) {
+                Fraction[] row = rows.get(i);
+                if (row[j].isZero()) continue;
+                Fraction factor = row[j].divide(pivotRow[j]);
+                for (int k = j; k < columns; k++) {
+                    row[k] = row[k].subtract(factor.multiply(pivotRow[k]));
+                }
+            }
+            rank++;
+        }
+        return rank;
+    }
+
+    @Override
+    public int compare(Monomial o1, Monomial o2) {
+        Metrics.increment(Metrics.Counter.MONOMIAL_ORDER_COMPARE);
+        super.checkVariableComparetor(o1, o2);
+        return this.compareRange(o1, o2, 0, o1.getVariableComparator().size());
+    }
+
+    @Override
+    protected int compareRange(Monomial o1, Monomial o2, int from, int to) {
+        for (int i = 0; i < this.matrix.size(); i++) {
+            int compared = WeightOrder.compareWeight(this.matrix.get(i), this.longMatrix[i], o1, o2, from, to);
+            if (compared != 0) return compared;
+        }
+        return 0;
+    }
+
+    /**
+     * 行列を返す
+     * 
+     * @return 行ごとに変数の順序の位置ごとの重み
+     */
+    public List<List<BigInteger>> getMatrix() {
+        List<List<BigInteger>> matrix = new ArrayList<>();
+        for (List<BigInteger> row : this.matrix) {
+            matrix.add(new ArrayList<>(row));
+        }
+        return matrix;
+    }
+
+    @Override
+    public int hashCode() {
+        return this.matrix.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (!super.equals(obj)) return false;
+        MatrixOrder other = (MatrixOrder) obj;
+        return this.matrix.equals(other.matrix);
+    }
+
+}
@@ -23,6 +23,20 @@ abstract public class MonomialOrder implements Comparator<Monomial> {
             throw new Error("VariableComparatorNotMatchError");
     }
 
+    /**
+     * from から to (含まない) の位置の変数だけで比較する ブロック順序で各ブロックを比べるのに使う
+     * 指数はintに収まること
+     * 
+     * @param o1
+     * @param o2
+     * @param from
+     * @param to
+     * @return 1,0,-1
+     */
+    protected int compareRange(Monomial o1, Monomial o2, int from, int to) {
+        throw new Error("compareRangeNotSupportedError");
+    }
+
     /**
      * 引数をlex順序で比較する
      * 
@@ -31,6 +45,8 @@ abstract public class MonomialOrder implements Comparator<Monomial> {
      * @return 1,0,-1
      */
     protected int lex(Monomial o1, Monomial o2) {
+        if (o1.hasIntExponents() && o2.hasIntExponents()) return this.lex(o1, o2, 0, o1.getVariableComparator().size());
+
         List<String> variableOrder = o1.getVariableComparator().getVariableOrder();
         for (String variable : variableOrder) {
             switch (o1.getVariableExponent(variable).subtract(o2.getVariableExponent(variable)).compareTo(BigInteger.ZERO)) {
@@ -45,6 +61,25 @@ abstract public class MonomialOrder implements Comparator<Monomial> {
         return 0;
     }
 
+    /**
+     * from から to (含まない) の位置の変数だけでlex順序で比較する 指数はintに収まること
+     * 
+     * @param o1
+     * @param o2
+     * @param from
+     * @param to
+     * @return 1,0,-1
+     */
+    protected int lex(Monomial o1, Monomial o2, int from, int to) {
+        for (int i = from; i < to; i++) {
+            int exponent1 = o1.getExponent(i);
+            int exponent2 = o2.getExponent(i);
+            // o1が大きかった時は-1
+            if (exponent1 != exponent2) return (exponent1 > exponent2) ? -1 : 1;
+        }
+        return 0;
+    }
+
     /**
      * 引数をgrlex順序で比較する
      * 
@@ -53,13 +88,33 @@ abstract public class MonomialOrder implements Comparator<Monomial> {
      * @return 1,0,-1
      */
     protected int grlex(Monomial o1, Monomial o2) {
+        if (o1.hasIntExponents() && o2.hasIntExponents()) return this.grlex(o1, o2, 0, o1.getVariableComparator().size());
+
         int compared = this.compareDegree(o1, o2);
         if (compared != 0) return compared;
 
         return this.lex(o1, o2);
     }
 
+    /**
+     * from から to (含まない) の位置の変数だけでgrlex順序で比較する 指数はintに収まること
+     * 
+     * @param o1
+     * @param o2
+     * @param from
+     * @param to
+     * @return 1,0,-1
+     */
+    protected int grlex(Monomial o1, Monomial o2, int from, int to) {
+        int compared = compareDegree(o1, o2, from, to);
+        if (compared != 0) return compared;
+
+        return this.lex(o1, o2, from, to);
+    }
+
     protected int grevlex(Monomial o1, Monomial o2) {
+        if (o1.hasIntExponents() && o2.hasIntExponents()) return this.grevlex(o1, o2, 0, o1.getVariableComparator().size());
+
         int compared = this.compareDegree(o1, o2);
         if (compared != 0) return compared;
 
@@ -79,6 +134,29 @@ abstract public class MonomialOrder implements Comparator<Monomial> {
         return 0;
     }
 
+    /**
+     * from から to (含まない) の位置の変数だけでgrevlex順序で比較する 指数はintに収まること
+     * 
+     * @param o1
+     * @param o2
+     * @param from
+     * @param to
+     * @return 1,0,-1
+     */
+    protected int grevlex(Monomial o1, Monomial o2, int from, int to) {
+        int compared = compareDegree(o1, o2, from, to);
+        if (compared != 0) return compared;
+
+        // 逆順で回す
+        for (int i = to - 1; i >= from; i--) {
+            int exponent1 = o1.getExponent(i);
+            int exponent2 = o2.getExponent(i);
+            // o1の指数が大きかった時はo2が大きい
+            if (exponent1 != exponent2) return (exponent1 > exponent2) ? 1 : -1;
+        }
+        return 0;
+    }
+
     /**
      * 引数の次数を比較する
      * 
@@ -99,6 +177,33 @@ abstract public class MonomialOrder implements Comparator<Monomial> {
         }
     }
 
+    /**
+     * from から to (含まない) の位置の変数だけの次数を比較する 全体の時は Monomial が持っている次数を使う
+     * 
+     * @param o1
+     * @param o2
+     * @param from
+     * @param to
+     * @return 1,-1,0
+     */
+    private static int compareDegree(Monomial o1, Monomial o2, int from, int to) {
+        long degree1;
+        long degree2;
+        if (from == 0 && to == o1.getVariableComparator().size()) {
+            degree1 = o1.longDegree();
+            degree2 = o2.longDegree();
+        } else {
+            degree1 = 0;
+            degree2 = 0;
+            for (int i = from; i < to; i++) {
+                degree1 += o1.getExponent(i);
+                degree2 += o2.getExponent(i);
+            }
+        }
+        // o1が大きかった時は-1
+        return Long.compare(degree2, degree1);
+    }
+
     @Override
     public int hashCode() {
         return super.hashCode();
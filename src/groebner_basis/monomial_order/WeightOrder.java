@@ -0,0 +1,158 @@
+package groebner_basis.monomial_order;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+import groebner_basis.Metrics;
+import groebner_basis.Monomial;
+
+public class WeightOrder extends MonomialOrder {
+
+    /**
+     * 変数の順序の位置ごとの重み
+     */
+    private List<BigInteger> weights;
+
+    /**
+     * 重みを long にしたもの longに収まらない重みがある時はnull
+     */
+    private long[] longWeights;
+
+    /**
+     * 重みが等しい時に使う単項式順序
+     */
+    private MonomialOrder tieBreakOrder;
+
+    /**
+     * コンストラクタ
+     * 
+     * @param weights 変数の順序の位置ごとの重み (0以上)
+     * @param tieBreakOrder 重みが等しい時に使う単項式順序
+     */
+    public WeightOrder(List<BigInteger> weights, MonomialOrder tieBreakOrder) {
+        for (BigInteger weight : weights) {
+            if (weight.signum() < 0) throw new Error("negativeWeightError");
+        }
+        this.weights = new ArrayList<>(weights);
+        this.tieBreakOrder = tieBreakOrder;
+        this.longWeights = toLongs(this.weights);
+    }
+
+    /**
+     * long の配列にする
+     * 
+     * @param values
+     * @return long の配列 longに収まらない値がある時はnull
+     */
+    static long[] toLongs(List<BigInteger> values) {
+        long[] longs = new long[values.size()];
+        for (int i = 0; i < longs.length; i++) {
+            if (values.get(i).bitLength() >= Long.SIZE) return null;
+            longs[i] = values.get(i).longValue();
+        }
+        return longs;
+    }
+
+    /**
+     * from から to (含まない) の位置の変数について、重みと指数の内積を比較する
+     * 
+     * @param weights 重み (to - from 個)
+     * @param longWeights weights を long にしたもの (nullなら BigInteger で計算する)
+     * @param o1
+     * @param o2
+     * @param from
+     * @param to
+     * @return 1,0,-1
+     */
+    static int compareWeight(List<BigInteger> weights, long[] longWeights, Monomial o1, Monomial o2, int from, int to) {
+        if (weights.size() != to - from) throw new Error("weightsSizeNotMatchError");
+        if (longWeights != null && o1.hasIntExponents() && o2.hasIntExponents()) {
+            try {
+                long weight1 = 0;
+                long weight2 = 0;
+                for (int i = from; i < to; i++) {
+                    weight1 = Math.addExact(weight1, Math.multiplyExact(longWeights[i - from], (long) o1.getExponent(i)));
+                    weight2 = Math.addExact(weight2, Math.multiplyExact(longWeights[i - from], (long) o2.getExponent(i)));
+                }
+                // o1が大きかった時は-1
+                return Long.compare(weight2, weight1);
+            } catch (ArithmeticException e) {
+                // longに収まらなかったのでBigIntegerで計算する
+            }
+        }
+
+        List<BigInteger> multiDegree1 = o1.multiDegree();
+        List<BigInteger> multiDegree2 = o2.multiDegree();
+        BigInteger weight1 = BigInteger.ZERO;
+        BigInteger weight2 = BigInteger.ZERO;
+        for (int i = from; i < to; i++) {
+            weight1 = weight1.add(weights.get(i - from).multiply(multiDegree1.get(i)));
+            weight2 = weight2.add(weights.get(i - from).multiply(multiDegree2.get(i)));
+        }
+        return weight2.compareTo(weight1);
+    }
+
+    @Override
+    public int compare(Monomial o1, Monomial o2) {
+        Metrics.increment(Metrics.Counter.MONOMIAL_ORDER_COMPARE);
+        super.checkVariableComparetor(o1, o2);
+        int compared = compareWeight(this.weights, this.longWeights, o1, o2, 0, o1.getVariableComparator().size());
+        if (compared != 0) return compared;
+        return this.tieBreakOrder.compare(o1, o2);
+    }
+
+    @Override
+    protected int compareRange(Monomial o1, Monomial o2, int from, int to) {
+        int compared = compareWeight(this.weights, this.longWeights, o1, o2, from, to);
+        if (compared != 0) return compared;
+        return this.tieBreakOrder.compareRange(o1, o2, from, to);
+    }
+
+    /**
+     * 単項式の重みを返す
+     * 
+     * @param monomial
+     * @return 重みと指数の内積
+     */
+    public BigInteger weight(Monomial monomial) {
+        List<BigInteger> multiDegree = monomial.multiDegree();
+        if (multiDegree.size() != this.weights.size()) throw new Error("weightsSizeNotMatchError");
+        BigInteger weight = BigInteger.ZERO;
+        for (int i = 0; i < multiDegree.size(); i++) {
+            weight = weight.add(this.weights.get(i).multiply(multiDegree.get(i)));
+        }
+        return weight;
+    }
+
+    /**
+     * 重みを返す
+     * 
+     * @return 変数の順序の位置ごとの重み
+     */
+    public List<BigInteger> getWeights() {
+        return new ArrayList<>(this.weights);
+    }
+
+    /**
+     * 重みが等しい時に使う単項式順序を返す
+     * 
+     * @return 単項式順序
+     */
+    public MonomialOrder getTieBreakOrder() {
+        return this.tieBreakOrder;
+    }
+
+    @Override
+    public int hashCode() {
+        return this.weights.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (!super.equals(obj)) return false;
+        WeightOrder other = (WeightOrder) obj;
+        return this.weights.equals(other.weights) && this.tieBreakOrder.equals(other.tieBreakOrder);
+    }
+
+}
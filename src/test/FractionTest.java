@@ -123,17 +123,50 @@ public class FractionTest {
 
     @Test
     public void testMultiply() {
+        assertEquals(this.fraction1.multiply(this.fraction1).toString(), "1/4");
+        assertEquals(this.fraction1.multiply(this.fraction2).toString(), "0");
+        assertEquals(new Fraction("-4/9").multiply(new Fraction("3/2")).toString(), "-2/3");
 
+        // longに収まらない時
+        Fraction large = new Fraction("9223372036854775807");
+        assertEquals(large.multiply(large).toString(), "85070591730234615847396907784232501249");
+        assertEquals(large.multiply(large).divide(large), large);
+        assertEquals(large.add(Fraction.ONE).toString(), "9223372036854775808");
+        assertEquals(large.add(Fraction.ONE).subtract(Fraction.ONE), large);
     }
 
     @Test
     public void testDivide() {
+        assertEquals(this.fraction1.divide(this.fraction1), Fraction.ONE);
+        assertEquals(this.fraction3.divide(new Fraction("-3")).toString(), "-1/3");
+    }
 
+    @Test(expected = Error.class)
+    public void testDivideError() {
+        this.fraction1.divide(this.fraction2);
     }
 
     @Test
     public void testSignum() {
+        assertEquals(this.fraction1.signum(), 1);
+        assertEquals(this.fraction2.signum(), 0);
+        assertEquals(this.fraction1.negate().signum(), -1);
+    }
 
+    @Test
+    public void testBitLength() {
+        assertEquals(new Fraction("-5/3").bitLength(), 3);
+        assertEquals(Fraction.ZERO.bitLength(), 1);
+        assertEquals(new Fraction("1/36893488147419103232").bitLength(), 66);
+    }
+
+    @Test
+    public void testValueOf() {
+        assertEquals(Fraction.valueOf(0), Fraction.ZERO);
+        assertEquals(Fraction.valueOf(-1), Fraction.MINUS_ONE);
+        assertEquals(Fraction.valueOf(2), new Fraction("4/2"));
+        assertEquals(Fraction.valueOf(Long.MIN_VALUE).toString(), "-9223372036854775808");
+        assertEquals(Fraction.valueOf(Long.MIN_VALUE).negate().toString(), "9223372036854775808");
     }
 
 }
@@ -1,20 +1,41 @@
 package test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
+import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.Test;
 
+import groebner_basis.CancellationToken;
+import groebner_basis.GroebnerProgress;
+import groebner_basis.HilbertSeries;
 import groebner_basis.Ideal;
+import groebner_basis.Metrics;
+import groebner_basis.IncrementalGroebnerBasis;
 import groebner_basis.Monomial;
+import groebner_basis.NormalForm;
+import groebner_basis.PairStatistics;
+import groebner_basis.PairSelectionStrategy;
+import groebner_basis.PrimeField;
 import groebner_basis.Polynomial;
 import groebner_basis.VariableComparator;
+import groebner_basis.WalkStatistics;
+import groebner_basis.monomial_order.BlockOrder;
 import groebner_basis.monomial_order.GrevlexOrder;
 import groebner_basis.monomial_order.GrlexOrder;
 import groebner_basis.monomial_order.LexOrder;
+import groebner_basis.monomial_order.MatrixOrder;
+import groebner_basis.monomial_order.MonomialOrder;
+import groebner_basis.monomial_order.WeightOrder;
 
 public class IdealTest {
 
@@ -146,8 +167,8 @@ public class IdealTest {
         assertEquals(groebnerBasis6.get(2), new Polynomial("ux^2-x^3-uy+3/2xy-1/2z", variableComparator, new LexOrder()));
         assertEquals(groebnerBasis6.get(3), new Polynomial("uxy-x^2y+2y^2-uz-xz", variableComparator, new LexOrder()));
         assertEquals(groebnerBasis6.get(4), new Polynomial("-uy^2-1/2xy^2+uxz+x^2z-1/2yz", variableComparator, new LexOrder()));
-        assertEquals(groebnerBasis6.get(5), new Polynomial("-3/4x^2y^2+y^3+x^3z-3/2xyz+1/4z^2", variableComparator, new LexOrder()));
-        assertEquals(groebnerBasis6.get(6), new Polynomial("uy^3+1/2xy^3-2x^2yz+5/2y^2z-uz^2-xz^2", variableComparator, new LexOrder()));
+        assertEquals(groebnerBasis6.get(5), new Polynomial("uy^3+1/2xy^3-2x^2yz+5/2y^2z-uz^2-xz^2", variableComparator, new LexOrder()));
+        assertEquals(groebnerBasis6.get(6), new Polynomial("-3/4x^2y^2+y^3+x^3z-3/2xyz+1/4z^2", variableComparator, new LexOrder()));
 
         List<Polynomial> groebnerBasis7 = this.ideal7.groebnerBasis();
         assertEquals(groebnerBasis7.size(), 2);
@@ -162,11 +183,431 @@ public class IdealTest {
         List<Polynomial> groebnerBasis9 = this.ideal9.groebnerBasis();
         assertEquals(groebnerBasis9.size(), 5);
         assertEquals(groebnerBasis9.get(0).toString(), "t^2-z");
-        assertEquals(groebnerBasis9.get(1).toString(), "x-z^2");
+        assertEquals(groebnerBasis9.get(1).toString(), "ty-z^2");
         assertEquals(groebnerBasis9.get(2).toString(), "tz-y");
-        assertEquals(groebnerBasis9.get(3).toString(), "y^2-z^3");
-        assertEquals(groebnerBasis9.get(4).toString(), "ty-z^2");
+        assertEquals(groebnerBasis9.get(3).toString(), "x-z^2");
+        assertEquals(groebnerBasis9.get(4).toString(), "y^2-z^3");
 
     }
 
+    @Test
+    public void testGroebnerBasisUnitIdeal() {
+        VariableComparator variableComparator = new VariableComparator(new ArrayList<>(Arrays.asList("x", "y")));
+        Ideal ideal = new Ideal(new ArrayList<>(Arrays.asList(new Polynomial("2xy", variableComparator, new GrevlexOrder()),
+                new Polynomial("x^2", variableComparator, new GrevlexOrder()), new Polynomial("xy-1", variableComparator, new GrevlexOrder()))));
+        List<Polynomial> groebnerBasis = ideal.groebnerBasis();
+        assertEquals(groebnerBasis.size(), 1);
+        assertEquals(groebnerBasis.get(0).toString(), "1");
+    }
+
+    @Test(timeout = 60000)
+    public void testBasicGroebnerBasis() {
+        // ねじれ三次曲線 S多項式の余りを加えるので止まり、簡約すると groebnerBasis() と一致する
+        VariableComparator variableComparator = new VariableComparator(new ArrayList<>(Arrays.asList("t", "x", "y", "z")));
+        for (MonomialOrder monomialOrder : Arrays.asList(new LexOrder(), new GrevlexOrder())) {
+            Ideal ideal = new Ideal(new ArrayList<>(Arrays.asList(new Polynomial("t^4-x", variableComparator, monomialOrder),
+                    new Polynomial("t^3-y", variableComparator, monomialOrder), new Polynomial("t^2-z", variableComparator, monomialOrder))));
+            assertEquals(ideal.basicGroebnerBasis(), ideal.groebnerBasis());
+        }
+    }
+
+    @Test
+    public void testGroebnerBasisStrategy() {
+        for (Ideal ideal : Arrays.asList(this.ideal1, this.ideal2, this.ideal3, this.ideal4, this.ideal5, this.ideal6, this.ideal7, this.ideal8, this.ideal9)) {
+            assertEquals(ideal.groebnerBasis(PairSelectionStrategy.NORMAL), ideal.groebnerBasis(PairSelectionStrategy.SUGAR));
+        }
+    }
+
+    @Test
+    public void testGroebnerBasisProgress() {
+        for (Ideal ideal : Arrays.asList(this.ideal1, this.ideal3, this.ideal5, this.ideal6, this.ideal9)) {
+            List<GroebnerProgress> progresses = new ArrayList<>();
+            assertEquals(ideal.groebnerBasis(new CancellationToken(), progresses::add), ideal.groebnerBasis());
+            assertTrue(progresses.size() > 0);
+            GroebnerProgress last = progresses.get(progresses.size() - 1);
+            assertEquals(last.getProcessedPairs(), (long) progresses.size());
+            assertEquals(last.getRemainingPairs(), 0);
+            assertTrue(last.getBasisSize() > 0);
+            assertTrue(last.getMaxCoefficientBitLength() > 0);
+        }
+    }
+
+    @Test
+    public void testGroebnerBasisCancel() {
+        // 最初の組を処理した後に止める
+        CancellationToken token = new CancellationToken();
+        List<GroebnerProgress> progresses = new ArrayList<>();
+        String message = null;
+        try {
+            this.ideal6.groebnerBasis(token, progress -> {
+                progresses.add(progress);
+                token.cancel();
+            });
+        } catch (Error e) {
+            message = e.getMessage();
+        }
+        assertEquals(message, "cancelledError");
+        assertEquals(progresses.size(), 1);
+
+        message = null;
+        try {
+            this.ideal6.groebnerBasis(new CancellationToken(0, TimeUnit.NANOSECONDS), null);
+        } catch (Error e) {
+            message = e.getMessage();
+        }
+        assertEquals(message, "deadlineExceededError");
+    }
+
+    @Test
+    public void testMetrics() {
+        Metrics.reset();
+        Metrics.enable();
+        try {
+            this.ideal6.groebnerBasis();
+        } finally {
+            Metrics.disable();
+        }
+        assertTrue(Metrics.get(Metrics.Counter.MONOMIAL_ORDER_COMPARE) > 0);
+        assertTrue(Metrics.get(Metrics.Counter.MONOMIAL_DIVIDE_AND_REMAINDER) > 0);
+        assertTrue(Metrics.get(Metrics.Counter.MONOMIAL_DIVIDES) >= Metrics.get(Metrics.Counter.MONOMIAL_DIVIDES_MASK_REJECTED));
+        assertTrue(Metrics.get(Metrics.Counter.MONOMIAL_DIVIDES_MASK_REJECTED) > 0);
+        assertTrue(Metrics.get(Metrics.Counter.FRACTION_GCD) > 0);
+        assertTrue(Metrics.get(Metrics.Counter.REDUCTIONS) >= Metrics.get(Metrics.Counter.ZERO_REDUCTIONS));
+        assertTrue(Metrics.get(Metrics.Counter.ZERO_REDUCTIONS) > 0);
+        assertEquals(Metrics.getCount(Metrics.Timer.REDUCTION), Metrics.get(Metrics.Counter.REDUCTIONS));
+        assertEquals(Metrics.getCount(Metrics.Timer.GROEBNER_BASIS), 1L);
+
+        // 無効の時は数えない
+        Metrics.reset();
+        this.ideal6.groebnerBasis();
+        assertEquals(Metrics.get(Metrics.Counter.MONOMIAL_ORDER_COMPARE), 0L);
+        assertEquals(Metrics.getCount(Metrics.Timer.INTERREDUCTION), 0L);
+    }
+
+    @Test
+    public void testMetricsZeroIdeal() {
+        // 0だけのイデアルでも簡約の計測を記録する
+        VariableComparator variableComparator = new VariableComparator(new ArrayList<>(Arrays.asList("x", "y")));
+        Ideal ideal = new Ideal(new ArrayList<>(Arrays.asList(new Polynomial("0", variableComparator, new GrevlexOrder()))));
+        Metrics.reset();
+        Metrics.enable();
+        try {
+            assertEquals(ideal.groebnerBasis().size(), 0);
+        } finally {
+            Metrics.disable();
+        }
+        assertEquals(Metrics.getCount(Metrics.Timer.INTERREDUCTION), 1L);
+    }
+
+    @Test
+    public void testIncrementalGroebnerBasis() {
+        for (Ideal ideal : Arrays.asList(this.ideal1, this.ideal2, this.ideal3, this.ideal4, this.ideal5, this.ideal6, this.ideal7, this.ideal8, this.ideal9)) {
+            // 生成元を1つずつ追加しても、まとめて求めたものと一致する
+            List<Polynomial> basicPolynomials = ideal.getBasicPolynomials();
+            IncrementalGroebnerBasis incremental = new Ideal(basicPolynomials.subList(0, 1)).incrementalGroebnerBasis();
+            for (int i = 1; i < basicPolynomials.size(); i++) {
+                incremental.add(basicPolynomials.get(i));
+                assertEquals(incremental.groebnerBasis(), new Ideal(basicPolynomials.subList(0, i + 1)).groebnerBasis());
+            }
+            assertEquals(incremental.groebnerBasis(), ideal.groebnerBasis());
+
+            // Ideal に含まれる元を追加しても組は増えない
+            long reducedPairs = incremental.getStatistics().getReducedPairs();
+            Polynomial member = basicPolynomials.get(0).multiply(basicPolynomials.get(basicPolynomials.size() - 1));
+            assertEquals(incremental.add(member), ideal.groebnerBasis());
+            assertEquals(incremental.getStatistics().getReducedPairs(), reducedPairs);
+        }
+
+        // 先頭項が互いに素な元を追加すると、組は積の基準で取り除かれて簡約しない
+        VariableComparator variableComparator = new VariableComparator(new ArrayList<>(Arrays.asList("x", "y")));
+        IncrementalGroebnerBasis incremental = new Ideal(new ArrayList<>(Arrays.asList(new Polynomial("x^2-y", variableComparator, new GrlexOrder()))))
+                .incrementalGroebnerBasis();
+        incremental.add(new Polynomial("y^3-1", variableComparator, new GrlexOrder()));
+        assertEquals(incremental.getStatistics().getSkippedPairs(), 1L);
+        assertEquals(incremental.getStatistics().getReducedPairs(), 0L);
+    }
+
+    @Test
+    public void testNormalForm() throws Exception {
+        for (Ideal ideal : Arrays.asList(this.ideal1, this.ideal2, this.ideal3, this.ideal4, this.ideal5, this.ideal6, this.ideal7, this.ideal8, this.ideal9)) {
+            List<Polynomial> groebnerBasis = ideal.groebnerBasis();
+            NormalForm normalForm = ideal.normalForm();
+            for (Polynomial polynomial : ideal.getBasicPolynomials()) {
+                assertTrue(normalForm.contains(polynomial));
+                Polynomial product = polynomial.multiply(polynomial).add(polynomial.getHasVariablesPolynomial());
+                assertEquals(normalForm.normalForm(product), product.remainder(groebnerBasis));
+            }
+        }
+
+        // 同じ多項式の2回目はキャッシュから求める
+        NormalForm normalForm = this.ideal1.normalForm(2);
+        Polynomial polynomial = this.ideal1.getBasicPolynomials().get(0).toMonomialOrder(new GrlexOrder());
+        Polynomial square = polynomial.multiply(polynomial);
+        normalForm.normalForm(square);
+        long misses = normalForm.getMisses();
+        assertEquals(normalForm.getCacheSize(), 2);
+        normalForm.normalForm(new Polynomial("x^2y^4", polynomial.getVariableComparator(), new GrlexOrder()));
+        normalForm.normalForm(new Polynomial("x^2y^4", polynomial.getVariableComparator(), new GrlexOrder()));
+        assertEquals(normalForm.getMisses(), misses + 1);
+        assertEquals(normalForm.getHits(), 1L);
+
+        // 複数のスレッドから使っても同じ結果になる
+        NormalForm shared = this.ideal6.normalForm(8);
+        List<Polynomial> polynomials = new ArrayList<>();
+        for (Polynomial basicPolynomial : this.ideal6.getBasicPolynomials()) {
+            for (Polynomial other : this.ideal6.getBasicPolynomials()) {
+                polynomials.add(basicPolynomial.multiply(other).add(other));
+            }
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Polynomial>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                for (Polynomial p : polynomials) {
+                    futures.add(executor.submit(() -> shared.normalForm(p)));
+                }
+            }
+            List<Polynomial> groebnerBasis6 = this.ideal6.groebnerBasis();
+            for (int i = 0; i < futures.size(); i++) {
+                assertEquals(futures.get(i).get(), polynomials.get(i % polynomials.size()).remainder(groebnerBasis6));
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testF4GroebnerBasis() {
+        for (Ideal ideal : Arrays.asList(this.ideal1, this.ideal2, this.ideal3, this.ideal4, this.ideal5, this.ideal6, this.ideal7, this.ideal8, this.ideal9)) {
+            assertEquals(ideal.f4GroebnerBasis(), ideal.groebnerBasis());
+            Ideal modular = ideal.toCoefficientField(new PrimeField(32003));
+            assertEquals(modular.f4GroebnerBasis(), modular.groebnerBasis());
+        }
+    }
+
+    @Test
+    public void testSignatureGroebnerBasis() {
+        for (Ideal ideal : Arrays.asList(this.ideal1, this.ideal2, this.ideal3, this.ideal4, this.ideal5, this.ideal6, this.ideal7, this.ideal8, this.ideal9)) {
+            assertEquals(ideal.signatureGroebnerBasis(), ideal.groebnerBasis());
+            Ideal modular = ideal.toCoefficientField(new PrimeField(32003));
+            assertEquals(modular.signatureGroebnerBasis(), modular.groebnerBasis());
+        }
+
+        // 正則列なので0に簡約される組はない
+        VariableComparator variableComparator = new VariableComparator(new ArrayList<>(Arrays.asList("x", "y", "z")));
+        Ideal ideal = new Ideal(new ArrayList<>(Arrays.asList(new Polynomial("x^2+y^2+z^2-1", variableComparator, new GrevlexOrder()),
+                new Polynomial("xy-z", variableComparator, new GrevlexOrder()), new Polynomial("x+y+z", variableComparator, new GrevlexOrder()))));
+        PairStatistics statistics = new PairStatistics();
+        assertEquals(ideal.signatureGroebnerBasis(statistics), ideal.groebnerBasis());
+        assertEquals(statistics.getZeroReductions(), 0L);
+        assertTrue(statistics.getReducedPairs() > 0);
+    }
+
+    @Test
+    public void testSignatureGroebnerBasisSingularReducer() {
+        // 古い元の単項式倍が同じシグネチャで先頭項を割り切る (その元は rewriter ではないので組を捨ててはいけない)
+        VariableComparator variableComparator = new VariableComparator(new ArrayList<>(Arrays.asList("x", "y", "z")));
+        Ideal ideal = new Ideal(new ArrayList<>(Arrays.asList(new Polynomial("3x^2yz^2-x^2yz+xy^2z-z", variableComparator, new GrevlexOrder()),
+                new Polynomial("-3xyz^2+2x^2z-x", variableComparator, new GrevlexOrder()), new Polynomial("-2xyz+2y", variableComparator, new GrevlexOrder()))));
+        assertEquals(ideal.signatureGroebnerBasis(), ideal.groebnerBasis());
+        assertEquals(ideal.groebnerBasis().toString(), "[xz^2-z, z^3-xz+1/3x-1/3y, x^2-3y, xy-3z^2+3x-3y, y^2-3z^2+3x-z, yz-1/3x]");
+    }
+
+    @Test
+    public void testSignatureGroebnerBasisRandom() {
+        // 係数の膨らまない Z/32003 で、ランダムなイデアルの結果を groebnerBasis() と比べる
+        VariableComparator variableComparator = new VariableComparator(new ArrayList<>(Arrays.asList("x", "y", "z")));
+        PrimeField field = new PrimeField(32003);
+        Random random = new Random(7);
+        for (int i = 0; i < 150; i++) {
+            List<Polynomial> basicPolynomials = new ArrayList<>();
+            for (int j = 0; j < 3; j++) {
+                basicPolynomials.add(randomPolynomial(random, variableComparator));
+            }
+            Ideal ideal = new Ideal(basicPolynomials).toCoefficientField(field);
+            assertEquals(ideal.signatureGroebnerBasis(), ideal.groebnerBasis());
+        }
+    }
+
+    // 係数が ±1〜3、各変数の指数が0〜2の項を2〜4個たした grevlex の多項式を返す
+    private static Polynomial randomPolynomial(Random random, VariableComparator variableComparator) {
+        StringBuilder value = new StringBuilder();
+        int terms = random.nextInt(3) + 2;
+        for (int i = 0; i < terms; i++) {
+            value.append(random.nextBoolean() ? "+" : "-").append(random.nextInt(3) + 1);
+            for (String variable : variableComparator.getVariableOrder()) {
+                int exponent = random.nextInt(3);
+                if (exponent > 0) value.append(variable).append("^").append(exponent);
+            }
+        }
+        return new Polynomial(value.toString(), variableComparator, new GrevlexOrder());
+    }
+
+    @Test
+    public void testParallelGroebnerBasis() {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            for (Ideal ideal : Arrays.asList(this.ideal1, this.ideal2, this.ideal3, this.ideal4, this.ideal5, this.ideal6, this.ideal7, this.ideal8, this.ideal9)) {
+                assertEquals(ideal.parallelGroebnerBasis(executor), ideal.groebnerBasis());
+                assertEquals(ideal.parallelGroebnerBasis(), ideal.groebnerBasis());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testFGLMGroebnerBasis() {
+        // 0次元の Ideal は grevlex から変換しても lex で直接求めたものと一致する
+        VariableComparator variableComparator = new VariableComparator(new ArrayList<>(Arrays.asList("x", "y", "z")));
+        Ideal ideal10 = new Ideal(new ArrayList<>(Arrays.asList(new Polynomial("x^2+y^2+z^2-1", variableComparator, new GrevlexOrder()),
+                new Polynomial("xy-z", variableComparator, new GrevlexOrder()), new Polynomial("x+y+z", variableComparator, new GrevlexOrder()))));
+        for (Ideal ideal : Arrays.asList(this.ideal5, ideal10)) {
+            assertEquals(ideal.toMonomialOrder(new GrevlexOrder()).fglmGroebnerBasis(new LexOrder()), ideal.toMonomialOrder(new LexOrder()).groebnerBasis());
+            assertEquals(ideal.toMonomialOrder(new LexOrder()).fglmGroebnerBasis(new GrlexOrder()), ideal.toMonomialOrder(new GrlexOrder()).groebnerBasis());
+        }
+
+        List<Polynomial> groebnerBasis5 = this.ideal5.toMonomialOrder(new GrevlexOrder()).fglmGroebnerBasis(new LexOrder());
+        assertEquals(groebnerBasis5.size(), 3);
+        assertEquals(groebnerBasis5.get(0).toString(), "x-z");
+        assertEquals(groebnerBasis5.get(1).toString(), "y-2z^2");
+        assertEquals(groebnerBasis5.get(2).toString(), "z^4+1/2z^2-1/4");
+    }
+
+    @Test(expected = Error.class)
+    public void testFGLMGroebnerBasisNotZeroDimensional() {
+        this.ideal1.fglmGroebnerBasis(new LexOrder());
+    }
+
+    @Test
+    public void testWalkGroebnerBasis() {
+        // 0次元でない Ideal も grevlex から lex に変換できる
+        for (Ideal ideal : Arrays.asList(this.ideal2, this.ideal3, this.ideal4, this.ideal5, this.ideal6, this.ideal9)) {
+            WalkStatistics statistics = new WalkStatistics();
+            assertEquals(ideal.toMonomialOrder(new GrevlexOrder()).walkGroebnerBasis(new LexOrder(), statistics), ideal.groebnerBasis());
+            assertTrue(statistics.getSteps() > 0);
+            assertEquals(statistics.getStepTimes().size(), statistics.getSteps());
+        }
+        assertEquals(this.ideal1.walkGroebnerBasis(new LexOrder()), this.ideal1.toMonomialOrder(new LexOrder()).groebnerBasis());
+        assertEquals(this.ideal6.walkGroebnerBasis(new GrevlexOrder()), this.ideal6.toMonomialOrder(new GrevlexOrder()).groebnerBasis());
+    }
+
+    @Test
+    public void testWeightOrder() {
+        VariableComparator variableComparator = new VariableComparator(new ArrayList<>(Arrays.asList("x", "y")));
+        WeightOrder weightOrder = new WeightOrder(Arrays.asList(BigInteger.ONE, BigInteger.valueOf(3)), new LexOrder());
+        assertEquals(new Polynomial("x^2+y+xy", variableComparator, weightOrder).toString(), "xy+y+x^2");
+        WeightOrder weightOrder6 = new WeightOrder(Arrays.asList(BigInteger.valueOf(2), BigInteger.ONE, BigInteger.valueOf(3), BigInteger.ONE, BigInteger.ONE), new GrevlexOrder());
+        assertEquals(this.ideal6.toMonomialOrder(new GrevlexOrder()).walkGroebnerBasis(weightOrder6), this.ideal6.toMonomialOrder(weightOrder6).groebnerBasis());
+    }
+
+    @Test
+    public void testMatrixOrder() {
+        // 単位行列は lex、1行目がすべて1で右下の反対角が-1の行列は grevlex
+        BigInteger one = BigInteger.ONE;
+        BigInteger zero = BigInteger.ZERO;
+        BigInteger minusOne = BigInteger.ONE.negate();
+        MatrixOrder lex = new MatrixOrder(Arrays.asList(Arrays.asList(one, zero, zero), Arrays.asList(zero, one, zero), Arrays.asList(zero, zero, one)));
+        MatrixOrder grevlex = new MatrixOrder(Arrays.asList(Arrays.asList(one, one, one), Arrays.asList(zero, zero, minusOne), Arrays.asList(zero, minusOne, zero)));
+        VariableComparator variableComparator = new VariableComparator(new ArrayList<>(Arrays.asList("x", "y", "z")));
+        assertEquals(new Polynomial("z^3+xy+y^2z+x^2", variableComparator, lex).toString(), new Polynomial("z^3+xy+y^2z+x^2", variableComparator, new LexOrder()).toString());
+        assertEquals(new Polynomial("z^3+xy+y^2z+x^2+xz", variableComparator, grevlex).toString(), new Polynomial("z^3+xy+y^2z+x^2+xz", variableComparator, new GrevlexOrder()).toString());
+        assertEquals(this.ideal1.toMonomialOrder(grevlex).groebnerBasis().toString(), this.ideal1.toMonomialOrder(new GrevlexOrder()).groebnerBasis().toString());
+    }
+
+    @Test(expected = Error.class)
+    public void testMatrixOrderNotFullRank() {
+        new MatrixOrder(Arrays.asList(Arrays.asList(BigInteger.ONE, BigInteger.ONE), Arrays.asList(BigInteger.valueOf(2), BigInteger.valueOf(2))));
+    }
+
+    @Test
+    public void testBlockOrder() {
+        // ねじれ3次曲線で t を消去する 消去順序のグレブナ基底の先頭項に t を含まない元は消去 Ideal のグレブナ基底
+        BlockOrder blockOrder = BlockOrder.elimination(1, 3);
+        List<Polynomial> eliminated = new ArrayList<>();
+        for (Polynomial polynomial : this.ideal9.toMonomialOrder(blockOrder).groebnerBasis()) {
+            if (polynomial.leadingTerm().getVariableExponent("t").signum() == 0) eliminated.add(polynomial);
+        }
+        List<Polynomial> lexEliminated = new ArrayList<>();
+        for (Polynomial polynomial : this.ideal9.groebnerBasis()) {
+            if (polynomial.leadingTerm().getVariableExponent("t").signum() == 0) lexEliminated.add(polynomial);
+        }
+        assertTrue(!eliminated.isEmpty());
+        assertEquals(eliminated, new Ideal(lexEliminated).toMonomialOrder(blockOrder).groebnerBasis());
+
+        // ブロックが1つなら中の順序と同じ
+        VariableComparator variableComparator = new VariableComparator(new ArrayList<>(Arrays.asList("x", "y", "z")));
+        BlockOrder single = new BlockOrder(Arrays.asList(3), Arrays.asList(new GrlexOrder()));
+        assertEquals(new Polynomial("z^3+xy+y^2z+x^2+xz", variableComparator, single).toString(), new Polynomial("z^3+xy+y^2z+x^2+xz", variableComparator, new GrlexOrder()).toString());
+        // x を先に比べ、残りは grevlex
+        BlockOrder block = new BlockOrder(Arrays.asList(1, 2), Arrays.asList(new LexOrder(), new GrevlexOrder()));
+        assertEquals(new Polynomial("y^3+x+yz+z^2+xz", variableComparator, block).toString(), "xz+x+y^3+yz+z^2");
+    }
+
+    @Test
+    public void testHilbertSeries() {
+        // {x^2, xy, y^2} => 1+2t = (1-3t^2+2t^3)/(1-t)^2
+        VariableComparator variableComparator = new VariableComparator(new ArrayList<>(Arrays.asList("x", "y")));
+        HilbertSeries series = HilbertSeries.of(Arrays.asList(new Monomial("x^2", variableComparator), new Monomial("xy", variableComparator),
+                new Monomial("y^2", variableComparator)), 2);
+        assertEquals(series.toString(), "(1-3t^2+2t^3)/(1-t)^2");
+        assertEquals(series.coefficient(0), BigInteger.ONE);
+        assertEquals(series.coefficient(1), BigInteger.valueOf(2));
+        assertEquals(series.coefficient(2), BigInteger.ZERO);
+        assertEquals(series, new HilbertSeries(Arrays.asList(BigInteger.ONE, BigInteger.ZERO, BigInteger.valueOf(-3), BigInteger.valueOf(2)), 2));
+
+        // 次数1, 2, 3の完全交叉
+        VariableComparator variableComparator3 = new VariableComparator(new ArrayList<>(Arrays.asList("x", "y", "z")));
+        Ideal ideal = new Ideal(new ArrayList<>(Arrays.asList(new Polynomial("x+y+z", variableComparator3, new GrevlexOrder()),
+                new Polynomial("xy+yz+zx", variableComparator3, new GrevlexOrder()), new Polynomial("xyz", variableComparator3, new GrevlexOrder()))));
+        assertEquals(ideal.hilbertSeries().toString(), "(1-t-t^2+t^4+t^5-t^6)/(1-t)^3");
+        assertEquals(ideal.toCoefficientField(new PrimeField(32003)).hilbertSeries(), ideal.hilbertSeries());
+    }
+
+    @Test
+    public void testHilbertGroebnerBasis() {
+        VariableComparator variableComparator = new VariableComparator(new ArrayList<>(Arrays.asList("x", "y", "z", "w")));
+        List<Ideal> ideals = new ArrayList<>();
+        ideals.add(new Ideal(new ArrayList<>(Arrays.asList(new Polynomial("x+y+z+w", variableComparator, new GrevlexOrder()),
+                new Polynomial("xy+yz+zw+wx", variableComparator, new GrevlexOrder()), new Polynomial("xyz+yzw+zwx+wxy", variableComparator, new GrevlexOrder()),
+                new Polynomial("xyzw", variableComparator, new GrevlexOrder())))));
+        ideals.add(new Ideal(new ArrayList<>(Arrays.asList(new Polynomial("x^2-yz", variableComparator, new GrevlexOrder()),
+                new Polynomial("xy-zw", variableComparator, new GrevlexOrder()), new Polynomial("y^2-xz", variableComparator, new GrevlexOrder()),
+                new Polynomial("z^3-w^3", variableComparator, new GrevlexOrder())))));
+        for (Ideal ideal : ideals) {
+            // 素数を法として求めた Hilbert 級数を使う
+            HilbertSeries series = ideal.toCoefficientField(new PrimeField(32003)).hilbertSeries();
+            PairStatistics statistics = new PairStatistics();
+            assertEquals(ideal.hilbertGroebnerBasis(series, statistics), ideal.groebnerBasis());
+            assertTrue(statistics.getSkippedPairs() > 0);
+        }
+    }
+
+    @Test(expected = Error.class)
+    public void testHilbertGroebnerBasisNotHomogeneous() {
+        this.ideal1.hilbertGroebnerBasis(this.ideal1.hilbertSeries());
+    }
+
+    @Test
+    public void testGroebnerBasisPrimeField() {
+        List<Polynomial> groebnerBasis1 = this.ideal1.toCoefficientField(new PrimeField(7)).groebnerBasis();
+        assertEquals(groebnerBasis1.size(), 3);
+        assertEquals(groebnerBasis1.get(0).toString(), "x^2");
+        assertEquals(groebnerBasis1.get(1).toString(), "xy");
+        assertEquals(groebnerBasis1.get(2).toString(), "y^2+3x");
+
+        List<Polynomial> groebnerBasis5 = this.ideal5.toCoefficientField(new PrimeField(2147483647)).groebnerBasis();
+        assertEquals(groebnerBasis5.size(), 3);
+        assertEquals(groebnerBasis5.get(0).toString(), "x+2147483646z");
+        assertEquals(groebnerBasis5.get(1).toString(), "y+2147483645z^2");
+        assertEquals(groebnerBasis5.get(2).toString(), "z^4+1073741824z^2+1610612735");
+    }
+
+    @Test
+    public void testModularGroebnerBasis() {
+        for (Ideal ideal : Arrays.asList(this.ideal1, this.ideal2, this.ideal3, this.ideal4, this.ideal5, this.ideal6, this.ideal7, this.ideal8, this.ideal9)) {
+            assertEquals(ideal.modularGroebnerBasis(), ideal.groebnerBasis());
+        }
+    }
+
 }
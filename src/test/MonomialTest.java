@@ -1,7 +1,18 @@
 package test;
 
+import static org.junit.Assert.assertEquals;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+
 import org.junit.Test;
 
+import groebner_basis.Fraction;
+import groebner_basis.Monomial;
+import groebner_basis.VariableComparator;
+
 public class MonomialTest {
 
     @Test
@@ -15,7 +26,14 @@ public class MonomialTest {
 
     @Test
     public void testMonomialFractionMapOfStringBigIntegerVariableComparator() {
-
+        VariableComparator variableComparator = new VariableComparator(new ArrayList<>(Arrays.asList("x", "y", "z")));
+        LinkedHashMap<String, BigInteger> variables = new LinkedHashMap<>();
+        variables.put("z", BigInteger.ONE);
+        variables.put("x", new BigInteger("2"));
+        Monomial monomial = new Monomial(new Fraction("-2"), variables, variableComparator);
+        assertEquals(monomial.toString(), "-2x^2z");
+        assertEquals(monomial, new Monomial("-2x^2z", variableComparator));
+        assertEquals(new Monomial(new Fraction("0"), variables, variableComparator).isZero(), true);
     }
 
     @Test
@@ -40,7 +58,16 @@ public class MonomialTest {
 
     @Test
     public void testMultiply() {
+        VariableComparator variableComparator = new VariableComparator(new ArrayList<>(Arrays.asList("x", "y", "z")));
+        assertEquals(new Monomial("2x^2y", variableComparator).multiply(new Monomial("-1/4yz^3", variableComparator)).toString(), "-1/2x^2y^2z^3");
 
+        // intに収まらない指数
+        Monomial monomial = new Monomial("x^2147483647y", variableComparator);
+        Monomial multiplied = monomial.multiply(monomial);
+        assertEquals(multiplied.toString(), "x^4294967294y^2");
+        assertEquals(multiplied.getVariableExponent("x"), new BigInteger("4294967294"));
+        assertEquals(multiplied.divide(monomial), monomial);
+        assertEquals(multiplied.degree(), new BigInteger("4294967296"));
     }
 
     @Test
@@ -65,7 +92,12 @@ public class MonomialTest {
 
     @Test
     public void testGetVariableExponent() {
-
+        VariableComparator variableComparator = new VariableComparator(new ArrayList<>(Arrays.asList("x", "y", "z")));
+        Monomial monomial = new Monomial("3x^3z", variableComparator);
+        assertEquals(monomial.getVariableExponent("x"), new BigInteger("3"));
+        assertEquals(monomial.getVariableExponent("y"), BigInteger.ZERO);
+        assertEquals(monomial.getVariableExponent("z"), BigInteger.ONE);
+        assertEquals(monomial.getVariableExponent("w"), BigInteger.ZERO);
     }
 
     @Test
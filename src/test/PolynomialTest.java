@@ -2,17 +2,37 @@ package test;
 
 import static org.junit.Assert.assertEquals;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigInteger;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
 
 import org.junit.Test;
 
+import groebner_basis.BinaryPolynomialReader;
+import groebner_basis.BinaryPolynomialWriter;
+import groebner_basis.Ideal;
 import groebner_basis.Monomial;
 import groebner_basis.Polynomial;
+import groebner_basis.PolynomialReader;
+import groebner_basis.PrimeField;
+import groebner_basis.Ring;
 import groebner_basis.VariableComparator;
+import groebner_basis.monomial_order.BlockOrder;
+import groebner_basis.monomial_order.GrevlexOrder;
 import groebner_basis.monomial_order.GrlexOrder;
 import groebner_basis.monomial_order.LexOrder;
+import groebner_basis.monomial_order.MatrixOrder;
+import groebner_basis.monomial_order.WeightOrder;
 
 public class PolynomialTest {
 
@@ -64,22 +84,71 @@ public class PolynomialTest {
 
     @Test
     public void testAdd() {
+        assertEquals(this.polynomial1.add(this.polynomial2).toString(), "3x^4y+x^3y^2-x^2y^3+y^2+x");
+        assertEquals(this.polynomial3.add(this.polynomial4).toString(), "x^2y+xy^2+xy+y^2-1");
+        assertEquals(this.polynomial4.add(this.polynomial4.negate()).isZero(), true);
+        assertEquals(this.polynomial3.add(this.polynomial5.negate()).toString(), "x^2y+xy^2+1");
+    }
+
+    @Test(expected = Error.class)
+    public void testAddDifferentWeightOrder() {
+        // 重みの違う順序で並んだ多項式は併合できない
+        VariableComparator variableComparator = new VariableComparator(new ArrayList<>(Arrays.asList("x", "y")));
+        WeightOrder order1 = new WeightOrder(new ArrayList<>(Arrays.asList(BigInteger.ONE, BigInteger.valueOf(5))), new GrevlexOrder());
+        WeightOrder order2 = new WeightOrder(new ArrayList<>(Arrays.asList(BigInteger.valueOf(5), BigInteger.ONE)), new GrevlexOrder());
+        new Polynomial("x^3+y^2", variableComparator, order1).add(new Polynomial("x^2+y^3", variableComparator, order2));
+    }
 
+    @Test(expected = Error.class)
+    public void testAddDifferentMatrixOrder() {
+        VariableComparator variableComparator = new VariableComparator(new ArrayList<>(Arrays.asList("x", "y")));
+        MatrixOrder order1 = new MatrixOrder(new ArrayList<>(Arrays.asList(new ArrayList<>(Arrays.asList(BigInteger.ONE, BigInteger.valueOf(5))),
+                new ArrayList<>(Arrays.asList(BigInteger.ONE, BigInteger.ZERO)))));
+        MatrixOrder order2 = new MatrixOrder(new ArrayList<>(Arrays.asList(new ArrayList<>(Arrays.asList(BigInteger.valueOf(5), BigInteger.ONE)),
+                new ArrayList<>(Arrays.asList(BigInteger.ONE, BigInteger.ZERO)))));
+        new Polynomial("x^3+y^2", variableComparator, order1).add(new Polynomial("x^2+y^3", variableComparator, order2));
+    }
+
+    @Test
+    public void testAddSameWeightOrder() {
+        VariableComparator variableComparator = new VariableComparator(new ArrayList<>(Arrays.asList("x", "y")));
+        WeightOrder order1 = new WeightOrder(new ArrayList<>(Arrays.asList(BigInteger.ONE, BigInteger.valueOf(5))), new GrevlexOrder());
+        WeightOrder order2 = new WeightOrder(new ArrayList<>(Arrays.asList(BigInteger.ONE, BigInteger.valueOf(5))), new GrevlexOrder());
+        assertEquals(new Polynomial("x^3+y^2", variableComparator, order1).add(new Polynomial("x^2+y^3", variableComparator, order2)).toString(), "y^3+y^2+x^3+x^2");
     }
 
     @Test
     public void testNegate() {
+        assertEquals(this.polynomial1.negate().toString(), "-x^3y^2+x^2y^3-x");
+        assertEquals(this.polynomial1.negate().negate(), this.polynomial1);
+    }
 
+    @Test
+    public void testMonic() {
+        assertEquals(this.polynomial1.negate().monic(), this.polynomial1);
+        assertEquals(this.polynomial1.add(this.polynomial1).monic(), this.polynomial1);
+        assertEquals(this.polynomial1.subtract(this.polynomial1).monic().toString(), "0");
     }
 
     @Test
     public void testSubtract() {
-
+        assertEquals(this.polynomial3.subtract(this.polynomial5).toString(), "x^2y+xy^2+1");
+        assertEquals(this.polynomial5.subtract(this.polynomial3).toString(), "-x^2y-xy^2-1");
+        assertEquals(this.polynomial1.subtract(this.polynomial1).toString(), "0");
     }
 
     @Test
     public void testMultiply() {
+        assertEquals(this.polynomial4.multiply(this.polynomial5).toString(), "xy^3-xy-y^2+1");
+        assertEquals(this.polynomial3.multiply(this.polynomial4), this.polynomial4.multiply(this.polynomial3));
+        assertEquals(this.polynomial3.multiply(this.polynomial4).toString(), "x^3y^2+x^2y^3-x^2y+xy^3-xy^2-y^2");
+        assertEquals(this.polynomial4.multiply(this.polynomial4.subtract(this.polynomial4)).toString(), "0");
+    }
 
+    @Test
+    public void testMultiplyLeadingTerms() {
+        assertEquals(this.polynomial3.multiplyLeadingTerms(this.polynomial4, 2).toString(), "x^3y^2+x^2y^3");
+        assertEquals(this.polynomial3.multiplyLeadingTerms(this.polynomial4, 100), this.polynomial3.multiply(this.polynomial4));
     }
 
     @Test
@@ -111,6 +180,22 @@ public class PolynomialTest {
         assertEquals(divideAndRemainder2.get(1).get(0).toString(), "2x+1");
     }
 
+    @Test
+    public void testDivideAndRemainderManyDivisors() {
+        // 割る多項式が多い時は先頭項の索引で探すが、先頭から順に探した時と同じ元で割る
+        List<Polynomial> divisors = new ArrayList<>();
+        for (String divisor : Arrays.asList("z^5", "y^4", "x^3z", "x^2y^2", "xy^3", "x^2+y", "x+1", "y+z", "z+1", "xyz", "x+2")) {
+            divisors.add(new Polynomial(divisor, this.variableComparator1, new LexOrder()));
+        }
+        List<List<Polynomial>> divideAndRemainder = new Polynomial("x^3+y^5+z^6+2", this.variableComparator1, new LexOrder()).divideAndRemainder(divisors);
+        List<String> quotients = new ArrayList<>();
+        for (Polynomial quotient : divideAndRemainder.get(0)) {
+            quotients.add(quotient.toString());
+        }
+        assertEquals(quotients, Arrays.asList("z", "y", "0", "0", "0", "x", "-y", "1", "-1", "0", "0"));
+        assertEquals(divideAndRemainder.get(1).get(0).toString(), "3");
+    }
+
     @Test
     public void testDividePolynomial() {
 
@@ -126,6 +211,53 @@ public class PolynomialTest {
 
     }
 
+    @Test
+    public void testDivideAndRemainderCancellation() {
+        // 割っている途中でバケツの先頭の項どうしが打ち消しあう
+        GrlexOrder order = new GrlexOrder();
+        Polynomial polynomial = new Polynomial("2x-x^2y+3x^2y^2z+3x^2y^2z^2+x-2xy^2+2xz-2xz+3xyz^2-2z^2+xy^2z^2-x^2z+2z+xyz-2y"
+                + "-x^2y^2z^2+x^2+3x^2yz^2-x^2yz-2y^2z^2-2x^2yz-2x^2z^2", this.variableComparator1, order);
+        List<Polynomial> divisors = new ArrayList<>(Arrays.asList(new Polynomial("2x^2y^2z^2+3z^2-2z+2xyz^2", this.variableComparator1, order),
+                new Polynomial("-xyz^2+2xyz-x^2z^2", this.variableComparator1, order)));
+        this.assertDivideAndRemainder(polynomial, divisors);
+        assertEquals(polynomial.remainder(divisors).toString(), "3x^2y^2z-2xy^2z^2-3x^2yz+6xy^2z+3xyz^2-2y^2z^2-x^2y-x^2z-2xy^2-3xyz+x^2-5z^2+3x-2y+4z");
+
+        Random random = new Random(7);
+        for (int i = 0; i < 300; i++) {
+            polynomial = this.randomPolynomial(random, random.nextInt(25) + 2, order);
+            divisors = new ArrayList<>(Arrays.asList(this.randomPolynomial(random, random.nextInt(4) + 1, order),
+                    this.randomPolynomial(random, random.nextInt(4) + 1, order)));
+            if (divisors.get(0).isZero() || divisors.get(1).isZero()) continue;
+            this.assertDivideAndRemainder(polynomial, divisors);
+        }
+    }
+
+    // 商と余りが polynomial = Σ商*divisor + 余り を満たし、余りの項が降順に並んでまとまっているか調べる
+    private void assertDivideAndRemainder(Polynomial polynomial, List<Polynomial> divisors) {
+        List<List<Polynomial>> divideAndRemainder = polynomial.divideAndRemainder(divisors);
+        Polynomial remainder = divideAndRemainder.get(1).get(0);
+        assertEquals(new Polynomial(remainder.toString(), this.variableComparator1, polynomial.getMonomialOrder()).toString(), remainder.toString());
+        assertEquals(polynomial.remainder(divisors).toString(), remainder.toString());
+        Polynomial sum = remainder;
+        for (int i = 0; i < divisors.size(); i++) {
+            sum = sum.add(divideAndRemainder.get(0).get(i).multiply(divisors.get(i)));
+        }
+        assertEquals(sum.subtract(polynomial).isZero(), true);
+    }
+
+    // 係数が ±1〜3、各変数の指数が0〜2の項を terms 個たした多項式を返す
+    private Polynomial randomPolynomial(Random random, int terms, GrlexOrder order) {
+        StringBuilder value = new StringBuilder();
+        for (int i = 0; i < terms; i++) {
+            value.append(random.nextBoolean() ? "+" : "-").append(random.nextInt(3) + 1);
+            for (String variable : this.variableComparator1.getVariableOrder()) {
+                int exponent = random.nextInt(3);
+                if (exponent > 0) value.append(variable).append("^").append(exponent);
+            }
+        }
+        return new Polynomial(value.toString(), this.variableComparator1, order);
+    }
+
     @Test
     public void testIsZero() {
 
@@ -156,4 +288,154 @@ public class PolynomialTest {
         assertEquals(this.polynomial1.sPolynomial(this.polynomial2).toString(), "-x^3y^3-1/3y^3+x^2");
     }
 
+    @Test
+    public void testPolynomialString() {
+        VariableComparator variableComparator = new VariableComparator(new ArrayList<>(Arrays.asList("x1", "x10", "y")));
+        Polynomial polynomial = new Polynomial("x10^2 x1 + 3y*x1 - 2 + x1x1", variableComparator, new LexOrder());
+        assertEquals(polynomial.toString(), "x1^2+x1x10^2+3x1y-2");
+        assertEquals(new Polynomial("--4/6x^2*y*z^3+-x", this.variableComparator1, new LexOrder()).toString(), "2/3x^2yz^3-x");
+        assertEquals(new Monomial("-", this.variableComparator1).toString(), "-1");
+    }
+
+    @Test
+    public void testPolynomialStringRoundTrip() {
+        // a*b を ab と書くと変数 ab と読まれるので、文字列にする時に * で区切る
+        VariableComparator variableComparator = new VariableComparator(new ArrayList<>(Arrays.asList("a", "b", "ab", "x1", "x10")));
+        Polynomial polynomial = new Polynomial("a*b+ab+a^2b+ab*a+x1x10+x1*a", variableComparator, new LexOrder());
+        assertEquals(polynomial.toString(), "a^2b+a*b+aab+ax1+ab+x1x10");
+        assertEquals(new Polynomial(polynomial.toString(), variableComparator, new LexOrder()), polynomial);
+
+        Random random = new Random(7);
+        List<String> variableOrder = variableComparator.getVariableOrder();
+        for (int i = 0; i < 200; i++) {
+            StringBuilder value = new StringBuilder();
+            for (int j = random.nextInt(4) + 1; j > 0; j--) {
+                value.append("+").append(random.nextInt(5) + 1);
+                for (int k = random.nextInt(4); k > 0; k--) {
+                    value.append("*").append(variableOrder.get(random.nextInt(variableOrder.size())));
+                }
+            }
+            polynomial = new Polynomial(value.toString(), variableComparator, new LexOrder());
+            assertEquals(new Polynomial(polynomial.toString(), variableComparator, new LexOrder()), polynomial);
+        }
+    }
+
+    @Test(expected = Error.class)
+    public void testPolynomialStringUnknownVariable() {
+        new Polynomial("x+w", this.variableComparator1, new LexOrder());
+    }
+
+    @Test
+    public void testRing() {
+        Ring ring = new Ring(new ArrayList<>(Arrays.asList("x", "y")), new LexOrder(), new PrimeField(7));
+        assertEquals(ring.indexOf("y"), 1);
+        assertEquals(ring.polynomial("8x+15/2y").toString(), "x+4y");
+        assertEquals(ring.ideal(new ArrayList<>(Arrays.asList("x^2-y", "xy-1"))).groebnerBasis().size(), 2);
+    }
+
+    @Test
+    public void testPolynomialReader() throws IOException {
+        Ring ring = new Ring(this.variableComparator1, new LexOrder());
+        // バッファの境目をまたぐように長くする
+        StringBuilder value = new StringBuilder();
+        for (int i = 0; i < 3000; i++) {
+            value.append("x^2y - 2/3 y*z^").append(i % 7 + 1).append(" + 12345678901234567890x\n");
+        }
+        value.append("\n x^3y^2 - x^2y^3 + x ; y^2-1,");
+        try (PolynomialReader reader = new PolynomialReader(new StringReader(value.toString()), ring)) {
+            List<Polynomial> polynomials = reader.readAll();
+            assertEquals(polynomials.size(), 3002);
+            assertEquals(polynomials.get(6).toString(), "x^2y+12345678901234567890x-2/3yz^7");
+            assertEquals(polynomials.get(3000), ring.polynomial("x^3y^2-x^2y^3+x"));
+            assertEquals(polynomials.get(3001).toString(), "y^2-1");
+            assertEquals(reader.getStatistics().getPolynomials(), 3002L);
+            assertEquals(reader.getStatistics().getTerms(), 9005L);
+            assertEquals(reader.getStatistics().getCharacters(), (long) value.length());
+        }
+
+        byte[] bytes = "x^2-y\nxy-1".getBytes(StandardCharsets.UTF_8);
+        try (PolynomialReader reader = new PolynomialReader(Channels.newChannel(new ByteArrayInputStream(bytes)), ring)) {
+            assertEquals(reader.readIdeal().groebnerBasis().size(), 2);
+        }
+    }
+
+    @Test
+    public void testBinaryFormat() throws IOException {
+        List<Polynomial> polynomials = new ArrayList<>(Arrays.asList(this.polynomial1, this.polynomial2,
+                new Polynomial("-12345678901234567890/7x^3 + 9223372036854775807y - 1/3", this.variableComparator1, new GrlexOrder()),
+                new Polynomial("x^12345678901y + z", this.variableComparator1, new GrlexOrder()),
+                this.polynomial1.subtract(this.polynomial1)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BinaryPolynomialWriter.write(polynomials, out);
+        List<Polynomial> read = BinaryPolynomialReader.read(new ByteArrayInputStream(out.toByteArray()));
+        assertEquals(read, polynomials);
+        assertEquals(read.get(2).toString(), polynomials.get(2).toString());
+
+        // 有限体とブロック順序をファイルに書いてメモリマップして読む
+        Ring ring = new Ring(this.variableComparator1, BlockOrder.elimination(1, 2), new PrimeField(32003));
+        Ideal ideal = ring.ideal(new ArrayList<>(Arrays.asList("x^2-y", "xy-z", "3/2z^2+1")));
+        Path path = Files.createTempFile("basis", ".gbpf");
+        try {
+            BinaryPolynomialWriter.write(ideal.groebnerBasis(), path);
+            try (BinaryPolynomialReader reader = new BinaryPolynomialReader(path)) {
+                assertEquals(reader.getRing().getMonomialOrder(), ring.getMonomialOrder());
+                assertEquals(reader.getRing().getField(), ring.getField());
+                assertEquals(reader.readAll(), ideal.groebnerBasis());
+            }
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    public void testBinaryFormatMalformed() throws IOException {
+        // 変数 x, y, z の LexOrder のヘッダの後に項を直接書く (値はすべて1バイトの可変長整数に収まる)
+        // 項: 係数の種類 (0: longの分数) 符号付きの分子 (2n) 分母 指数...
+        Ring ring = new Ring(this.variableComparator1, new LexOrder());
+        assertEquals(readBinaryTerms(ring, 2, 0, 2, 2, 1, 0, 0).toString(), "1/2x");
+        // 既約でない係数 2/4
+        assertEquals(readBinaryTermsError(ring, 2, 0, 4, 4, 1, 0, 0), "illegalBinaryFormatError");
+        // 0の係数
+        assertEquals(readBinaryTermsError(ring, 2, 0, 0, 1, 1, 0, 0), "illegalBinaryFormatError");
+        // 降順に並んでいない項 y + x
+        assertEquals(readBinaryTermsError(ring, 3, 0, 2, 1, 0, 1, 0, 0, 2, 1, 1, 0, 0), "illegalBinaryFormatError");
+        // 同じ項 x + x
+        assertEquals(readBinaryTermsError(ring, 3, 0, 2, 1, 1, 0, 0, 0, 2, 1, 1, 0, 0), "illegalBinaryFormatError");
+
+        // 有限体では係数は1以上 p 未満
+        ring = new Ring(this.variableComparator1, new LexOrder(), new PrimeField(101));
+        assertEquals(readBinaryTerms(ring, 2, 100, 1, 0, 0).toString(), "100x");
+        assertEquals(readBinaryTermsError(ring, 2, 0, 1, 0, 0), "illegalBinaryFormatError");
+        assertEquals(readBinaryTermsError(ring, 2, 101, 1, 0, 0), "illegalBinaryFormatError");
+    }
+
+    // ring のヘッダに続けて、項の数+1 と指数の種類 (int) の後に values を書いた多項式を1つ読む
+    private static Polynomial readBinaryTerms(Ring ring, int size, int... values) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new BinaryPolynomialWriter(out, ring).close();
+        byte[] header = out.toByteArray();
+        out = new ByteArrayOutputStream();
+        // 終わりの印を除いたヘッダ
+        out.write(header, 0, header.length - 1);
+        out.write(size);
+        out.write(0);
+        for (int value : values) {
+            out.write(value);
+        }
+        out.write(0);
+        try (BinaryPolynomialReader reader = new BinaryPolynomialReader(new ByteArrayInputStream(out.toByteArray()))) {
+            return reader.read();
+        }
+    }
+
+    // readBinaryTerms で投げられたエラーのメッセージを返す
+    private static String readBinaryTermsError(Ring ring, int size, int... values) throws IOException {
+        try {
+            readBinaryTerms(ring, size, values);
+        } catch (Error e) {
+            return e.getMessage();
+        }
+        return null;
+    }
+
 }
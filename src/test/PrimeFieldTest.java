@@ -0,0 +1,76 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import groebner_basis.Fraction;
+import groebner_basis.ModularInteger;
+import groebner_basis.PrimeField;
+
+public class PrimeFieldTest {
+
+    // Z/7Z
+    private PrimeField field1;
+
+    // Z/(2^31-1)Z
+    private PrimeField field2;
+
+    public PrimeFieldTest() {
+        this.field1 = new PrimeField(7);
+        this.field2 = new PrimeField(2147483647);
+    }
+
+    @Test(expected = Error.class)
+    public void testPrimeField() {
+        new PrimeField(8);
+    }
+
+    @Test
+    public void testValueOf() {
+        assertEquals(this.field1.valueOf(-1).toString(), "6");
+        assertEquals(this.field1.valueOf(15).toString(), "1");
+        assertEquals(this.field1.valueOf(new Fraction("-1/2")).toString(), "3");
+        assertEquals(this.field2.valueOf(new Fraction("1/2")).toString(), "1073741824");
+    }
+
+    @Test(expected = Error.class)
+    public void testValueOfError() {
+        this.field1.valueOf(new Fraction("1/14"));
+    }
+
+    @Test
+    public void testArithmetic() {
+        ModularInteger a = this.field1.valueOf(5);
+        ModularInteger b = this.field1.valueOf(4);
+        assertEquals(a.add(b).toString(), "2");
+        assertEquals(a.subtract(b).toString(), "1");
+        assertEquals(b.subtract(a).toString(), "6");
+        assertEquals(a.multiply(b).toString(), "6");
+        assertEquals(a.divide(b).multiply(b), a);
+        assertEquals(a.negate().add(a).isZero(), true);
+
+        ModularInteger c = this.field2.valueOf(2147483646);
+        assertEquals(c.add(c).toString(), "2147483645");
+        assertEquals(c.multiply(c).isOne(), true);
+        assertEquals(c.reciprocal(), c);
+    }
+
+    @Test
+    public void testBitLength() {
+        assertEquals(this.field1.valueOf(6).bitLength(), 3);
+        assertEquals(this.field1.zero().bitLength(), 0);
+        assertEquals(this.field2.valueOf(-1).bitLength(), 31);
+    }
+
+    @Test(expected = Error.class)
+    public void testReciprocalError() {
+        this.field1.zero().reciprocal();
+    }
+
+    @Test(expected = Error.class)
+    public void testFieldNotMatchError() {
+        this.field1.one().add(this.field2.one());
+    }
+
+}